@@ -1,3 +1,5 @@
 include(
-    "sico"
+    "sico",
+    "sico-processor",
+    "sico-codegen"
 )
\ No newline at end of file
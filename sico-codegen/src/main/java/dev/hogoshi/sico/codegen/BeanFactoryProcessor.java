@@ -0,0 +1,351 @@
+package dev.hogoshi.sico.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Annotation processor that generates a {@code BeanFactory} for every component.
+ * The factory is written into the package of the component and named after its binary name with
+ * {@value #CLASS_NAME_SUFFIX} appended. It calls the constructor the container would choose, injects
+ * {@code @Autowired} fields and invokes {@code @PostConstruct} and {@code @PreDestroy} methods directly,
+ * so the container does not have to reflect on the component.
+ * Components whose injection points are private, depend on generic type arguments or are otherwise
+ * not reachable from generated code are reported with a note and keep using reflection.
+ * Additional stereotypes can be handled with the {@value #STEREOTYPES_OPTION} option,
+ * a comma-separated list of annotation class names.
+ */
+public class BeanFactoryProcessor extends AbstractProcessor {
+    public static final String CLASS_NAME_SUFFIX = "$$BeanFactory";
+    public static final String STEREOTYPES_OPTION = "sico.stereotypes";
+
+    private static final String ANNOTATION_PACKAGE = "dev.hogoshi.sico.annotation.";
+    private static final List<String> STEREOTYPES = Arrays.asList(
+            ANNOTATION_PACKAGE + "Component", ANNOTATION_PACKAGE + "Service",
+            ANNOTATION_PACKAGE + "Repository", ANNOTATION_PACKAGE + "Configuration"
+    );
+    private static final String AUTOWIRED = ANNOTATION_PACKAGE + "Autowired";
+    private static final String POST_CONSTRUCT = ANNOTATION_PACKAGE + "PostConstruct";
+    private static final String PRE_DESTROY = ANNOTATION_PACKAGE + "PreDestroy";
+    private static final String BEAN_FACTORY = "dev.hogoshi.sico.container.BeanFactory";
+    private static final String CONTAINER = "dev.hogoshi.sico.container.Container";
+    private static final List<String> GENERIC_INJECTION_POINTS = Arrays.asList(
+            "dev.hogoshi.sico.container.LazyHolder", "dev.hogoshi.sico.container.Provider",
+            "dev.hogoshi.sico.container.ObjectFactory", "java.util.List", "java.util.Map"
+    );
+
+    @NotNull private final Set<String> generated = new LinkedHashSet<>();
+    @NotNull private List<String> stereotypes = STEREOTYPES;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+
+        String option = processingEnv.getOptions().get(STEREOTYPES_OPTION);
+        if (option != null) {
+            List<String> configured = new ArrayList<>(STEREOTYPES);
+            for (String stereotype : option.split(",")) {
+                String trimmed = stereotype.trim();
+                if (!trimmed.isEmpty() && !configured.contains(trimmed)) {
+                    configured.add(trimmed);
+                }
+            }
+            stereotypes = configured;
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new LinkedHashSet<>(stereotypes);
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Collections.singleton(STEREOTYPES_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    continue;
+                }
+                TypeElement type = (TypeElement) element;
+                if (generated.add(processingEnv.getElementUtils().getBinaryName(type).toString())) {
+                    generate(type);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void generate(@NotNull TypeElement type) {
+        String unsupported = checkAccessible(type);
+        ExecutableElement constructor = findSuitableConstructor(type);
+        if (unsupported == null && constructor == null) {
+            unsupported = "the constructor to call depends on the order of reflection, "
+                    + "since several are declared and none is annotated with @Autowired or takes no arguments";
+        }
+        if (unsupported == null) {
+            unsupported = checkAccessible(constructor);
+        }
+        if (unsupported == null) {
+            for (VariableElement parameter : constructor.getParameters()) {
+                if (unsupported == null) {
+                    unsupported = checkResolvable(parameter);
+                }
+            }
+        }
+
+        List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (unsupported == null && findAnnotation(field, AUTOWIRED) != null) {
+                unsupported = checkInjectable(field);
+                unsupported = unsupported == null ? checkResolvable(field) : unsupported;
+                fields.add(field);
+            }
+        }
+        List<ExecutableElement> postConstruct = new ArrayList<>();
+        List<ExecutableElement> preDestroy = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            boolean isPostConstruct = findAnnotation(method, POST_CONSTRUCT) != null;
+            boolean isPreDestroy = findAnnotation(method, PRE_DESTROY) != null;
+            if (unsupported == null && (isPostConstruct || isPreDestroy)) {
+                unsupported = checkCallable(method);
+            }
+            if (unsupported == null && isPostConstruct && method.getReturnType().getKind() != TypeKind.VOID) {
+                unsupported = "post-construct method " + method.getSimpleName() + " may initialize asynchronously";
+            }
+            if (isPostConstruct) {
+                postConstruct.add(method);
+            }
+            if (isPreDestroy) {
+                preDestroy.add(method);
+            }
+        }
+
+        if (unsupported != null) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                    "Not generating a bean factory, the container falls back to reflection: " + unsupported, type);
+            return;
+        }
+
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String packageName = packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + CLASS_NAME_SUFFIX;
+        String factoryName = packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+
+        try {
+            JavaFileObject source = processingEnv.getFiler().createSourceFile(factoryName, type);
+            try (Writer writer = source.openWriter()) {
+                writer.write(render(packageName, simpleName, typeName(type.asType()), constructor, fields, postConstruct, preDestroy));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write bean factory " + factoryName + ": " + e.getMessage(), type);
+        }
+    }
+
+    @NotNull
+    private String render(@NotNull String packageName, @NotNull String simpleName, @NotNull String beanType,
+                          @NotNull ExecutableElement constructor, @NotNull List<VariableElement> fields,
+                          @NotNull List<ExecutableElement> postConstruct, @NotNull List<ExecutableElement> preDestroy) {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n * Generated by sico-codegen, do not edit.\n */\n");
+        source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        source.append("public final class ").append(simpleName).append(" implements ")
+                .append(BEAN_FACTORY).append('<').append(beanType).append("> {\n");
+
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        source.append("    private static final Class<?>[] PARAMETER_TYPES = {");
+        for (int i = 0; i < parameters.size(); i++) {
+            source.append(i == 0 ? " " : ", ").append(typeName(parameters.get(i).asType())).append(".class");
+        }
+        source.append(parameters.isEmpty() ? "};\n\n" : " };\n\n");
+
+        source.append("    @Override\n    public Class<?>[] getParameterTypes() {\n        return PARAMETER_TYPES;\n    }\n\n");
+
+        source.append("    @Override\n    public ").append(beanType).append(" newInstance(Object[] args) throws Throwable {\n");
+        source.append("        return new ").append(beanType).append('(');
+        for (int i = 0; i < parameters.size(); i++) {
+            source.append(i == 0 ? "" : ", ").append('(').append(typeName(parameters.get(i).asType())).append(") args[").append(i).append(']');
+        }
+        source.append(");\n    }\n\n");
+
+        source.append("    @Override\n    public boolean hasAutowiredFields() {\n        return ").append(!fields.isEmpty()).append(";\n    }\n\n");
+        source.append("    @Override\n    public void autowire(").append(beanType).append(" instance, ").append(CONTAINER).append(" container) {\n");
+        for (VariableElement field : fields) {
+            String fieldName = field.getSimpleName().toString();
+            String fieldType = typeName(field.asType());
+            source.append("        if (instance.").append(fieldName).append(" == null) {\n");
+            source.append("            Object value = container.resolve(").append(fieldType).append(".class);\n");
+            source.append("            if (value != null) {\n");
+            source.append("                instance.").append(fieldName).append(" = (").append(fieldType).append(") value;\n");
+            source.append("            }\n        }\n");
+        }
+        source.append("    }\n\n");
+
+        renderCallbacks(source, "PostConstruct", beanType, postConstruct);
+        source.append('\n');
+        renderCallbacks(source, "PreDestroy", beanType, preDestroy);
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private static void renderCallbacks(@NotNull StringBuilder source, @NotNull String callback, @NotNull String beanType,
+                                        @NotNull List<ExecutableElement> methods) {
+        String methodName = Character.toLowerCase(callback.charAt(0)) + callback.substring(1);
+        source.append("    @Override\n    public boolean has").append(callback).append("() {\n        return ")
+                .append(!methods.isEmpty()).append(";\n    }\n\n");
+        source.append("    @Override\n    public void ").append(methodName).append('(').append(beanType)
+                .append(" instance) throws Throwable {\n");
+        for (ExecutableElement method : methods) {
+            source.append("        instance.").append(method.getSimpleName()).append("();\n");
+        }
+        source.append("    }\n");
+    }
+
+    /**
+     * Finds the constructor the container would choose:
+     * a constructor annotated with {@code @Autowired}, then the no-arg constructor, then the only declared one.
+     * Beyond that the container takes the first of {@code Class.getDeclaredConstructors()}, whose order is unspecified,
+     * so no constructor is returned when several are annotated or several remain without a no-arg one.
+     */
+    @Nullable
+    private static ExecutableElement findSuitableConstructor(@NotNull TypeElement type) {
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+        List<ExecutableElement> autowired = new ArrayList<>();
+        for (ExecutableElement constructor : constructors) {
+            if (findAnnotation(constructor, AUTOWIRED) != null) {
+                autowired.add(constructor);
+            }
+        }
+        if (!autowired.isEmpty()) {
+            return autowired.size() == 1 ? autowired.get(0) : null;
+        }
+        for (ExecutableElement constructor : constructors) {
+            if (constructor.getParameters().isEmpty()) {
+                return constructor;
+            }
+        }
+        return constructors.size() == 1 ? constructors.get(0) : null;
+    }
+
+    @Nullable
+    private static String checkAccessible(@NotNull Element element) {
+        Set<Modifier> modifiers = element.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return element + " is private";
+        }
+        if (element.getKind() == ElementKind.CLASS) {
+            if (modifiers.contains(Modifier.ABSTRACT)) {
+                return element + " is abstract";
+            }
+            Element enclosing = element.getEnclosingElement();
+            if (enclosing.getKind() != ElementKind.PACKAGE) {
+                if (!modifiers.contains(Modifier.STATIC) || !(enclosing instanceof TypeElement)) {
+                    return element + " is an inner class";
+                }
+                return checkEnclosing((TypeElement) enclosing);
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String checkEnclosing(@NotNull TypeElement type) {
+        if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            return type + " is private";
+        }
+        Element enclosing = type.getEnclosingElement();
+        return enclosing instanceof TypeElement ? checkEnclosing((TypeElement) enclosing) : null;
+    }
+
+    @Nullable
+    private static String checkInjectable(@NotNull VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.STATIC)) {
+            return "@Autowired field " + field.getSimpleName() + " is private, final or static";
+        }
+        if (field.asType().getKind().isPrimitive()) {
+            return "@Autowired field " + field.getSimpleName() + " has a primitive type";
+        }
+        return null;
+    }
+
+    /**
+     * Checks that an injection point is resolved by its erased type alone,
+     * as generated code does not keep generic type arguments.
+     */
+    @Nullable
+    private String checkResolvable(@NotNull VariableElement injectionPoint) {
+        if (GENERIC_INJECTION_POINTS.contains(typeName(injectionPoint.asType()))) {
+            return "injection point " + injectionPoint.getSimpleName() + " depends on its generic type";
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String checkCallable(@NotNull ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+            return "lifecycle method " + method.getSimpleName() + " is private or static";
+        }
+        if (!method.getParameters().isEmpty()) {
+            return "lifecycle method " + method.getSimpleName() + " has parameters";
+        }
+        return null;
+    }
+
+    @NotNull
+    private String typeName(@NotNull TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    @Nullable
+    private static AnnotationMirror findAnnotation(@NotNull Element element, @NotNull String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+}
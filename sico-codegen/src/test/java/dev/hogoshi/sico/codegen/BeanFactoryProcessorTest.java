@@ -0,0 +1,206 @@
+package dev.hogoshi.sico.codegen;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.container.BeanFactory;
+import dev.hogoshi.sico.container.ClassMetadata;
+import dev.hogoshi.sico.container.DefaultContainer;
+
+public class BeanFactoryProcessorTest {
+
+    private static final String REPOSITORY =
+            "package app;\n"
+                    + "import dev.hogoshi.sico.annotation.*;\n"
+                    + "@Repository\n"
+                    + "class Store {}\n";
+    private static final String SERVICE =
+            "package app;\n"
+                    + "import java.util.*;\n"
+                    + "import java.util.function.Supplier;\n"
+                    + "import dev.hogoshi.sico.annotation.*;\n"
+                    + "@Service\n"
+                    + "public class Orders implements Supplier<List<Object>> {\n"
+                    + "    final List<Object> events = new ArrayList<>();\n"
+                    + "    final Store store;\n"
+                    + "    @Autowired Store injected;\n"
+                    + "    @Autowired\n"
+                    + "    Orders(Store store) { this.store = store; }\n"
+                    + "    @PostConstruct void init() { events.add(\"init\"); events.add(store); events.add(injected); }\n"
+                    + "    @PreDestroy void destroy() throws Exception { events.add(\"destroy\"); }\n"
+                    + "    public List<Object> get() { return events; }\n"
+                    + "    @Component @Scope(Scope.Scopes.PROTOTYPE)\n"
+                    + "    public static class Draft {}\n"
+                    + "}\n";
+    private static final String REFLECTIVE =
+            "package app;\n"
+                    + "import dev.hogoshi.sico.annotation.*;\n"
+                    + "@Component\n"
+                    + "public class Reflective {\n"
+                    + "    @Autowired private Store store;\n"
+                    + "}\n";
+    private static final String HOLDER =
+            "package app;\n"
+                    + "import dev.hogoshi.sico.annotation.*;\n"
+                    + "import dev.hogoshi.sico.container.LazyHolder;\n"
+                    + "@Component\n"
+                    + "public class Holder {\n"
+                    + "    Holder(LazyHolder<Store> store) {}\n"
+                    + "}\n";
+    private static final String ASYNC =
+            "package app;\n"
+                    + "import java.util.concurrent.CompletableFuture;\n"
+                    + "import dev.hogoshi.sico.annotation.*;\n"
+                    + "@Component\n"
+                    + "public class Warmup {\n"
+                    + "    @PostConstruct CompletableFuture<Void> load() { return CompletableFuture.completedFuture(null); }\n"
+                    + "}\n";
+
+    private static final String AMBIGUOUS =
+            "package app;\n"
+                    + "import dev.hogoshi.sico.annotation.*;\n"
+                    + "@Component\n"
+                    + "public class Ambiguous {\n"
+                    + "    Ambiguous(Store store) {}\n"
+                    + "    Ambiguous(Store store, Store other) {}\n"
+                    + "}\n";
+
+    private Path directory;
+    private DiagnosticCollector<JavaFileObject> diagnostics;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("sico-codegen");
+        diagnostics = new DiagnosticCollector<>();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testGenerateFactories() throws IOException {
+        Path classes = compile(REPOSITORY, SERVICE, REFLECTIVE, HOLDER, ASYNC, AMBIGUOUS);
+
+        assertTrue(Files.exists(classes.resolve("app/Store" + BeanFactoryProcessor.CLASS_NAME_SUFFIX + ".class")));
+        assertTrue(Files.exists(classes.resolve("app/Orders" + BeanFactoryProcessor.CLASS_NAME_SUFFIX + ".class")));
+        assertTrue(Files.exists(classes.resolve("app/Orders$Draft" + BeanFactoryProcessor.CLASS_NAME_SUFFIX + ".class")),
+                "Static nested components should get a factory");
+        assertFalse(Files.exists(classes.resolve("app/Reflective" + BeanFactoryProcessor.CLASS_NAME_SUFFIX + ".class")),
+                "Components with private injection points should not get a factory");
+        assertTrue(notes().stream().anyMatch(note -> note.contains("store is private")),
+                "Skipped components should be reported");
+        assertFalse(Files.exists(classes.resolve("app/Holder" + BeanFactoryProcessor.CLASS_NAME_SUFFIX + ".class")),
+                "Components with generic injection points should not get a factory");
+        assertTrue(notes().stream().anyMatch(note -> note.contains("store depends on its generic type")));
+        assertFalse(Files.exists(classes.resolve("app/Warmup" + BeanFactoryProcessor.CLASS_NAME_SUFFIX + ".class")),
+                "Components with asynchronous initializers should not get a factory");
+        assertFalse(Files.exists(classes.resolve("app/Ambiguous" + BeanFactoryProcessor.CLASS_NAME_SUFFIX + ".class")),
+                "Components whose constructor the container picks by reflection order should not get a factory");
+        assertTrue(notes().stream().anyMatch(note -> note.contains("depends on the order of reflection")));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testContainerUsesGeneratedFactories() throws Exception {
+        Path classes = compile(REPOSITORY, SERVICE, REFLECTIVE);
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classes.toUri().toURL() }, getClass().getClassLoader())) {
+            Class<?> store = classLoader.loadClass("app.Store");
+            Class<?> orders = classLoader.loadClass("app.Orders");
+            Class<?> draft = classLoader.loadClass("app.Orders$Draft");
+            Class<?> reflective = classLoader.loadClass("app.Reflective");
+
+            BeanFactory<Object> factory = ClassMetadata.of(orders).getBeanFactory();
+            assertNotNull(factory, "The generated factory should be found");
+            assertEquals(Collections.singletonList(store), Arrays.asList(factory.getParameterTypes()));
+            assertNull(ClassMetadata.of(reflective).getBeanFactory());
+
+            DefaultContainer container = new DefaultContainer();
+            container.start();
+            List<Object> events;
+            try {
+                container.scan(name -> true, classLoader, "app");
+
+                Object storeInstance = container.resolve(store);
+                Supplier<List<Object>> ordersInstance = (Supplier<List<Object>>) container.resolve(orders);
+                assertNotNull(storeInstance);
+                assertNotNull(ordersInstance);
+                events = ordersInstance.get();
+                assertEquals(Arrays.asList("init", storeInstance, storeInstance), events,
+                        "The constructor, autowired fields and post-construct methods should be generated");
+
+                assertNotSame(container.resolve(draft), container.resolve(draft), "Prototypes should be created by their factory");
+                assertNotNull(container.resolve(reflective), "Components without a factory should use reflection");
+            } finally {
+                container.close();
+            }
+            assertEquals("destroy", events.get(events.size() - 1), "Pre-destroy methods should be generated");
+            assertSame(factory, ClassMetadata.of(orders).getBeanFactory(), "The factory should be looked up once");
+        }
+    }
+
+    private List<String> notes() {
+        List<String> notes = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.NOTE) {
+                notes.add(diagnostic.getMessage(Locale.ROOT));
+            }
+        }
+        return notes;
+    }
+
+    private Path compile(String... sources) throws IOException {
+        Path sourceDirectory = Files.createDirectories(directory.resolve("src"));
+        Path classDirectory = Files.createDirectories(directory.resolve("classes"));
+        Path[] sourceFiles = new Path[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            String className = sources[i].replaceFirst("(?s).*?(?:public )?class (\\w+).*", "$1");
+            sourceFiles[i] = Files.write(sourceDirectory.resolve(className + ".java"), sources[i].getBytes(StandardCharsets.UTF_8));
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(sourceFiles);
+            List<String> arguments = Arrays.asList("-d", classDirectory.toString(), "-s", sourceDirectory.toString(),
+                    "-classpath", System.getProperty("java.class.path"));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, arguments, null, units);
+            task.setProcessors(Collections.singletonList(new BeanFactoryProcessor()));
+            assertTrue(task.call(), () -> "Compilation should succeed: " + diagnostics.getDiagnostics());
+        }
+        return classDirectory;
+    }
+}
@@ -0,0 +1,10 @@
+dependencies {
+    compileOnly(libs.jetbrains.annotations)
+
+    testImplementation(project(":sico"))
+    testImplementation(libs.bundles.junit)
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+}
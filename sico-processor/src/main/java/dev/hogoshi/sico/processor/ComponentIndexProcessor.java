@@ -0,0 +1,211 @@
+package dev.hogoshi.sico.processor;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Annotation processor that writes {@value #INDEX_LOCATION}, a compile-time index of all components.
+ * Every class annotated with a stereotype is listed with its stereotype, scope, declared name and
+ * post-construct, pre-destroy and scheduled methods, one class per line and sorted by class name:
+ * <pre>
+ * className	stereotype	scope	name	postConstruct,...	preDestroy,...	scheduled,...
+ * </pre>
+ * When the index is on the class path, the container reads it instead of scanning the class path.
+ * Additional stereotypes can be indexed with the {@value #STEREOTYPES_OPTION} option,
+ * a comma-separated list of annotation class names.
+ */
+public class ComponentIndexProcessor extends AbstractProcessor {
+    public static final String INDEX_LOCATION = "META-INF/sico/components.idx";
+    public static final String STEREOTYPES_OPTION = "sico.stereotypes";
+
+    private static final String ANNOTATION_PACKAGE = "dev.hogoshi.sico.annotation.";
+    private static final List<String> STEREOTYPES = Arrays.asList(
+            ANNOTATION_PACKAGE + "Component", ANNOTATION_PACKAGE + "Service",
+            ANNOTATION_PACKAGE + "Repository", ANNOTATION_PACKAGE + "Configuration"
+    );
+    private static final String SCOPE = ANNOTATION_PACKAGE + "Scope";
+    private static final String POST_CONSTRUCT = ANNOTATION_PACKAGE + "PostConstruct";
+    private static final String PRE_DESTROY = ANNOTATION_PACKAGE + "PreDestroy";
+    private static final String SCHEDULED = ANNOTATION_PACKAGE + "Scheduled";
+    private static final String DEFAULT_SCOPE = "SINGLETON";
+
+    @NotNull private final Map<String, String> entries = new TreeMap<>();
+    @NotNull private final List<Element> originatingElements = new ArrayList<>();
+    @NotNull private List<String> stereotypes = STEREOTYPES;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+
+        String option = processingEnv.getOptions().get(STEREOTYPES_OPTION);
+        if (option != null) {
+            List<String> configured = new ArrayList<>(STEREOTYPES);
+            for (String stereotype : option.split(",")) {
+                String trimmed = stereotype.trim();
+                if (!trimmed.isEmpty() && !configured.contains(trimmed)) {
+                    configured.add(trimmed);
+                }
+            }
+            stereotypes = configured;
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new LinkedHashSet<>(stereotypes);
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Collections.singleton(STEREOTYPES_OPTION);
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    TypeElement type = (TypeElement) element;
+                    String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+                    if (!entries.containsKey(className)) {
+                        entries.put(className, describe(className, type));
+                        originatingElements.add(type);
+                    }
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !entries.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    @NotNull
+    private String describe(@NotNull String className, @NotNull TypeElement type) {
+        String stereotype = null;
+        String name = "";
+        String scope = DEFAULT_SCOPE;
+        for (String candidate : stereotypes) {
+            AnnotationMirror mirror = findAnnotation(type, candidate);
+            if (mirror == null) {
+                continue;
+            }
+            if (stereotype == null) {
+                stereotype = candidate;
+            }
+            if (name.isEmpty()) {
+                Object value = annotationValue(mirror, "value");
+                name = value instanceof String ? (String) value : "";
+            }
+        }
+        AnnotationMirror scopeMirror = findAnnotation(type, SCOPE);
+        if (scopeMirror != null) {
+            Object value = annotationValue(scopeMirror, "value");
+            if (value instanceof VariableElement) {
+                scope = ((VariableElement) value).getSimpleName().toString();
+            }
+        }
+
+        List<String> postConstruct = new ArrayList<>();
+        List<String> preDestroy = new ArrayList<>();
+        List<String> scheduled = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.METHOD) {
+                continue;
+            }
+            String methodName = member.getSimpleName().toString();
+            if (findAnnotation(member, POST_CONSTRUCT) != null) {
+                postConstruct.add(methodName);
+            }
+            if (findAnnotation(member, PRE_DESTROY) != null) {
+                preDestroy.add(methodName);
+            }
+            if (findAnnotation(member, SCHEDULED) != null) {
+                scheduled.add(methodName);
+            }
+        }
+
+        return className + '\t' + stereotype + '\t' + scope + '\t' + escape(name) + '\t'
+                + String.join(",", postConstruct) + '\t' + String.join(",", preDestroy) + '\t' + String.join(",", scheduled);
+    }
+
+    private void writeIndex() {
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    INDEX_LOCATION, originatingElements.toArray(new Element[0]));
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Generated by sico-processor, do not edit\n");
+                for (String entry : entries.values()) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + INDEX_LOCATION + ": " + e.getMessage());
+        }
+    }
+
+    @Nullable
+    private static AnnotationMirror findAnnotation(@NotNull Element element, @NotNull String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(annotationName)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Object annotationValue(@NotNull AnnotationMirror mirror, @NotNull String attribute) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(attribute)) {
+                return entry.getValue().getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Escapes the characters that delimit index fields and lines.
+     */
+    @NotNull
+    private static String escape(@NotNull String value) {
+        return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+    }
+}
@@ -0,0 +1,112 @@
+package dev.hogoshi.sico.processor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ComponentIndexProcessorTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("sico-processor");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testIndexComponents() throws IOException {
+        List<String> index = compile(Collections.<String>emptyList(),
+                "package app;\n"
+                        + "import dev.hogoshi.sico.annotation.*;\n"
+                        + "@Service(\"main\\tservice\")\n"
+                        + "public class MainService {\n"
+                        + "    @PostConstruct void init() {}\n"
+                        + "    @PostConstruct void afterInit() {}\n"
+                        + "    @PreDestroy void destroy() {}\n"
+                        + "    @Scheduled(interval = 10) void tick() {}\n"
+                        + "    @Component public static class Nested {}\n"
+                        + "}\n",
+                "package app;\n"
+                        + "import dev.hogoshi.sico.annotation.*;\n"
+                        + "@Component @Scope(Scope.Scopes.PROTOTYPE)\n"
+                        + "public class Prototype {}\n",
+                "package app;\n"
+                        + "public class Plain {}\n");
+
+        assertEquals(Arrays.asList(
+                "app.MainService\tdev.hogoshi.sico.annotation.Service\tSINGLETON\tmain\\tservice\tinit,afterInit\tdestroy\ttick",
+                "app.MainService$Nested\tdev.hogoshi.sico.annotation.Component\tSINGLETON\t\t\t\t",
+                "app.Prototype\tdev.hogoshi.sico.annotation.Component\tPROTOTYPE\t\t\t\t"
+        ), index, "Components should be indexed by binary name in sorted order");
+    }
+
+    @Test
+    void testCustomStereotypes() throws IOException {
+        List<String> index = compile(Collections.singletonList("-A" + ComponentIndexProcessor.STEREOTYPES_OPTION + "=app.Plugin"),
+                "package app;\n"
+                        + "import java.lang.annotation.*;\n"
+                        + "@Retention(RetentionPolicy.RUNTIME)\n"
+                        + "public @interface Plugin { String value() default \"\"; }\n",
+                "package app;\n"
+                        + "@Plugin(\"extension\")\n"
+                        + "public class Extension {}\n");
+
+        assertEquals(Collections.singletonList("app.Extension\tapp.Plugin\tSINGLETON\textension\t\t\t"), index,
+                "Configured stereotypes should be indexed");
+    }
+
+    private List<String> compile(List<String> options, String... sources) throws IOException {
+        Path sourceDirectory = Files.createDirectories(directory.resolve("src"));
+        Path classDirectory = Files.createDirectories(directory.resolve("classes"));
+        Path[] sourceFiles = new Path[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            String source = sources[i];
+            String className = source.replaceFirst("(?s).*public (?:class|@interface) (\\w+).*", "$1");
+            sourceFiles[i] = Files.write(sourceDirectory.resolve(className + ".java"), source.getBytes(StandardCharsets.UTF_8));
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjects(sourceFiles);
+            List<String> arguments = new ArrayList<>(Arrays.asList(
+                    "-proc:only", "-d", classDirectory.toString(), "-classpath", System.getProperty("java.class.path")));
+            arguments.addAll(options);
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, arguments, null, units);
+            task.setProcessors(Collections.singletonList(new ComponentIndexProcessor()));
+            assertTrue(task.call(), "Compilation should succeed");
+        }
+
+        Path index = classDirectory.resolve(ComponentIndexProcessor.INDEX_LOCATION);
+        assertTrue(Files.exists(index), "The index should be written");
+        List<String> lines = Files.readAllLines(index, StandardCharsets.UTF_8);
+        assertFalse(lines.isEmpty());
+        assertTrue(lines.get(0).startsWith("#"), "The index should start with a header comment");
+        return lines.subList(1, lines.size());
+    }
+}
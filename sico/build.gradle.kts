@@ -1,5 +1,6 @@
 plugins {
     java
+    alias(libs.plugins.jmh)
 }
 
 dependencies {
@@ -16,4 +17,8 @@ tasks.jar {
 
 tasks.withType<Test> {
     useJUnitPlatform()
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh.get()
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package dev.hogoshi.sico.benchmark;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.container.ContainerOptions;
+import dev.hogoshi.sico.container.DefaultContainer;
+
+/**
+ * Measures a cold scan of a fat application: a package of generated classes, of which only every
+ * {@code componentInterval}-th one is a {@code @Component}, packaged either as a single JAR or as a
+ * class directory, and scanned sequentially or in parallel. Every invocation uses a fresh class loader; the number of classes it had to define
+ * is printed at the end of each trial. With {@code scanCache}, every invocation is a warm restart that reads a scan cache
+ * written before the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FatJarScanBenchmark {
+    private static final String PACKAGE = "dev.hogoshi.sico.benchmark.generated.fatjar";
+
+    @Param({"20000"})
+    public int classCount;
+
+    @Param({"20"})
+    public int componentInterval;
+
+    @Param({"jar", "directory"})
+    public String layout;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Param({"false", "true"})
+    public boolean scanCache;
+
+    private Path root;
+    private Path cacheFile;
+    private URL classPath;
+    private CountingClassLoader classLoader;
+    private int loadedClasses;
+    private DefaultContainer container;
+
+    @Setup(Level.Trial)
+    public void writeClasses() throws IOException {
+        root = Files.createTempDirectory("sico-fatjar");
+        Path directory = root.resolve("classes");
+        Path jar = root.resolve("application.jar");
+
+        Set<String> directories = new HashSet<>();
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+            for (int i = 0; i < classCount; i++) {
+                String className = PACKAGE + ".Class" + i;
+                List<Class<?>> annotations = i % componentInterval == 0
+                        ? Collections.singletonList(Component.class)
+                        : Collections.emptyList();
+                byte[] bytes = SyntheticClasses.classFile(className, Collections.emptyList(), annotations);
+                SyntheticClasses.write(directory, className, bytes);
+                writeEntry(out, directories, className.replace('.', '/') + ".class", bytes);
+            }
+        }
+
+        classPath = ("jar".equals(layout) ? jar : directory).toUri().toURL();
+
+        if (scanCache) {
+            cacheFile = root.resolve("scan-cache.bin");
+            createContainer();
+            scan();
+            closeContainer();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createContainer() {
+        classLoader = new CountingClassLoader(classPath, getClass().getClassLoader());
+        container = new DefaultContainer(ContainerOptions.defaults().setParallelScan(parallel).setScanCacheFile(cacheFile));
+    }
+
+    @Benchmark
+    public DefaultContainer scan() {
+        container.scan(name -> true, classLoader, PACKAGE);
+        return container;
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeContainer() throws IOException {
+        loadedClasses = classLoader.loadedClasses;
+        container.close();
+        classLoader.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteClasses() {
+        System.out.println("Classes loaded per scan: " + loadedClasses + " of " + classCount);
+        SyntheticClasses.delete(root);
+    }
+
+    private static void writeEntry(ZipOutputStream out, Set<String> directories, String name, byte[] bytes) throws IOException {
+        // Directory entries are needed for ClassLoader.getResources to find the package inside the JAR.
+        for (int slash = name.indexOf('/'); slash >= 0; slash = name.indexOf('/', slash + 1)) {
+            String directory = name.substring(0, slash + 1);
+            if (directories.add(directory)) {
+                out.putNextEntry(new ZipEntry(directory));
+                out.closeEntry();
+            }
+        }
+        out.putNextEntry(new ZipEntry(name));
+        out.write(bytes);
+        out.closeEntry();
+    }
+
+    private static final class CountingClassLoader extends URLClassLoader {
+        private int loadedClasses;
+
+        CountingClassLoader(URL classPath, ClassLoader parent) {
+            super(new URL[] {classPath}, parent);
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            Class<?> type = super.findClass(name);
+            loadedClasses++;
+            return type;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package dev.hogoshi.sico.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.hogoshi.sico.container.BeanKey;
+import dev.hogoshi.sico.container.DefaultContainer;
+
+/**
+ * Compares resolving a singleton from a mutable registry with resolving it from a frozen one,
+ * by type and through a {@link BeanKey}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrozenResolveBenchmark {
+
+    @Param({"100", "10000"})
+    public int beanCount;
+
+    private DefaultContainer mutable;
+    private DefaultContainer frozen;
+    private Class<?> targetClass;
+    private BeanKey<Target> targetKey;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        mutable = new DefaultContainer();
+        frozen = new DefaultContainer();
+        SyntheticClasses.Loader loader = new SyntheticClasses.Loader(getClass().getClassLoader());
+
+        for (int i = 0; i < beanCount - 1; i++) {
+            Class<?> beanClass = loader.define("dev.hogoshi.sico.benchmark.generated.Bean" + i,
+                    Collections.emptyList(), Collections.emptyList());
+            mutable.registerBean("bean" + i, beanClass.getConstructor().newInstance());
+            frozen.registerBean("bean" + i, beanClass.getConstructor().newInstance());
+        }
+
+        targetClass = loader.define("dev.hogoshi.sico.benchmark.generated.TargetBean",
+                Collections.singletonList(Target.class), Collections.emptyList());
+        mutable.registerBean("targetBean", targetClass.getConstructor().newInstance());
+        frozen.registerBean("targetBean", targetClass.getConstructor().newInstance());
+
+        frozen.freeze();
+        targetKey = frozen.getBeanKey(Target.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        mutable.close();
+        frozen.close();
+    }
+
+    @Benchmark
+    public Target mutableResolveByInterface() {
+        return mutable.resolve(Target.class);
+    }
+
+    @Benchmark
+    public Target frozenResolveByInterface() {
+        return frozen.resolve(Target.class);
+    }
+
+    @Benchmark
+    public Object frozenResolveByClass() {
+        return frozen.resolve(targetClass);
+    }
+
+    @Benchmark
+    public Target frozenResolveByKey() {
+        return frozen.resolve(targetKey);
+    }
+
+    /**
+     * Interface implemented only by the last registered bean.
+     */
+    public interface Target {
+    }
+}
@@ -0,0 +1,108 @@
+package dev.hogoshi.sico.benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.hogoshi.sico.container.InstanceFactories;
+import dev.hogoshi.sico.container.InstanceFactory;
+
+/**
+ * Compares the cost of creating a bean through {@link MethodHandle#invokeWithArguments(Object...)},
+ * through a compiled {@link InstanceFactory} and through a direct {@code new}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstanceFactoryBenchmark {
+
+    private final Dependency dependency = new Dependency();
+    private final Object[] noArgs = new Object[0];
+    private final Object[] oneArg = new Object[] {dependency};
+
+    private MethodHandle noArgHandle;
+    private MethodHandle oneArgHandle;
+    private InstanceFactory noArgFactory;
+    private InstanceFactory oneArgFactory;
+    private InstanceFactory factoryMethodFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        noArgHandle = MethodHandles.lookup().unreflectConstructor(Dependency.class.getConstructor());
+        oneArgHandle = MethodHandles.lookup().unreflectConstructor(Dependent.class.getConstructor(Dependency.class));
+        noArgFactory = InstanceFactories.forConstructor(Dependency.class.getConstructor());
+        oneArgFactory = InstanceFactories.forConstructor(Dependent.class.getConstructor(Dependency.class));
+        factoryMethodFactory = InstanceFactories.forMethod(Config.class.getMethod("dependent", Dependency.class), new Config());
+    }
+
+    @Benchmark
+    public Object noArgDirectNew() {
+        return new Dependency();
+    }
+
+    @Benchmark
+    public Object noArgInvokeWithArguments() throws Throwable {
+        return noArgHandle.invokeWithArguments(noArgs);
+    }
+
+    @Benchmark
+    public Object noArgCompiledFactory() throws Throwable {
+        return noArgFactory.create(noArgs);
+    }
+
+    @Benchmark
+    public Object oneArgDirectNew() {
+        return new Dependent(dependency);
+    }
+
+    @Benchmark
+    public Object oneArgInvokeWithArguments() throws Throwable {
+        return oneArgHandle.invokeWithArguments(oneArg);
+    }
+
+    @Benchmark
+    public Object oneArgCompiledFactory() throws Throwable {
+        return oneArgFactory.create(oneArg);
+    }
+
+    @Benchmark
+    public Object factoryMethodCompiledFactory() throws Throwable {
+        return factoryMethodFactory.create(oneArg);
+    }
+
+    public static class Dependency {
+    }
+
+    public static class Dependent {
+        private final Dependency dependency;
+
+        public Dependent(Dependency dependency) {
+            this.dependency = dependency;
+        }
+
+        public Dependency getDependency() {
+            return dependency;
+        }
+    }
+
+    public static class Config {
+        public Dependent dependent(Dependency dependency) {
+            return new Dependent(dependency);
+        }
+    }
+}
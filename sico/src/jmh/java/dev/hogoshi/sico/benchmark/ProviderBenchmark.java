@@ -0,0 +1,85 @@
+package dev.hogoshi.sico.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.container.Provider;
+
+/**
+ * Compares repeated lookups through {@link DefaultContainer#resolve(Class)} with calls of a bound {@link Provider},
+ * for a singleton and for a prototype with a singleton constructor dependency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderBenchmark {
+
+    private DefaultContainer container;
+    private Provider<Singleton> singletonProvider;
+    private Provider<Prototype> prototypeProvider;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        container = new DefaultContainer();
+        container.register(Singleton.class);
+        container.register(Prototype.class);
+        singletonProvider = container.getProvider(Singleton.class);
+        prototypeProvider = container.getProvider(Prototype.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.close();
+    }
+
+    @Benchmark
+    public Object singletonResolve() {
+        return container.resolve(Singleton.class);
+    }
+
+    @Benchmark
+    public Object singletonProvider() {
+        return singletonProvider.get();
+    }
+
+    @Benchmark
+    public Object prototypeResolve() {
+        return container.resolve(Prototype.class);
+    }
+
+    @Benchmark
+    public Object prototypeProvider() {
+        return prototypeProvider.get();
+    }
+
+    @Component
+    public static class Singleton {
+    }
+
+    @Component
+    @dev.hogoshi.sico.annotation.Scope(dev.hogoshi.sico.annotation.Scope.Scopes.PROTOTYPE)
+    public static class Prototype {
+        private final Singleton singleton;
+
+        public Prototype(Singleton singleton) {
+            this.singleton = singleton;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package dev.hogoshi.sico.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.container.DefaultContainer;
+
+/**
+ * Measures {@link DefaultContainer#resolve(Class)} for the outcomes kept in its resolution cache:
+ * a singleton resolved through an interface, a prototype with a dependency, and a type without a bean.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolutionCacheBenchmark {
+
+    private DefaultContainer container;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        container = new DefaultContainer();
+        container.register(Repository.class);
+        container.register(Request.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.close();
+    }
+
+    @Benchmark
+    public Store singletonByInterface() {
+        return container.resolve(Store.class);
+    }
+
+    @Benchmark
+    public Request prototype() {
+        return container.resolve(Request.class);
+    }
+
+    @Benchmark
+    public Missing miss() {
+        return container.resolve(Missing.class);
+    }
+
+    public interface Store {
+    }
+
+    public interface Missing {
+    }
+
+    @Component
+    public static class Repository implements Store {
+    }
+
+    @Component
+    @dev.hogoshi.sico.annotation.Scope(dev.hogoshi.sico.annotation.Scope.Scopes.PROTOTYPE)
+    public static class Request {
+        final Store store;
+
+        public Request(Store store) {
+            this.store = store;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package dev.hogoshi.sico.benchmark;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import dev.hogoshi.sico.container.DefaultContainer;
+
+/**
+ * Measures plugin-style fan-out: resolving and iterating all beans implementing an interface.
+ * The beans of a type are collected once, so the cost should be the iteration alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolveAllBenchmark {
+
+    @Param({"10", "100"})
+    public int handlerCount;
+
+    private DefaultContainer container;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        container = new DefaultContainer();
+        SyntheticClasses.Loader loader = new SyntheticClasses.Loader(getClass().getClassLoader());
+
+        for (int i = 0; i < handlerCount; i++) {
+            Class<?> handlerClass = loader.define("dev.hogoshi.sico.benchmark.generated.Handler" + i,
+                    Collections.singletonList(Handler.class), Collections.emptyList());
+            container.registerBean("handler" + i, handlerClass.getConstructor().newInstance());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.close();
+    }
+
+    @Benchmark
+    public void resolveAll(Blackhole blackhole) {
+        List<Handler> handlers = container.resolveAll(Handler.class);
+        for (int i = 0; i < handlers.size(); i++) {
+            blackhole.consume(handlers.get(i));
+        }
+    }
+
+    @Benchmark
+    public void resolveAllByName(Blackhole blackhole) {
+        Map<String, Handler> handlers = container.resolveAllByName(Handler.class);
+        for (Handler handler : handlers.values()) {
+            blackhole.consume(handler);
+        }
+    }
+
+    /**
+     * Interface implemented by every handler.
+     */
+    public interface Handler {
+    }
+}
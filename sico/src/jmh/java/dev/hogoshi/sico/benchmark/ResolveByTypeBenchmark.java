@@ -0,0 +1,76 @@
+package dev.hogoshi.sico.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.hogoshi.sico.container.DefaultContainer;
+
+/**
+ * Measures {@link DefaultContainer#resolve(Class)} latency as the number of registered beans grows.
+ * Resolving by exact class and by interface should both stay flat from 10 to 10,000 beans.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolveByTypeBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int beanCount;
+
+    private DefaultContainer container;
+    private Class<?> targetClass;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        container = new DefaultContainer();
+        SyntheticClasses.Loader loader = new SyntheticClasses.Loader(getClass().getClassLoader());
+
+        for (int i = 0; i < beanCount - 1; i++) {
+            Class<?> beanClass = loader.define("dev.hogoshi.sico.benchmark.generated.Bean" + i,
+                    Collections.emptyList(), Collections.emptyList());
+            container.registerBean("bean" + i, beanClass.getConstructor().newInstance());
+        }
+
+        targetClass = loader.define("dev.hogoshi.sico.benchmark.generated.TargetBean",
+                Collections.singletonList(Target.class), Collections.emptyList());
+        container.registerBean("targetBean", targetClass.getConstructor().newInstance());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.close();
+    }
+
+    @Benchmark
+    public Object resolveByClass() {
+        return container.resolve(targetClass);
+    }
+
+    @Benchmark
+    public Target resolveByInterface() {
+        return container.resolve(Target.class);
+    }
+
+    /**
+     * Interface implemented only by the last registered bean.
+     */
+    public interface Target {
+    }
+}
@@ -0,0 +1,112 @@
+package dev.hogoshi.sico.benchmark;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.hogoshi.sico.scheduler.HashedWheelTimerBackend;
+import dev.hogoshi.sico.scheduler.ScheduledExecutorBackend;
+import dev.hogoshi.sico.scheduler.SchedulerService;
+import dev.hogoshi.sico.scheduler.TimerBackend;
+
+/**
+ * Measures a {@link SchedulerService} with many periodic tasks on each timer backend:
+ * scheduling them with delays spread over 1000 seconds and cancelling them all, through the service and on the
+ * backend alone, and scheduling them to become due within 50 ms and waiting until all ran.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    @Param({"executor", "wheel"})
+    public String backend;
+
+    @Param({"100000"})
+    public int taskCount;
+
+    private TimerBackend timer;
+    private SchedulerService scheduler;
+    private Task task;
+    private Method run;
+    private String[] taskIds;
+    private TimerBackend.Handle[] handles;
+
+    @Setup(Level.Invocation)
+    public void setUp() throws NoSuchMethodException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        timer = "wheel".equals(backend) ? new HashedWheelTimerBackend() : new ScheduledExecutorBackend(threads);
+        scheduler = new SchedulerService(timer);
+        scheduler.start();
+        task = new Task(taskCount);
+        run = Task.class.getMethod("run");
+        taskIds = new String[taskCount];
+        handles = new TimerBackend.Handle[taskCount];
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        scheduler.stop();
+    }
+
+    @Benchmark
+    public int scheduleAndCancel() {
+        for (int i = 0; i < taskCount; i++) {
+            taskIds[i] = scheduler.scheduleTask(task, run, 60 + i % 1000, 60, TimeUnit.SECONDS, true);
+        }
+        for (String taskId : taskIds) {
+            scheduler.cancelTask(taskId);
+        }
+        return scheduler.getTaskCount();
+    }
+
+    @Benchmark
+    public int backendScheduleAndCancel() {
+        Runnable runnable = task::run;
+        for (int i = 0; i < taskCount; i++) {
+            handles[i] = timer.schedule(runnable, 60 + i % 1000, 60, TimeUnit.SECONDS, true);
+        }
+        for (TimerBackend.Handle handle : handles) {
+            handle.cancel();
+        }
+        return handles.length;
+    }
+
+    @Benchmark
+    public long scheduleAndRun() throws InterruptedException {
+        for (int i = 0; i < taskCount; i++) {
+            scheduler.scheduleTask(task, run, i % 50, 3_600_000, TimeUnit.MILLISECONDS, true);
+        }
+        task.latch.await();
+        return task.latch.getCount();
+    }
+
+    public static class Task {
+        final CountDownLatch latch;
+
+        Task(int runs) {
+            this.latch = new CountDownLatch(runs);
+        }
+
+        public void run() {
+            latch.countDown();
+        }
+    }
+}
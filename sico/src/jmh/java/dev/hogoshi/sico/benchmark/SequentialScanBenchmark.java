@@ -0,0 +1,86 @@
+package dev.hogoshi.sico.benchmark;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.container.DefaultContainer;
+
+/**
+ * Measures a plugin host that calls {@code scan} once per plugin: every plugin is a package of generated
+ * {@code @Component} classes, and all plugins are scanned one after another into the same container.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SequentialScanBenchmark {
+    private static final String PACKAGE = "dev.hogoshi.sico.benchmark.generated.plugin";
+
+    @Param({"200"})
+    public int pluginCount;
+
+    @Param({"10"})
+    public int classesPerPlugin;
+
+    private Path classPathRoot;
+    private URLClassLoader classLoader;
+    private DefaultContainer container;
+
+    @Setup(Level.Trial)
+    public void writeClasses() throws Exception {
+        classPathRoot = Files.createTempDirectory("sico-plugins");
+        for (int plugin = 0; plugin < pluginCount; plugin++) {
+            for (int i = 0; i < classesPerPlugin; i++) {
+                String className = PACKAGE + plugin + ".Component" + i;
+                SyntheticClasses.write(classPathRoot, className, SyntheticClasses.classFile(className,
+                        Collections.emptyList(), Collections.singletonList(Component.class)));
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createContainer() throws Exception {
+        classLoader = new URLClassLoader(new URL[] {classPathRoot.toUri().toURL()}, getClass().getClassLoader());
+        container = new DefaultContainer();
+    }
+
+    @Benchmark
+    public DefaultContainer scanPlugins() {
+        for (int plugin = 0; plugin < pluginCount; plugin++) {
+            container.scan(name -> true, classLoader, PACKAGE + plugin);
+        }
+        return container;
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeContainer() throws Exception {
+        container.close();
+        classLoader.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteClasses() {
+        SyntheticClasses.delete(classPathRoot);
+    }
+}
@@ -0,0 +1,270 @@
+package dev.hogoshi.sico.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Generates minimal class files for benchmarks that need thousands of distinct bean classes.
+ * Every generated class is public, has a public no-arg constructor and optionally implements
+ * interfaces, carries runtime-visible marker annotations (annotations without attributes)
+ * and declares a number of empty public methods.
+ */
+public final class SyntheticClasses {
+
+    private SyntheticClasses() {
+    }
+
+    /**
+     * Creates the bytes of a class file.
+     *
+     * @param className the binary name of the class, e.g. {@code com.example.Foo}
+     * @param interfaces the interfaces the class implements
+     * @param annotations the marker annotations present on the class
+     * @return the class file bytes
+     */
+    public static byte[] classFile(String className, List<Class<?>> interfaces, List<Class<?>> annotations) {
+        return classFile(className, interfaces, annotations, 0);
+    }
+
+    /**
+     * Creates the bytes of a class file with additional empty methods {@code m0()..m<n-1>()}.
+     *
+     * @param className the binary name of the class, e.g. {@code com.example.Foo}
+     * @param interfaces the interfaces the class implements
+     * @param annotations the marker annotations present on the class
+     * @param methodCount the number of empty public methods to declare
+     * @return the class file bytes
+     */
+    public static byte[] classFile(String className, List<Class<?>> interfaces, List<Class<?>> annotations, int methodCount) {
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(className.replace('.', '/'));
+        int objectClass = pool.classRef("java/lang/Object");
+        int initName = pool.utf8("<init>");
+        int initDescriptor = pool.utf8("()V");
+        int objectInit = pool.methodRef(objectClass, initName, initDescriptor);
+        int codeName = pool.utf8("Code");
+        int annotationsName = pool.utf8("RuntimeVisibleAnnotations");
+
+        List<Integer> interfaceIndexes = new ArrayList<>();
+        for (Class<?> type : interfaces) {
+            interfaceIndexes.add(pool.classRef(type.getName().replace('.', '/')));
+        }
+
+        List<Integer> annotationIndexes = new ArrayList<>();
+        for (Class<?> type : annotations) {
+            annotationIndexes.add(pool.utf8("L" + type.getName().replace('.', '/') + ";"));
+        }
+
+        List<Integer> methodNames = new ArrayList<>();
+        for (int i = 0; i < methodCount; i++) {
+            methodNames.add(pool.utf8("m" + i));
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            pool.writeTo(out);
+            out.writeShort(0x0021);
+            out.writeShort(thisClass);
+            out.writeShort(objectClass);
+            out.writeShort(interfaceIndexes.size());
+            for (int index : interfaceIndexes) {
+                out.writeShort(index);
+            }
+            out.writeShort(0);
+
+            out.writeShort(1 + methodNames.size());
+            out.writeShort(0x0001);
+            out.writeShort(initName);
+            out.writeShort(initDescriptor);
+            out.writeShort(1);
+            out.writeShort(codeName);
+            out.writeInt(17);
+            out.writeShort(1);
+            out.writeShort(1);
+            out.writeInt(5);
+            out.writeByte(0x2A);
+            out.writeByte(0xB7);
+            out.writeShort(objectInit);
+            out.writeByte(0xB1);
+            out.writeShort(0);
+            out.writeShort(0);
+
+            for (int methodName : methodNames) {
+                out.writeShort(0x0001);
+                out.writeShort(methodName);
+                out.writeShort(initDescriptor);
+                out.writeShort(1);
+                out.writeShort(codeName);
+                out.writeInt(13);
+                out.writeShort(0);
+                out.writeShort(1);
+                out.writeInt(1);
+                out.writeByte(0xB1);
+                out.writeShort(0);
+                out.writeShort(0);
+            }
+
+            if (annotationIndexes.isEmpty()) {
+                out.writeShort(0);
+            } else {
+                out.writeShort(1);
+                out.writeShort(annotationsName);
+                out.writeInt(2 + 4 * annotationIndexes.size());
+                out.writeShort(annotationIndexes.size());
+                for (int index : annotationIndexes) {
+                    out.writeShort(index);
+                    out.writeShort(0);
+                }
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a class file below a class path root directory.
+     *
+     * @param root the class path root
+     * @param className the binary name of the class
+     * @param bytes the class file bytes
+     * @return the written file
+     */
+    public static Path write(Path root, String className, byte[] bytes) {
+        Path file = root.resolve(className.replace('.', '/') + ".class");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return file;
+    }
+
+    /**
+     * Deletes a directory tree created for a benchmark.
+     *
+     * @param root the directory to delete
+     */
+    public static void delete(Path root) {
+        if (root == null || !Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Defines classes from in-memory class files.
+     * Classes not generated here are delegated to the parent class loader.
+     */
+    public static final class Loader extends ClassLoader {
+        private final Map<String, byte[]> classFiles = new HashMap<>();
+
+        public Loader(ClassLoader parent) {
+            super(parent);
+        }
+
+        /**
+         * Generates and defines a class.
+         *
+         * @param className the binary name of the class
+         * @param interfaces the interfaces the class implements
+         * @param annotations the marker annotations present on the class
+         * @return the defined class
+         */
+        public Class<?> define(String className, List<Class<?>> interfaces, List<Class<?>> annotations) {
+            classFiles.put(className, classFile(className, interfaces, annotations));
+            try {
+                return loadClass(className);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            byte[] bytes = classFiles.remove(name);
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class ConstantPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> entries = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+            return entry("U" + value, () -> {
+                out.writeByte(1);
+                out.writeUTF(value);
+            });
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return entry("C" + internalName, () -> {
+                out.writeByte(7);
+                out.writeShort(name);
+            });
+        }
+
+        int methodRef(int owner, int name, int descriptor) {
+            int nameAndType = entry("N" + name + ":" + descriptor, () -> {
+                out.writeByte(12);
+                out.writeShort(name);
+                out.writeShort(descriptor);
+            });
+            return entry("M" + owner + ":" + nameAndType, () -> {
+                out.writeByte(10);
+                out.writeShort(owner);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+
+        private int entry(String key, Writer writer) {
+            Integer existing = entries.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                writer.write();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            entries.put(key, count);
+            return count++;
+        }
+
+        private interface Writer {
+            void write() throws IOException;
+        }
+    }
+}
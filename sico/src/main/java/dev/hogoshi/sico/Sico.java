@@ -1,5 +1,6 @@
 package dev.hogoshi.sico;
 
+import java.lang.annotation.Annotation;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -181,6 +182,17 @@ public class Sico implements Lifecycle {
         }
     }
 
+    /**
+     * Registers an additional stereotype annotation that marks classes as components.
+     *
+     * @param annotationType the stereotype annotation
+     */
+    public void addComponentAnnotation(@NotNull Class<? extends Annotation> annotationType) {
+        if (container instanceof DefaultContainer) {
+            ((DefaultContainer) container).addComponentAnnotation(annotationType);
+        }
+    }
+
     /**
      * Closes the container and releases all resources.
      */
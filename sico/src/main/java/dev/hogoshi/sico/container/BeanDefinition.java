@@ -5,6 +5,8 @@ import java.lang.reflect.Method;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import dev.hogoshi.sico.annotation.Order;
+import dev.hogoshi.sico.annotation.Primary;
 import dev.hogoshi.sico.annotation.Scope;
 import lombok.Getter;
 
@@ -12,6 +14,8 @@ import lombok.Getter;
  * Represents a bean definition in the container.
  * A bean definition contains metadata about a bean, such as its name, class, scope, and whether it's a candidate for autowiring.
  * For factory method beans, it also contains the declaring instance and factory method.
+ * Whether the bean is primary and its order among beans of the same type are read from the
+ * {@link Primary} and {@link Order} annotations of the factory method, or of the bean class otherwise.
  */
 @Getter
 public class BeanDefinition {
@@ -19,6 +23,9 @@ public class BeanDefinition {
     @NotNull private final Class<?> beanClass;
     @NotNull private final Scope.Scopes scope;
     private final boolean autowireCandidate;
+    private final boolean lazy;
+    private final boolean primary;
+    private final int order;
     
     @Nullable private Object declaringInstance;
     @Nullable private Method factoryMethod;
@@ -30,12 +37,17 @@ public class BeanDefinition {
      * @param beanClass the class of the bean
      * @param scope the scope of the bean
      * @param autowireCandidate whether the bean is a candidate for autowiring
+     * @param lazy whether the singleton is only created when first resolved
      */
-    private BeanDefinition(@NotNull String name, @NotNull Class<?> beanClass, @NotNull Scope.Scopes scope, boolean autowireCandidate) {
+    private BeanDefinition(@NotNull String name, @NotNull Class<?> beanClass, @NotNull Scope.Scopes scope, boolean autowireCandidate,
+                           boolean lazy) {
         this.name = name;
         this.beanClass = beanClass;
         this.scope = scope;
         this.autowireCandidate = autowireCandidate;
+        this.lazy = lazy;
+        this.primary = ClassMetadata.of(beanClass).isPrimary();
+        this.order = ClassMetadata.of(beanClass).getOrder();
     }
     
     /**
@@ -45,17 +57,27 @@ public class BeanDefinition {
      * @param beanClass the class of the bean
      * @param scope the scope of the bean
      * @param autowireCandidate whether the bean is a candidate for autowiring
+     * @param lazy whether the singleton is only created when first resolved
      * @param declaringInstance the instance that declares the factory method
      * @param factoryMethod the factory method
      */
     private BeanDefinition(@NotNull String name, @NotNull Class<?> beanClass, @NotNull Scope.Scopes scope, boolean autowireCandidate,
-                           @Nullable Object declaringInstance, @Nullable Method factoryMethod) {
+                           boolean lazy, @Nullable Object declaringInstance, @Nullable Method factoryMethod) {
         this.name = name;
         this.beanClass = beanClass;
         this.scope = scope;
         this.autowireCandidate = autowireCandidate;
+        this.lazy = lazy;
         this.declaringInstance = declaringInstance;
         this.factoryMethod = factoryMethod;
+        if (factoryMethod != null) {
+            Order orderAnnotation = factoryMethod.getAnnotation(Order.class);
+            this.primary = factoryMethod.isAnnotationPresent(Primary.class);
+            this.order = orderAnnotation != null ? orderAnnotation.value() : Integer.MAX_VALUE;
+        } else {
+            this.primary = ClassMetadata.of(beanClass).isPrimary();
+            this.order = ClassMetadata.of(beanClass).getOrder();
+        }
     }
 
     /**
@@ -69,7 +91,25 @@ public class BeanDefinition {
      */
     @NotNull
     public static BeanDefinition forClass(@NotNull String name, @NotNull Class<?> beanClass, @NotNull Scope.Scopes scope, boolean autowireCandidate) {
-        return new BeanDefinition(name, beanClass, scope, autowireCandidate);
+        return forClass(name, beanClass, scope, autowireCandidate, false);
+    }
+
+    /**
+     * Creates a new bean definition for a class that may be lazy.
+     * A lazy singleton is neither created nor post-processed before it is first resolved.
+     * Laziness only applies to singletons.
+     *
+     * @param name the name of the bean
+     * @param beanClass the class of the bean
+     * @param scope the scope of the bean
+     * @param autowireCandidate whether the bean is a candidate for autowiring
+     * @param lazy whether the singleton is only created when first resolved
+     * @return the bean definition
+     */
+    @NotNull
+    public static BeanDefinition forClass(@NotNull String name, @NotNull Class<?> beanClass, @NotNull Scope.Scopes scope, boolean autowireCandidate,
+                                          boolean lazy) {
+        return new BeanDefinition(name, beanClass, scope, autowireCandidate, lazy && scope == Scope.Scopes.SINGLETON);
     }
 
     /**
@@ -86,7 +126,28 @@ public class BeanDefinition {
     @NotNull
     public static BeanDefinition forMethod(@NotNull String name, @NotNull Class<?> beanClass, @NotNull Scope.Scopes scope, boolean autowireCandidate,
                                            @NotNull Object declaringInstance, @NotNull Method factoryMethod) {
-        return new BeanDefinition(name, beanClass, scope, autowireCandidate, declaringInstance, factoryMethod);
+        return forMethod(name, beanClass, scope, autowireCandidate, false, declaringInstance, factoryMethod);
+    }
+
+    /**
+     * Creates a new bean definition for a factory method that may be lazy.
+     * The factory method of a lazy singleton is not called before the bean is first resolved.
+     * Laziness only applies to singletons.
+     *
+     * @param name the name of the bean
+     * @param beanClass the class of the bean
+     * @param scope the scope of the bean
+     * @param autowireCandidate whether the bean is a candidate for autowiring
+     * @param lazy whether the singleton is only created when first resolved
+     * @param declaringInstance the instance that declares the factory method
+     * @param factoryMethod the factory method
+     * @return the bean definition
+     */
+    @NotNull
+    public static BeanDefinition forMethod(@NotNull String name, @NotNull Class<?> beanClass, @NotNull Scope.Scopes scope, boolean autowireCandidate,
+                                           boolean lazy, @NotNull Object declaringInstance, @NotNull Method factoryMethod) {
+        return new BeanDefinition(name, beanClass, scope, autowireCandidate, lazy && scope == Scope.Scopes.SINGLETON,
+                declaringInstance, factoryMethod);
     }
 
     /**
@@ -129,6 +190,15 @@ public class BeanDefinition {
         sb.append(", beanClass=").append(beanClass.getName());
         sb.append(", scope='").append(scope).append('\'');
         sb.append(", autowireCandidate=").append(autowireCandidate);
+        if (lazy) {
+            sb.append(", lazy=true");
+        }
+        if (primary) {
+            sb.append(", primary=true");
+        }
+        if (order != Integer.MAX_VALUE) {
+            sb.append(", order=").append(order);
+        }
         
         if (isFactoryMethod()) {
             sb.append(", factoryMethod=").append(factoryMethod.getName());
@@ -0,0 +1,78 @@
+package dev.hogoshi.sico.container;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Generated, reflection-free factory for a component class.
+ * Implementations are written by the {@code sico-codegen} annotation processor into the package of the component,
+ * named after its binary name with {@value #CLASS_NAME_SUFFIX} appended. When a factory is on the class path,
+ * the container and the predefined handlers use it instead of reflecting on the component class.
+ *
+ * @param <T> the component type
+ */
+public interface BeanFactory<T> {
+    String CLASS_NAME_SUFFIX = "$$BeanFactory";
+
+    /**
+     * Gets the parameter types of the constructor the factory calls.
+     *
+     * @return the constructor parameter types; the array must not be modified
+     */
+    @NotNull
+    Class<?>[] getParameterTypes();
+
+    /**
+     * Creates a new instance.
+     *
+     * @param args the resolved constructor arguments, matching {@link #getParameterTypes()}
+     * @return the new instance
+     * @throws Throwable if the constructor throws
+     */
+    @NotNull
+    T newInstance(@NotNull Object[] args) throws Throwable;
+
+    /**
+     * Checks whether the component declares fields annotated with {@link dev.hogoshi.sico.annotation.Autowired}.
+     *
+     * @return true if {@link #autowire(Object, Container)} injects anything
+     */
+    boolean hasAutowiredFields();
+
+    /**
+     * Injects every autowired field that is still null with the component resolved for its type.
+     *
+     * @param instance the instance
+     * @param container the container to resolve dependencies from
+     */
+    void autowire(@NotNull T instance, @NotNull Container container);
+
+    /**
+     * Checks whether the component declares {@link dev.hogoshi.sico.annotation.PostConstruct} methods.
+     *
+     * @return true if {@link #postConstruct(Object)} invokes anything
+     */
+    boolean hasPostConstruct();
+
+    /**
+     * Invokes the post-construct methods of an instance, in declaration order.
+     *
+     * @param instance the instance
+     * @throws Throwable if a method throws
+     */
+    void postConstruct(@NotNull T instance) throws Throwable;
+
+    /**
+     * Checks whether the component declares {@link dev.hogoshi.sico.annotation.PreDestroy} methods.
+     *
+     * @return true if {@link #preDestroy(Object)} invokes anything
+     */
+    boolean hasPreDestroy();
+
+    /**
+     * Invokes the pre-destroy methods of an instance, in declaration order.
+     *
+     * @param instance the instance
+     * @throws Throwable if a method throws
+     */
+    void preDestroy(@NotNull T instance) throws Throwable;
+}
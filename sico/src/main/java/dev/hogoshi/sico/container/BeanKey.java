@@ -0,0 +1,34 @@
+package dev.hogoshi.sico.container;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+/**
+ * Typed handle of a bean in a frozen container, obtained from {@link DefaultContainer#getBeanKey(Class)}
+ * or {@link DefaultContainer#getBeanKey(String, Class)}.
+ * Resolving a key while the freeze it was taken from is still in effect is a bounds-checked read
+ * of the container's singleton array. Otherwise, as well as for prototypes and singletons that have not
+ * been created yet, the key is resolved by its type or name like any other request.
+ *
+ * @param <T> the bean type
+ */
+public final class BeanKey<T> {
+    @NotNull final FrozenRegistry registry;
+    final int id;
+    @Getter @Nullable private final String name;
+    @Getter @NotNull private final Class<T> type;
+
+    BeanKey(@NotNull FrozenRegistry registry, int id, @Nullable String name, @NotNull Class<T> type) {
+        this.registry = registry;
+        this.id = id;
+        this.name = name;
+        this.type = type;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanKey{" + (name != null ? "name='" + name + "', " : "") + "type=" + type.getName() + ", id=" + id + "}";
+    }
+}
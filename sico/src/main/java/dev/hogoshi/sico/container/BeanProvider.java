@@ -0,0 +1,75 @@
+package dev.hogoshi.sico.container;
+
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Provider bound to the resolution of its bean type on its first call.
+ * A singleton is kept in a field; a prototype is created by a factory that calls its constructor
+ * or {@code @Bean} method with arguments from providers bound the same way.
+ * The binding is kept for the lifetime of the provider, so beans registered later for the same type are not seen.
+ *
+ * @param <T> the bean type
+ */
+final class BeanProvider<T> implements Provider<T>, ObjectFactory<T> {
+    @NotNull private final DefaultContainer container;
+    @NotNull private final Class<T> type;
+    @Nullable private volatile T singleton;
+    @Nullable private volatile Supplier<Object> prototype;
+
+    BeanProvider(@NotNull DefaultContainer container, @NotNull Class<T> type) {
+        this.container = container;
+        this.type = type;
+    }
+
+    @Override
+    @NotNull
+    public T get() {
+        T instance = getIfAvailable();
+        if (instance == null) {
+            throw new DefaultContainer.BeanCreationException("No bean of type " + type.getName() + " found");
+        }
+        return instance;
+    }
+
+    @Override
+    @NotNull
+    public T getObject() {
+        return get();
+    }
+
+    /**
+     * Gets an instance of the bean, binding the provider on first use.
+     * A missing bean is looked up again on the next call.
+     *
+     * @return the instance, or null if no bean of the type exists
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    T getIfAvailable() {
+        T instance = singleton;
+        if (instance != null) {
+            return instance;
+        }
+        Supplier<Object> factory = prototype;
+        if (factory != null) {
+            return (T) factory.get();
+        }
+
+        factory = container.bindPrototype(type);
+        if (factory != null) {
+            prototype = factory;
+            return (T) factory.get();
+        }
+        instance = container.resolve(type);
+        singleton = instance;
+        return instance;
+    }
+
+    @Override
+    public String toString() {
+        return "Provider<" + type.getName() + ">";
+    }
+}
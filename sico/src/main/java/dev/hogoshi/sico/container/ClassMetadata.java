@@ -0,0 +1,334 @@
+package dev.hogoshi.sico.container;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import dev.hogoshi.sico.annotation.Autowired;
+import dev.hogoshi.sico.annotation.Bean;
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Configuration;
+import dev.hogoshi.sico.annotation.Lazy;
+import dev.hogoshi.sico.annotation.Order;
+import dev.hogoshi.sico.annotation.PostConstruct;
+import dev.hogoshi.sico.annotation.PreDestroy;
+import dev.hogoshi.sico.annotation.Primary;
+import dev.hogoshi.sico.annotation.Repository;
+import dev.hogoshi.sico.annotation.Scheduled;
+import dev.hogoshi.sico.annotation.Scope;
+import dev.hogoshi.sico.annotation.Service;
+import lombok.Getter;
+
+/**
+ * Annotation metadata of a class, computed once per class and shared by the container and all handlers.
+ * Class-level information (stereotype, scope, name, laziness, primary flag and order) is read eagerly; member information
+ * (injectable fields, lifecycle, scheduled and bean methods) is collected on first access.
+ */
+public final class ClassMetadata {
+    private static final Logger LOGGER = Logger.getLogger(ClassMetadata.class.getName());
+    private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+        @Override
+        protected ClassMetadata computeValue(@NotNull Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    @Getter @NotNull private final Class<?> type;
+    @Getter @NotNull private final Set<Class<? extends Annotation>> annotationTypes;
+    @Getter @Nullable private final Class<? extends Annotation> stereotype;
+    @Getter @NotNull private final Scope.Scopes scope;
+    @Getter @NotNull private final String declaredName;
+    @Getter @NotNull private final String defaultName;
+    @Getter private final boolean lazy;
+    @Getter private final boolean primary;
+    @Getter private final int order;
+
+    @Nullable private volatile Members members;
+    @Nullable private volatile Optional<BeanFactory<Object>> beanFactory;
+
+    private ClassMetadata(@NotNull Class<?> type) {
+        this.type = type;
+
+        Set<Class<? extends Annotation>> annotations = new HashSet<>();
+        for (Annotation annotation : type.getAnnotations()) {
+            annotations.add(annotation.annotationType());
+        }
+        this.annotationTypes = Collections.unmodifiableSet(annotations);
+
+        Class<? extends Annotation> foundStereotype = null;
+        String name = "";
+        Component component = type.getAnnotation(Component.class);
+        Service service = type.getAnnotation(Service.class);
+        Repository repository = type.getAnnotation(Repository.class);
+        Configuration configuration = type.getAnnotation(Configuration.class);
+        if (component != null) {
+            foundStereotype = Component.class;
+            name = component.value();
+        }
+        if (service != null) {
+            foundStereotype = foundStereotype == null ? Service.class : foundStereotype;
+            name = name.isEmpty() ? service.value() : name;
+        }
+        if (repository != null) {
+            foundStereotype = foundStereotype == null ? Repository.class : foundStereotype;
+            name = name.isEmpty() ? repository.value() : name;
+        }
+        if (configuration != null) {
+            foundStereotype = foundStereotype == null ? Configuration.class : foundStereotype;
+            name = name.isEmpty() ? configuration.value() : name;
+        }
+        this.stereotype = foundStereotype;
+        this.declaredName = name;
+
+        Scope scopeAnnotation = type.getAnnotation(Scope.class);
+        this.scope = scopeAnnotation != null ? scopeAnnotation.value() : Scope.Scopes.SINGLETON;
+
+        Lazy lazyAnnotation = type.getAnnotation(Lazy.class);
+        this.lazy = lazyAnnotation != null && lazyAnnotation.value();
+
+        this.primary = type.isAnnotationPresent(Primary.class);
+        Order orderAnnotation = type.getAnnotation(Order.class);
+        this.order = orderAnnotation != null ? orderAnnotation.value() : Integer.MAX_VALUE;
+
+        String simpleName = type.getSimpleName();
+        this.defaultName = simpleName.isEmpty() ? type.getName()
+                : Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+    }
+
+    /**
+     * Gets the metadata of a class.
+     *
+     * @param type the class
+     * @return the cached metadata
+     */
+    @NotNull
+    public static ClassMetadata of(@NotNull Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Checks if the class carries the given annotation.
+     *
+     * @param annotationType the annotation type
+     * @return true if the annotation is present on the class
+     */
+    public boolean isAnnotated(@NotNull Class<? extends Annotation> annotationType) {
+        return annotationTypes.contains(annotationType);
+    }
+
+    /**
+     * Checks if the class carries any of the given annotations.
+     *
+     * @param candidates the annotation types
+     * @return true if at least one of the annotations is present on the class
+     */
+    public boolean isAnnotatedWithAny(@NotNull Collection<Class<? extends Annotation>> candidates) {
+        for (Class<? extends Annotation> candidate : candidates) {
+            if (annotationTypes.contains(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the declared fields annotated with {@link Autowired}.
+     *
+     * @return the injectable fields
+     */
+    @NotNull
+    public List<Field> getAutowiredFields() {
+        return members().autowiredFields;
+    }
+
+    /**
+     * Gets the declared methods annotated with {@link PostConstruct}.
+     *
+     * @return the post-construct methods
+     */
+    @NotNull
+    public List<Method> getPostConstructMethods() {
+        return members().postConstructMethods;
+    }
+
+    /**
+     * Gets the declared methods annotated with {@link PreDestroy}.
+     *
+     * @return the pre-destroy methods
+     */
+    @NotNull
+    public List<Method> getPreDestroyMethods() {
+        return members().preDestroyMethods;
+    }
+
+    /**
+     * Gets the declared methods annotated with {@link Scheduled}.
+     *
+     * @return the scheduled methods
+     */
+    @NotNull
+    public List<Method> getScheduledMethods() {
+        return members().scheduledMethods;
+    }
+
+    /**
+     * Gets the declared methods annotated with {@link Bean}.
+     * A method comes after the methods of the class that return its parameter types,
+     * so creating the beans in this order never needs a bean that is not defined yet.
+     * Otherwise, methods are ordered by name and then by signature, so the order is the same on every run.
+     * The order does not decide which of several beans of one type is resolved; that is the
+     * {@link Primary} bean, not the one with a particular method name.
+     *
+     * @return the bean factory methods
+     */
+    @NotNull
+    public List<Method> getBeanMethods() {
+        return members().beanMethods;
+    }
+
+    /**
+     * Gets the generated {@link BeanFactory} of the class.
+     * The factory is looked up once, in the class loader of the class.
+     *
+     * @return the generated factory, or null if the class was not compiled with the code generator
+     */
+    @Nullable
+    public BeanFactory<Object> getBeanFactory() {
+        Optional<BeanFactory<Object>> result = beanFactory;
+        if (result == null) {
+            result = Optional.ofNullable(loadBeanFactory(type));
+            beanFactory = result;
+        }
+        return result.orElse(null);
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static BeanFactory<Object> loadBeanFactory(@NotNull Class<?> type) {
+        ClassLoader classLoader = type.getClassLoader();
+        if (classLoader == null || type.isInterface() || type.isAnnotation() || type.isArray()) {
+            return null;
+        }
+
+        Class<?> factoryClass;
+        try {
+            factoryClass = Class.forName(type.getName() + BeanFactory.CLASS_NAME_SUFFIX, true, classLoader);
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (LinkageError e) {
+            LOGGER.log(Level.WARNING, "Ignoring unloadable bean factory for " + type.getName(), e);
+            return null;
+        }
+
+        if (!BeanFactory.class.isAssignableFrom(factoryClass)) {
+            LOGGER.warning("Ignoring " + factoryClass.getName() + ", which does not implement " + BeanFactory.class.getName());
+            return null;
+        }
+        try {
+            return (BeanFactory<Object>) factoryClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.log(Level.WARNING, "Ignoring bean factory that cannot be instantiated: " + factoryClass.getName(), e);
+            return null;
+        }
+    }
+
+    @NotNull
+    private Members members() {
+        Members result = members;
+        if (result == null) {
+            result = new Members(type);
+            members = result;
+        }
+        return result;
+    }
+
+    /**
+     * Annotated members of a class, collected with a single walk over its declared fields and methods.
+     */
+    private static final class Members {
+        private final List<Field> autowiredFields;
+        private final List<Method> postConstructMethods;
+        private final List<Method> preDestroyMethods;
+        private final List<Method> scheduledMethods;
+        private final List<Method> beanMethods;
+
+        private Members(@NotNull Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Autowired.class)) {
+                    fields.add(field);
+                }
+            }
+
+            List<Method> postConstruct = new ArrayList<>();
+            List<Method> preDestroy = new ArrayList<>();
+            List<Method> scheduled = new ArrayList<>();
+            List<Method> beans = new ArrayList<>();
+            for (Method method : type.getDeclaredMethods()) {
+                for (Annotation annotation : method.getDeclaredAnnotations()) {
+                    Class<? extends Annotation> annotationType = annotation.annotationType();
+                    if (annotationType == PostConstruct.class) {
+                        postConstruct.add(method);
+                    } else if (annotationType == PreDestroy.class) {
+                        preDestroy.add(method);
+                    } else if (annotationType == Scheduled.class) {
+                        scheduled.add(method);
+                    } else if (annotationType == Bean.class) {
+                        beans.add(method);
+                    }
+                }
+            }
+
+            this.autowiredFields = Collections.unmodifiableList(fields);
+            this.postConstructMethods = Collections.unmodifiableList(postConstruct);
+            this.preDestroyMethods = Collections.unmodifiableList(preDestroy);
+            this.scheduledMethods = Collections.unmodifiableList(scheduled);
+            this.beanMethods = Collections.unmodifiableList(orderByParameters(beans));
+        }
+
+        /**
+         * Orders bean methods after the methods providing their parameters, and otherwise by name.
+         * Reflection returns methods in no particular order, which may even differ between runs.
+         */
+        @NotNull
+        private static List<Method> orderByParameters(@NotNull List<Method> beans) {
+            List<Method> methods = new ArrayList<>(beans);
+            methods.sort(Comparator.comparing(Method::getName).thenComparing(Method::toString));
+
+            List<Method> ordered = new ArrayList<>(methods.size());
+            Set<Method> visited = new HashSet<>();
+            for (Method method : methods) {
+                visit(method, methods, visited, ordered);
+            }
+            return ordered;
+        }
+
+        private static void visit(@NotNull Method method, @NotNull List<Method> methods,
+                                  @NotNull Set<Method> visited, @NotNull List<Method> ordered) {
+            if (!visited.add(method)) {
+                return;
+            }
+            for (Class<?> parameterType : method.getParameterTypes()) {
+                for (Method provider : methods) {
+                    if (provider != method && parameterType.isAssignableFrom(provider.getReturnType())) {
+                        visit(provider, methods, visited, ordered);
+                    }
+                }
+            }
+            ordered.add(method);
+        }
+    }
+}
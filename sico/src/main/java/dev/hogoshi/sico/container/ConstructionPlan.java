@@ -0,0 +1,116 @@
+package dev.hogoshi.sico.container;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Type;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import dev.hogoshi.sico.annotation.Autowired;
+import dev.hogoshi.sico.handler.ComponentRegisterHandler;
+import lombok.Getter;
+
+/**
+ * Immutable, precomputed recipe for creating instances of a component class.
+ * A plan is built once per class and holds the chosen constructor, its compiled {@link InstanceFactory},
+ * the constructor parameter types to resolve and the registration handlers that apply to the class.
+ * Generic parameter types are kept for injection points such as {@link LazyHolder} that depend on their type argument.
+ * Classes with a generated {@link BeanFactory} are created through it, without reflecting on their constructors.
+ */
+@Getter
+final class ConstructionPlan {
+    static final Object[] NO_ARGS = new Object[0];
+
+    @NotNull private final Class<?> beanClass;
+    @Nullable private final Constructor<?> constructor;
+    @NotNull private final Class<?>[] parameterTypes;
+    @NotNull private final Type[] genericParameterTypes;
+    @NotNull private final ComponentRegisterHandler[] registrationHandlers;
+    @NotNull private final InstanceFactory factory;
+
+    private ConstructionPlan(@NotNull Class<?> beanClass, @NotNull Constructor<?> constructor,
+                             @NotNull ComponentRegisterHandler[] registrationHandlers) throws IllegalAccessException {
+        this.beanClass = beanClass;
+        this.constructor = constructor;
+        this.parameterTypes = constructor.getParameterTypes();
+        Type[] genericTypes = constructor.getGenericParameterTypes();
+        this.genericParameterTypes = genericTypes.length == parameterTypes.length ? genericTypes : parameterTypes;
+        this.registrationHandlers = registrationHandlers;
+        this.factory = InstanceFactories.forConstructor(constructor);
+    }
+
+    private ConstructionPlan(@NotNull Class<?> beanClass, @NotNull BeanFactory<Object> beanFactory,
+                             @NotNull ComponentRegisterHandler[] registrationHandlers) {
+        this.beanClass = beanClass;
+        this.constructor = null;
+        this.parameterTypes = beanFactory.getParameterTypes();
+        this.genericParameterTypes = parameterTypes;
+        this.registrationHandlers = registrationHandlers;
+        this.factory = beanFactory::newInstance;
+    }
+
+    /**
+     * Builds a construction plan for a class.
+     * The generated {@link BeanFactory} of the class is preferred over its reflected constructor.
+     *
+     * @param clazz the component class
+     * @param registrationHandlers the registration handlers that apply to the class, in execution order
+     * @return the construction plan
+     * @throws IllegalStateException if the class has no suitable constructor
+     * @throws IllegalAccessException if the constructor is not accessible
+     */
+    @NotNull
+    static ConstructionPlan create(@NotNull Class<?> clazz, @NotNull ComponentRegisterHandler[] registrationHandlers) throws IllegalAccessException {
+        BeanFactory<Object> beanFactory = ClassMetadata.of(clazz).getBeanFactory();
+        if (beanFactory != null) {
+            return new ConstructionPlan(clazz, beanFactory, registrationHandlers);
+        }
+
+        Constructor<?> constructor = findSuitableConstructor(clazz);
+        if (constructor == null) {
+            throw new IllegalStateException("No suitable constructor found for class: " + clazz.getName());
+        }
+
+        return new ConstructionPlan(clazz, constructor, registrationHandlers);
+    }
+
+    /**
+     * Creates a new instance with already resolved constructor arguments.
+     *
+     * @param args the constructor arguments, matching {@link #getParameterTypes()}
+     * @return the new instance
+     * @throws Throwable if the constructor throws
+     */
+    @NotNull
+    Object newInstance(@NotNull Object[] args) throws Throwable {
+        return factory.create(args);
+    }
+
+    /**
+     * Finds a suitable constructor for a class.
+     * A constructor annotated with {@link Autowired} wins, then the no-arg constructor, then the first declared one.
+     *
+     * @param clazz the class
+     * @return the constructor, or null if none is found
+     */
+    @Nullable
+    static Constructor<?> findSuitableConstructor(@NotNull Class<?> clazz) {
+        Constructor<?>[] constructors = clazz.getDeclaredConstructors();
+
+        for (Constructor<?> constructor : constructors) {
+            if (constructor.isAnnotationPresent(Autowired.class)) {
+                return constructor;
+            }
+        }
+
+        try {
+            return clazz.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            if (constructors.length > 0) {
+                return constructors[0];
+            }
+        }
+
+        return null;
+    }
+}
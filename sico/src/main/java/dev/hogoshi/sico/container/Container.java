@@ -1,8 +1,23 @@
 package dev.hogoshi.sico.container;
 
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Configuration;
+import dev.hogoshi.sico.annotation.Repository;
+import dev.hogoshi.sico.annotation.Service;
 
 /**
  * Defines the core functionality of a dependency injection container.
@@ -31,6 +46,87 @@ public interface Container {
      */
     <T> T resolve(@NotNull String name, @NotNull Class<T> clazz);
 
+    /**
+     * Resolves all beans assignable to a type, ordered by their {@link dev.hogoshi.sico.annotation.Order}
+     * and then by registration. Singletons are shared, prototypes are created for every call.
+     * The default implementation returns the bean found by {@link #resolve(Class)}, if any.
+     * 
+     * @param <T> the type of the beans to resolve
+     * @param clazz the class of the beans to resolve
+     * @return the beans, or an empty list if no bean of that type exists
+     * @throws IllegalStateException if the container is closed
+     */
+    @NotNull
+    default <T> List<T> resolveAll(@NotNull Class<T> clazz) {
+        T bean = resolve(clazz);
+        return bean != null ? Collections.singletonList(bean) : Collections.emptyList();
+    }
+
+    /**
+     * Resolves all beans assignable to a type by their names, in the order of {@link #resolveAll(Class)}.
+     * The default implementation does not know the names of beans and is not supported.
+     * 
+     * @param <T> the type of the beans to resolve
+     * @param clazz the class of the beans to resolve
+     * @return the beans by name, or an empty map if no bean of that type exists
+     * @throws IllegalStateException if the container is closed
+     * @throws UnsupportedOperationException if the container cannot resolve beans by name
+     */
+    @NotNull
+    default <T> Map<String, T> resolveAllByName(@NotNull Class<T> clazz) {
+        throw new UnsupportedOperationException("Resolving beans by name is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Gets a future that completes once every component registered so far is initialized.
+     * A {@link dev.hogoshi.sico.annotation.PostConstruct} method returning a {@link CompletableFuture}
+     * lets registration continue while it runs; components depending on such a component are initialized after it.
+     * 
+     * The default implementation returns a completed future, as a container without asynchronous initializers
+     * is ready once registration returns.
+     * 
+     * @return the future, completed exceptionally if an asynchronous initializer failed
+     */
+    @NotNull
+    default CompletableFuture<Void> ready() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Gets the stereotype annotations that mark classes as components.
+     * The default implementation returns the built-in stereotypes.
+     * 
+     * @return the unmodifiable set of component annotations, which reflects later additions if the container supports them
+     */
+    @NotNull
+    default Set<Class<? extends Annotation>> getComponentAnnotations() {
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+                Component.class, Service.class, Repository.class, Configuration.class)));
+    }
+
+    /**
+     * Resolves the value of an injection point: a constructor or factory method parameter, or an autowired field.
+     * An injection point of type {@link LazyHolder} receives a holder that resolves the bean on first use,
+     * a {@code List<T>} receives {@link #resolveAll(Class)} and a {@code Map<String, T>} receives
+     * {@link #resolveAllByName(Class)}; any other injection point receives the bean resolved by its type.
+     * 
+     * @param type the declared type of the injection point
+     * @param genericType the declared generic type of the injection point
+     * @return the value to inject, or null if no component of that type exists
+     * @throws IllegalStateException if the container is closed
+     */
+    @Nullable
+    default Object resolveDependency(@NotNull Class<?> type, @NotNull Type genericType) {
+        if (type == LazyHolder.class) {
+            return new LazyHolder<>(this, InjectionPoints.beanType(genericType));
+        }
+        if (InjectionPoints.isBeanCollection(type, genericType)) {
+            Class<?> elementType = InjectionPoints.elementType(genericType);
+            return type == List.class ? resolveAll(elementType) : resolveAllByName(elementType);
+        }
+        return resolve(type);
+    }
+
     /**
      * Registers a component class with the container.
      * This creates an instance of the class and processes it with the appropriate handlers.
@@ -0,0 +1,212 @@
+package dev.hogoshi.sico.container;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+/**
+ * Tuning options of a {@link DefaultContainer}.
+ * Options are read whenever the container performs the affected operation, so they may be changed
+ * between scans. The defaults match the behavior of a container created without options.
+ */
+@Getter
+public class ContainerOptions {
+    private boolean parallelScan;
+    @Nullable private ForkJoinPool scanPool;
+    private boolean componentIndexEnabled = true;
+    @Nullable private Path scanCacheFile;
+    private boolean parallelStartup;
+    @Nullable private Executor startupExecutor;
+    private boolean parallelInitialization;
+    private int initializationThreads = Runtime.getRuntime().availableProcessors();
+    private int destructionThreads = Runtime.getRuntime().availableProcessors();
+    @Nullable private Duration preDestroyTimeout;
+    @Nullable private Duration shutdownTimeout;
+
+    /**
+     * Creates options with default values.
+     *
+     * @return the default options
+     */
+    @NotNull
+    public static ContainerOptions defaults() {
+        return new ContainerOptions();
+    }
+
+    /**
+     * Sets whether class path scanning runs in parallel.
+     * Directory and archive traversal as well as class file filtering are then split into fork/join tasks,
+     * and all requested packages are scanned concurrently. The results are merged in the sequential order,
+     * so the set and the registration order of components do not depend on this option.
+     *
+     * @param parallelScan true to scan in parallel
+     * @return these options
+     */
+    @NotNull
+    public ContainerOptions setParallelScan(boolean parallelScan) {
+        this.parallelScan = parallelScan;
+        return this;
+    }
+
+    /**
+     * Sets the pool used for parallel scanning.
+     *
+     * @param scanPool the pool, or null to use the common pool
+     * @return these options
+     */
+    @NotNull
+    public ContainerOptions setScanPool(@Nullable ForkJoinPool scanPool) {
+        this.scanPool = scanPool;
+        return this;
+    }
+
+    /**
+     * Sets whether scanning uses the compile-time component index when one is on the class path.
+     * The index lists the classes annotated with a stereotype known to the annotation processor, so it is
+     * not used by a container that has stereotypes {@linkplain DefaultContainer#addComponentAnnotation(Class) added}
+     * at runtime; the class path is then traversed.
+     *
+     * @param componentIndexEnabled true to read directories and archives that have an index from it instead of traversing them
+     * @return these options
+     * @see dev.hogoshi.sico.scanner.ComponentIndex
+     */
+    @NotNull
+    public ContainerOptions setComponentIndexEnabled(boolean componentIndexEnabled) {
+        this.componentIndexEnabled = componentIndexEnabled;
+        return this;
+    }
+
+    /**
+     * Sets the file that caches class path scan results across restarts.
+     * Directories and archives whose fingerprint did not change since the cached scan are not traversed again.
+     * The file is created on the first scan and rewritten whenever a scanned location changed.
+     *
+     * @param scanCacheFile the cache file, or null to disable the cache
+     * @return these options
+     * @see dev.hogoshi.sico.scanner.ScanCache
+     */
+    @NotNull
+    public ContainerOptions setScanCacheFile(@Nullable Path scanCacheFile) {
+        this.scanCacheFile = scanCacheFile;
+        return this;
+    }
+
+    /**
+     * Sets whether scanned components are instantiated and initialized in parallel.
+     * The container first builds the dependency graph of the scanned components from their constructor parameters,
+     * {@code @Autowired} fields and {@code @Bean} method parameters, then creates and post-processes every component
+     * as soon as all of its dependencies are done. Components that depend on each other through fields
+     * are handled together on one thread. The outcome is reported by {@link DefaultContainer#getLastStartupReport()}.
+     *
+     * @param parallelStartup true to start components in parallel
+     * @return these options
+     */
+    @NotNull
+    public ContainerOptions setParallelStartup(boolean parallelStartup) {
+        this.parallelStartup = parallelStartup;
+        return this;
+    }
+
+    /**
+     * Sets the executor used for parallel startup.
+     *
+     * @param startupExecutor the executor, or null to use the common fork/join pool
+     * @return these options
+     */
+    @NotNull
+    public ContainerOptions setStartupExecutor(@Nullable Executor startupExecutor) {
+        this.startupExecutor = startupExecutor;
+        return this;
+    }
+
+    /**
+     * Sets whether registered components are initialized in parallel.
+     * Initialization runs the post-processing handlers of the components, which inject their {@code @Autowired}
+     * fields and call their {@code @PostConstruct} methods. A component is initialized only after all of
+     * its dependencies have been; components that depend on each other through fields are initialized together
+     * on one thread. Custom post-processing handlers must then be thread-safe.
+     * Per-component durations are reported by {@link DefaultContainer#getLastInitializationReport()}.
+     *
+     * @param parallelInitialization true to initialize components in parallel
+     * @return these options
+     */
+    @NotNull
+    public ContainerOptions setParallelInitialization(boolean parallelInitialization) {
+        this.parallelInitialization = parallelInitialization;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads that initialize components in parallel.
+     * The threads are created for every initialization and stopped once it is done.
+     * It also bounds the number of threads starting the {@link dev.hogoshi.sico.scheduler.Lifecycle} beans of a phase.
+     *
+     * @param initializationThreads the number of threads, by default the number of available processors
+     * @return these options
+     * @throws IllegalArgumentException if the number is not positive
+     */
+    @NotNull
+    public ContainerOptions setInitializationThreads(int initializationThreads) {
+        if (initializationThreads < 1) {
+            throw new IllegalArgumentException("Initialization threads must be positive: " + initializationThreads);
+        }
+        this.initializationThreads = initializationThreads;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads that call the {@code @PreDestroy} methods of components when the container closes.
+     * Components are destroyed before the components they depend on, and independent components concurrently.
+     * It also bounds the number of threads stopping the {@link dev.hogoshi.sico.scheduler.Lifecycle} beans of a phase.
+     *
+     * @param destructionThreads the number of threads, by default the number of available processors
+     * @return these options
+     * @throws IllegalArgumentException if the number is not positive
+     */
+    @NotNull
+    public ContainerOptions setDestructionThreads(int destructionThreads) {
+        if (destructionThreads < 1) {
+            throw new IllegalArgumentException("Destruction threads must be positive: " + destructionThreads);
+        }
+        this.destructionThreads = destructionThreads;
+        return this;
+    }
+
+    /**
+     * Sets how long the {@code @PreDestroy} methods of a single component may run when the container closes.
+     * A component exceeding it is interrupted and reported as timed out, and the components it depends on
+     * are destroyed without waiting for it any longer.
+     *
+     * @param preDestroyTimeout the timeout, or null to wait for every component
+     * @return these options
+     * @see DefaultContainer#getLastDestructionReport()
+     */
+    @NotNull
+    public ContainerOptions setPreDestroyTimeout(@Nullable Duration preDestroyTimeout) {
+        this.preDestroyTimeout = preDestroyTimeout;
+        return this;
+    }
+
+    /**
+     * Sets how long stopping the {@link dev.hogoshi.sico.scheduler.Lifecycle} beans and destroying all components
+     * may take when the container stops or closes.
+     * Once the deadline passes, lifecycle beans still stopping are interrupted and later phases are not stopped,
+     * running {@code @PreDestroy} methods are interrupted and reported as timed out,
+     * and components that were not destroyed yet are reported as skipped.
+     *
+     * @param shutdownTimeout the deadline, or null to wait for every component
+     * @return these options
+     * @see DefaultContainer#getLastDestructionReport()
+     */
+    @NotNull
+    public ContainerOptions setShutdownTimeout(@Nullable Duration shutdownTimeout) {
+        this.shutdownTimeout = shutdownTimeout;
+        return this;
+    }
+}
@@ -1,27 +1,54 @@
 package dev.hogoshi.sico.container;
 
-import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.net.URL;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Enumeration;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,6 +64,9 @@ import dev.hogoshi.sico.handler.predefined.ConfigurationHandler;
 import dev.hogoshi.sico.handler.predefined.PostConstructHandler;
 import dev.hogoshi.sico.handler.predefined.PreDestroyHandler;
 import dev.hogoshi.sico.handler.predefined.ScheduledHandler;
+import dev.hogoshi.sico.scanner.ClassPathScanner;
+import dev.hogoshi.sico.scanner.ComponentIndex;
+import dev.hogoshi.sico.scanner.ScanCache;
 import dev.hogoshi.sico.scheduler.Lifecycle;
 import dev.hogoshi.sico.scheduler.SchedulerService;
 import lombok.Getter;
@@ -50,6 +80,8 @@ import org.jetbrains.annotations.Nullable;
  */
 public class DefaultContainer implements Container, Lifecycle {
     private static final Logger LOGGER = Logger.getLogger(DefaultContainer.class.getName());
+    private static final List<Class<? extends Annotation>> BUILT_IN_COMPONENT_ANNOTATIONS = Collections.unmodifiableList(
+            Arrays.asList(Component.class, Service.class, Repository.class, Configuration.class));
     
     @NotNull private final Map<Class<?>, Object> components = new ConcurrentHashMap<>();
     
@@ -59,21 +91,40 @@ public class DefaultContainer implements Container, Lifecycle {
     
     @NotNull private final Map<Class<?>, Set<String>> typeIndex = new ConcurrentHashMap<>();
     
-    @NotNull private final Map<BeanDefinition, Object> prototypeFactories = new ConcurrentHashMap<>();
+    @NotNull private final Map<BeanDefinition, InstanceFactory> methodFactories = new ConcurrentHashMap<>();
+    
+    @NotNull private final Map<Class<?>, ConstructionPlan> constructionPlans = new ConcurrentHashMap<>();
+    
+    @NotNull private final Map<Class<?>, Resolution> resolutions = new ConcurrentHashMap<>();
+    @NotNull private final Map<Class<?>, BeanList> beanLists = new ConcurrentHashMap<>();
+    @NotNull private final AtomicLong registryVersion = new AtomicLong();
+    
+    @NotNull private final Map<String, Long> registrationOrder = new ConcurrentHashMap<>();
+    @NotNull private final AtomicLong registrationSequence = new AtomicLong();
     
     @NotNull private final Set<Class<?>> registeredClasses = Collections.newSetFromMap(new ConcurrentHashMap<>());
-    @NotNull private final Set<Class<?>> processingClasses = Collections.newSetFromMap(new ConcurrentHashMap<>());
-    @NotNull private final List<ComponentRegisterHandler> handlers = new CopyOnWriteArrayList<>();
-    @NotNull private final Set<Class<? extends Annotation>> componentAnnotations = new HashSet<>(Arrays.asList(
-            Component.class, Service.class, Repository.class, Configuration.class
-    ));
+    @NotNull private final Set<String> claimedNames = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    @NotNull private final Map<Object, Creation> creations = new ConcurrentHashMap<>();
+    @NotNull private final Map<Thread, Creation> awaitedCreations = new ConcurrentHashMap<>();
+    @NotNull private final Queue<Class<?>> pendingPostProcessing = new ConcurrentLinkedQueue<>();
+    @NotNull private final HandlerRegistry handlers = new HandlerRegistry();
+    @NotNull private final Map<ClassLoader, ComponentIndex> componentIndexes = new WeakHashMap<>();
+    @NotNull private final Set<Class<? extends Annotation>> componentAnnotations = new CopyOnWriteArraySet<>(BUILT_IN_COMPONENT_ANNOTATIONS);
+    @NotNull private final Set<Class<? extends Annotation>> componentAnnotationsView = Collections.unmodifiableSet(componentAnnotations);
     
+    @Nullable private PostConstructHandler postConstructHandler;
     @Nullable private PreDestroyHandler preDestroyHandler;
     @Nullable private ScheduledHandler scheduledHandler;
     @Nullable private ConfigurationHandler configurationHandler;
     @NotNull @Getter private final SchedulerService schedulerService;
+    @NotNull @Getter private final ContainerOptions options;
+    @Nullable @Getter private volatile StartupReport lastStartupReport;
+    @Nullable @Getter private volatile InitializationReport lastInitializationReport;
+    @Nullable @Getter private volatile DestructionReport lastDestructionReport;
+    @Nullable private volatile FrozenRegistry frozen;
     private volatile boolean closed = false;
     private volatile boolean running = false;
+    @NotNull private final Set<Lifecycle> startedLifecycles = Collections.newSetFromMap(new IdentityHashMap<>());
 
     /**
      * Creates a new DefaultContainer with a new SchedulerService.
@@ -88,16 +139,40 @@ public class DefaultContainer implements Container, Lifecycle {
      * @param schedulerService the scheduler service to use
      */
     public DefaultContainer(@NotNull SchedulerService schedulerService) {
+        this(schedulerService, ContainerOptions.defaults());
+    }
+    
+    /**
+     * Creates a new DefaultContainer with a new SchedulerService and the provided options.
+     *
+     * @param options the container options
+     */
+    public DefaultContainer(@NotNull ContainerOptions options) {
+        this(new SchedulerService(), options);
+    }
+    
+    /**
+     * Creates a new DefaultContainer with the provided SchedulerService and options.
+     *
+     * @param schedulerService the scheduler service to use
+     * @param options the container options
+     */
+    public DefaultContainer(@NotNull SchedulerService schedulerService, @NotNull ContainerOptions options) {
         this.schedulerService = schedulerService;
+        this.options = options;
         handlers.add(new AutowiredHandler(this));
-        handlers.add(new PostConstructHandler(this));
+        handlers.add(postConstructHandler = new PostConstructHandler(this, this::dependencyTypes));
         handlers.add(preDestroyHandler = new PreDestroyHandler(this));
         handlers.add(scheduledHandler = new ScheduledHandler(this, schedulerService));
         handlers.add(configurationHandler = new ConfigurationHandler(this));
     }
 
     /**
-     * Starts the container and its scheduler service.
+     * Starts the container, its scheduler service and the singletons implementing {@link Lifecycle},
+     * in ascending {@linkplain Lifecycle#getPhase() phase} order. Singletons registered by later scans
+     * are started once the scan has initialized them.
+     * 
+     * @throws ContainerException if a singleton fails to start; later phases are then not started
      */
     @Override
     public void start() {
@@ -110,13 +185,26 @@ public class DefaultContainer implements Container, Lifecycle {
         }
         
         running = true;
+        startLifecycleBeans();
     }
 
     /**
-     * Stops the container and its scheduler service.
+     * Stops the container, the singletons it started in descending {@linkplain Lifecycle#getPhase() phase} order,
+     * and its scheduler service. Scheduled tasks are cancelled first, so they never run against stopped singletons.
+     * Stopping the singletons is bound by the {@linkplain ContainerOptions#setShutdownTimeout(java.time.Duration)
+     * shutdown deadline}.
      */
     @Override
     public void stop() {
+        stop(System.nanoTime());
+    }
+    
+    /**
+     * Stops the container as part of a shutdown.
+     * 
+     * @param shutdownStart the {@link System#nanoTime()} at which the shutdown started
+     */
+    private void stop(long shutdownStart) {
         if (!running) {
             return;
         }
@@ -125,12 +213,174 @@ public class DefaultContainer implements Container, Lifecycle {
             scheduledHandler.cancelAllScheduledTasks();
         }
         
+        stopLifecycleBeans(shutdownStart);
+        
         if (schedulerService != null && schedulerService.isRunning()) {
             schedulerService.stop();
         }
         
         running = false;
     }
+    
+    /**
+     * Starts the singletons implementing {@link Lifecycle} that the container has not started yet,
+     * one phase after the other. The singletons of a phase are started concurrently on up to
+     * {@linkplain ContainerOptions#setInitializationThreads(int) initialization threads}, and singletons
+     * that are already running are left alone but stopped with the others.
+     * 
+     * @throws ContainerException if a singleton fails to start
+     */
+    private void startLifecycleBeans() {
+        synchronized (startedLifecycles) {
+            TreeMap<Integer, List<Lifecycle>> phases = new TreeMap<>();
+            for (Lifecycle bean : lifecycleBeans()) {
+                if (!startedLifecycles.contains(bean)) {
+                    phases.computeIfAbsent(bean.getPhase(), phase -> new ArrayList<>()).add(bean);
+                }
+            }
+            
+            for (Map.Entry<Integer, List<Lifecycle>> phase : phases.entrySet()) {
+                Map<Lifecycle, Throwable> failures = runPhase(phase.getValue(), bean -> {
+                    if (!bean.isRunning()) {
+                        bean.start();
+                    }
+                }, options.getInitializationThreads(), Long.MAX_VALUE);
+                for (Lifecycle bean : phase.getValue()) {
+                    if (!failures.containsKey(bean)) {
+                        startedLifecycles.add(bean);
+                    }
+                }
+                if (!failures.isEmpty()) {
+                    throw new ContainerException("Error starting lifecycle beans in phase " + phase.getKey() + ": "
+                            + failures.keySet(), failures.values().iterator().next());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Stops the singletons the container started, one phase after the other in reverse.
+     * The singletons of a phase are stopped concurrently on up to
+     * {@linkplain ContainerOptions#setDestructionThreads(int) destruction threads}; failures are logged and do not keep
+     * the other singletons from stopping. Once the shutdown deadline passes, singletons still stopping are interrupted
+     * and no longer waited for, and later phases are not stopped.
+     * 
+     * @param shutdownStart the {@link System#nanoTime()} at which the shutdown started
+     */
+    private void stopLifecycleBeans(long shutdownStart) {
+        synchronized (startedLifecycles) {
+            TreeMap<Integer, List<Lifecycle>> phases = new TreeMap<>(Comparator.reverseOrder());
+            for (Lifecycle bean : startedLifecycles) {
+                phases.computeIfAbsent(bean.getPhase(), phase -> new ArrayList<>()).add(bean);
+            }
+            startedLifecycles.clear();
+            
+            for (Map.Entry<Integer, List<Lifecycle>> phase : phases.entrySet()) {
+                long timeLeft = shutdownTimeLeft(shutdownStart, System.nanoTime());
+                if (timeLeft == 0) {
+                    LOGGER.warning("Shutdown deadline passed, not stopping lifecycle beans in phase " + phase.getKey()
+                            + ": " + phase.getValue());
+                    continue;
+                }
+                Map<Lifecycle, Throwable> failures = runPhase(phase.getValue(), bean -> {
+                    if (bean.isRunning()) {
+                        bean.stop();
+                    }
+                }, options.getDestructionThreads(), timeLeft);
+                for (Map.Entry<Lifecycle, Throwable> failure : failures.entrySet()) {
+                    LOGGER.log(Level.SEVERE, "Error stopping lifecycle bean: " + failure.getKey(), failure.getValue());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Collects the singletons implementing {@link Lifecycle} in registration order, except for the container's own
+     * scheduler service.
+     */
+    @NotNull
+    private List<Lifecycle> lifecycleBeans() {
+        List<String> names = new ArrayList<>(namedComponents.keySet());
+        names.sort(Comparator.comparingLong(name -> registrationOrder.getOrDefault(name, Long.MAX_VALUE)));
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Lifecycle> beans = new ArrayList<>();
+        for (String name : names) {
+            Object bean = namedComponents.get(name);
+            if (bean instanceof Lifecycle && bean != this && bean != schedulerService && seen.add(bean)) {
+                beans.add((Lifecycle) bean);
+            }
+        }
+        return beans;
+    }
+    
+    /**
+     * Runs an action on every singleton of a phase concurrently, on a pool of at most the given number of threads,
+     * and waits for all of them. Actions still running when the timeout elapses are interrupted and reported
+     * as failed with a {@link TimeoutException}.
+     * 
+     * @param threads the maximum number of threads
+     * @param timeout the nanoseconds to wait for the actions, or {@link Long#MAX_VALUE} to wait for every one
+     * @return the failures by singleton
+     */
+    @NotNull
+    private static Map<Lifecycle, Throwable> runPhase(@NotNull List<Lifecycle> beans, @NotNull Consumer<Lifecycle> action,
+                                                      int threads, long timeout) {
+        Map<Lifecycle, Throwable> failures = new LinkedHashMap<>();
+        if (beans.size() == 1 && timeout == Long.MAX_VALUE) {
+            try {
+                action.accept(beans.get(0));
+            } catch (RuntimeException | Error e) {
+                failures.put(beans.get(0), e);
+            }
+            return failures;
+        }
+        
+        long start = System.nanoTime();
+        ExecutorService executor = newDaemonPool(Math.min(beans.size(), threads), "sico-lifecycle-");
+        try {
+            Map<Lifecycle, Future<?>> futures = new LinkedHashMap<>();
+            for (Lifecycle bean : beans) {
+                futures.put(bean, executor.submit(() -> action.accept(bean)));
+            }
+            for (Map.Entry<Lifecycle, Future<?>> entry : futures.entrySet()) {
+                try {
+                    if (timeout == Long.MAX_VALUE) {
+                        entry.getValue().get();
+                    } else {
+                        entry.getValue().get(Math.max(0, timeout - (System.nanoTime() - start)), TimeUnit.NANOSECONDS);
+                    }
+                } catch (ExecutionException e) {
+                    failures.put(entry.getKey(), e.getCause());
+                } catch (TimeoutException e) {
+                    entry.getValue().cancel(true);
+                    failures.put(entry.getKey(), new TimeoutException("Shutdown deadline passed"));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    entry.getValue().cancel(true);
+                    failures.put(entry.getKey(), e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return failures;
+    }
+    
+    /**
+     * Gets the time left until the {@linkplain ContainerOptions#setShutdownTimeout(java.time.Duration)
+     * shutdown deadline}.
+     * 
+     * @param shutdownStart the {@link System#nanoTime()} at which the shutdown started
+     * @param now the current {@link System#nanoTime()}
+     * @return the nanoseconds left, 0 once the deadline passed, or {@link Long#MAX_VALUE} without a deadline
+     */
+    private long shutdownTimeLeft(long shutdownStart, long now) {
+        Duration shutdownTimeout = options.getShutdownTimeout();
+        if (shutdownTimeout == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, shutdownTimeout.toNanos() - (now - shutdownStart));
+    }
 
     /**
      * Checks if the container is running.
@@ -144,6 +394,11 @@ public class DefaultContainer implements Container, Lifecycle {
 
     /**
      * Resolves a component by type.
+     * Among several beans of the type, a {@link dev.hogoshi.sico.annotation.Primary} bean is preferred,
+     * and otherwise the first one by {@link dev.hogoshi.sico.annotation.Order} and then by registration.
+     * The outcome for a type is cached until the registry changes: a singleton is returned directly,
+     * a prototype is created by its bound constructor or factory method, and a type without a bean is
+     * answered without looking it up again.
      *
      * @param <T> the type of component to resolve
      * @param clazz the class of the component to resolve
@@ -157,37 +412,100 @@ public class DefaultContainer implements Container, Lifecycle {
             throw new IllegalStateException("Container is closed");
         }
         
+        FrozenRegistry registry = frozen;
+        if (registry != null) {
+            Object singleton = registry.singleton(clazz);
+            if (singleton != null) {
+                return clazz.cast(singleton);
+            }
+        }
+        
+        long version = registryVersion.get();
+        Resolution resolution = resolutions.get(clazz);
+        if (resolution != null && resolution.version == version) {
+            return clazz.cast(resolution.get());
+        }
+        
         Scope.Scopes scope = determineComponentScope(clazz);
         if (scope.equals(Scope.Scopes.PROTOTYPE)) {
-            if (isComponent(clazz) && !processingClasses.contains(clazz)) {
-                try {
-                    return clazz.cast(createNewInstance(clazz));
-                } catch (Throwable e) {
-                    throw new RuntimeException("Error creating prototype instance for class: " + clazz.getName(), e);
-                }
+            if (!isComponent(clazz)) {
+                resolutions.put(clazz, new Resolution(version, null, null));
+                return null;
             }
-            return null;
+            if (isCreatedByCurrentThread(clazz)) {
+                return null;
+            }
+            if (!registeredClasses.contains(clazz)) {
+                register(clazz);
+            }
+            long registered = registryVersion.get();
+            Supplier<Object> factory;
+            try {
+                ConstructionPlan plan = getConstructionPlan(clazz);
+                factory = bindInvocation(plan.getFactory(), plan.getParameterTypes(), plan.getGenericParameterTypes(),
+                        "constructor of " + clazz.getName());
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Error creating prototype instance for class: " + clazz.getName(), e);
+            }
+            resolutions.put(clazz, new Resolution(registered, null, factory));
+            return clazz.cast(factory.get());
         }
         
+        Set<String> beanNames = typeIndex.get(clazz);
+        String primaryName = beanNames != null && beanNames.size() > 1 ? primaryBeanName(beanNames) : null;
+        if (primaryName != null) {
+            BeanDefinition definition = beanDefinitions.get(primaryName);
+            if (definition != null && definition.isPrototype()) {
+                Supplier<Object> factory = bindPrototypeDefinition(definition);
+                resolutions.put(clazz, new Resolution(version, null, factory));
+                return clazz.cast(factory.get());
+            }
+            Object primary = namedComponents.get(primaryName);
+            if (primary == null && definition != null && !isCreatedByCurrentThread(primaryName)) {
+                createSingleton(definition);
+                primary = namedComponents.get(primaryName);
+            }
+            if (primary != null) {
+                resolutions.put(clazz, new Resolution(version, primary, null));
+                return clazz.cast(primary);
+            }
+        }
         
         Object component = components.get(clazz);
         if (component != null) {
+            resolutions.put(clazz, new Resolution(version, component, null));
             return clazz.cast(component);
         }
         
-        Set<String> beanNames = typeIndex.get(clazz);
-        if (beanNames != null && !beanNames.isEmpty()) {
-            String firstName = beanNames.iterator().next();
-            return clazz.cast(namedComponents.get(firstName));
+        if (beanNames != null) {
+            Collection<String> candidates = orderedBeanNames(beanNames);
+            for (String beanName : candidates) {
+                Object bean = namedComponents.get(beanName);
+                if (bean != null) {
+                    resolutions.put(clazz, new Resolution(version, bean, null));
+                    return clazz.cast(bean);
+                }
+            }
+            for (String beanName : candidates) {
+                BeanDefinition definition = beanDefinitions.get(beanName);
+                if (definition != null && definition.isPrototype()) {
+                    Supplier<Object> factory = bindPrototypeDefinition(definition);
+                    resolutions.put(clazz, new Resolution(version, null, factory));
+                    return clazz.cast(factory.get());
+                }
+                if (definition != null && definition.isLazy()) {
+                    createSingleton(definition);
+                    return clazz.cast(namedComponents.get(beanName));
+                }
+            }
         }
         
-        for (Map.Entry<Class<?>, Object> entry : components.entrySet()) {
-            if (clazz.isAssignableFrom(entry.getKey())) {
-                return clazz.cast(entry.getValue());
-            }
+        if (!isComponent(clazz)) {
+            resolutions.put(clazz, new Resolution(version, null, null));
+            return null;
         }
         
-        if (isComponent(clazz) && !processingClasses.contains(clazz)) {
+        if (!isCreatedByCurrentThread(clazz)) {
             register(clazz);
             return resolve(clazz);
         }
@@ -226,10 +544,8 @@ public class DefaultContainer implements Container, Lifecycle {
             } else if (definition.isSingleton()) {
                 Object singleton = namedComponents.get(name);
                 if (singleton == null) {
-                    singleton = createBeanFromDefinition(definition);
-                    if (singleton != null) {
-                        registerBean(name, singleton);
-                    }
+                    createSingleton(definition);
+                    singleton = namedComponents.get(name);
                 }
                 
                 if (singleton != null && clazz.isInstance(singleton)) {
@@ -242,369 +558,1308 @@ public class DefaultContainer implements Container, Lifecycle {
     }
 
     /**
-     * Registers a component class with the container.
-     * This creates an instance of the class and processes it with the appropriate handlers.
-     *
-     * @param clazz the class to register
-     * @throws IllegalStateException if the container is closed or if circular dependency is detected
-     * @throws RuntimeException if registration fails
+     * Resolves all beans assignable to a type, ordered by their {@link dev.hogoshi.sico.annotation.Order}
+     * and then by registration. Singletons are shared, prototypes are created for every call.
+     * Only beans registered so far are returned; a parallel startup registers them before the components
+     * that inject them as a {@code List} or {@code Map}.
+     * The beans of a type are collected once per registry change, so repeated calls iterate a cached array.
+     * Collecting them creates the lazy singletons among them.
+     * 
+     * @param <T> the type of the beans to resolve
+     * @param clazz the class of the beans to resolve
+     * @return the unmodifiable list of beans, or an empty list if no bean of that type exists
+     * @throws IllegalStateException if the container is closed
      */
     @Override
-    public void register(@NotNull Class<?> clazz) {
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <T> List<T> resolveAll(@NotNull Class<T> clazz) {
         if (closed) {
             throw new IllegalStateException("Container is closed");
         }
-        
-        if (!isComponent(clazz) || registeredClasses.contains(clazz)) {
-            return;
-        }
-        
-        if (processingClasses.contains(clazz)) {
-            throw new IllegalStateException("Circular dependency detected for class: " + clazz.getName());
-        }
-        
-        processingClasses.add(clazz);
-
-        try {
-            Constructor<?> constructor = findSuitableConstructor(clazz);
-            if (constructor == null) {
-                throw new IllegalStateException("No suitable constructor found for class: " + clazz.getName());
-            }
-            
-            MethodHandle constructorHandle = MethodHandles.lookup().unreflectConstructor(constructor);
-            
-            Object instance;
-            if (constructor.getParameterCount() > 0) {
-                Object[] args = resolveConstructorParameters(constructor);
-                instance = constructorHandle.invokeWithArguments(args);
-            } else {
-                instance = constructorHandle.invoke();
-            }
-            
-            String name = determineComponentName(clazz);
-            
-            Scope.Scopes scope = determineComponentScope(clazz);
-            
-            BeanDefinition definition = BeanDefinition.forClass(name, clazz, scope, true);
-            registerBeanDefinition(definition);
-            
-            registerBean(name, instance);
-            if (scope.equals(Scope.Scopes.SINGLETON)) {
-                components.put(clazz, instance);
-            }
-            registeredClasses.add(clazz);
-            
-            processHandlersForPhase(clazz, Phase.REGISTRATION);
-            
-        } catch (Throwable e) {
-            throw new RuntimeException("Error registering class: " + clazz.getName(), e);
-        } finally {
-            processingClasses.remove(clazz);
-        }
+        return (List<T>) getBeanList(clazz).list();
     }
     
     /**
-     * Registers a bean definition with the container.
+     * Resolves all beans assignable to a type by their names, in the order of {@link #resolveAll(Class)}.
      * 
-     * @param beanDefinition the bean definition to register
+     * @param <T> the type of the beans to resolve
+     * @param clazz the class of the beans to resolve
+     * @return the unmodifiable map of beans by name, or an empty map if no bean of that type exists
      * @throws IllegalStateException if the container is closed
      */
     @Override
-    public void registerBeanDefinition(@NotNull BeanDefinition beanDefinition) {
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> resolveAllByName(@NotNull Class<T> clazz) {
         if (closed) {
             throw new IllegalStateException("Container is closed");
         }
-        
-        String name = beanDefinition.getName();
-        Class<?> type = beanDefinition.getBeanClass();
-        
-        beanDefinitions.put(name, beanDefinition);
-        
-        typeIndex.computeIfAbsent(type, k -> Collections.newSetFromMap(new ConcurrentHashMap<>())).add(name);
-        
-        if (beanDefinition.isFactoryMethod() && beanDefinition.isPrototype()) {
-            prototypeFactories.put(beanDefinition, beanDefinition.getDeclaringInstance());
-        }
-        
-        if (beanDefinition.isSingleton() && beanDefinition.isAutowireCandidate() && 
-            !namedComponents.containsKey(name)) {
-            
-            Object instance = createBeanFromDefinition(beanDefinition);
-            if (instance != null) {
-                registerBean(name, instance);
-            }
-        }
+        return (Map<String, T>) getBeanList(clazz).map();
     }
     
     /**
-     * Registers a bean instance with the container.
+     * Gets a future that completes once the asynchronous {@code @PostConstruct} methods of the components
+     * registered so far, and the initializers waiting for them, have finished.
      * 
-     * @param name the name of the bean
-     * @param instance the bean instance
-     * @throws IllegalStateException if the container is closed
+     * @return the readiness future
      */
     @Override
-    public void registerBean(@NotNull String name, @NotNull Object instance) {
-        if (closed) {
-            throw new IllegalStateException("Container is closed");
-        }
-        
-        namedComponents.put(name, instance);
-        
-        Class<?> type = instance.getClass();
-        typeIndex.computeIfAbsent(type, k -> Collections.newSetFromMap(new ConcurrentHashMap<>())).add(name);
-        
-        if (!components.containsKey(type)) {
-            components.put(type, instance);
-        }
+    @NotNull
+    public CompletableFuture<Void> ready() {
+        return postConstructHandler != null ? postConstructHandler.ready() : CompletableFuture.completedFuture(null);
     }
     
     /**
-     * Creates a bean instance from a bean definition.
+     * Gets the cached beans of a type, collecting them again if the registry has changed since.
      * 
-     * @param definition the bean definition
-     * @return the bean instance, or null if creation fails
-     * @throws BeanCreationException if an error occurs creating the bean
+     * @param type the bean type
+     * @return the beans of the type
      */
-    @Nullable
-    private Object createBeanFromDefinition(@NotNull BeanDefinition definition) {
-        try {
-            if (definition.isFactoryMethod()) {
-                Method factoryMethod = definition.getFactoryMethod();
-                if (factoryMethod == null) {
-                    return null;
-                }
-                Object factoryInstance = definition.getDeclaringInstance();
-                if (factoryInstance == null) {
-                    return null;
+    @NotNull
+    private BeanList getBeanList(@NotNull Class<?> type) {
+        long version = registryVersion.get();
+        BeanList beans = beanLists.get(type);
+        if (beans != null && beans.version == version) {
+            return beans;
+        }
+        
+        List<String> names = new ArrayList<>();
+        List<Object> singletons = new ArrayList<>();
+        List<Supplier<Object>> prototypes = new ArrayList<>();
+        Set<String> beanNames = typeIndex.get(type);
+        if (beanNames != null) {
+            List<String> candidates = new ArrayList<>(beanNames);
+            candidates.sort(beanOrder());
+            for (String name : candidates) {
+                Object bean = namedComponents.get(name);
+                BeanDefinition definition = beanDefinitions.get(name);
+                if (definition != null && !definition.isAutowireCandidate()) {
+                    continue;
                 }
-                
-                MethodHandle methodHandle = MethodHandles.lookup().unreflect(factoryMethod).bindTo(factoryInstance);
-                
-                Parameter[] parameters = factoryMethod.getParameters();
-                Object[] args = new Object[parameters.length];
-                
-                for (int i = 0; i < parameters.length; i++) {
-                    Class<?> paramType = parameters[i].getType();
-                    args[i] = resolve(paramType);
-                    
-                    if (args[i] == null) {
-                        throw new BeanCreationException("Failed to resolve dependency of type " + paramType.getName() + 
-                            " for bean factory method: " + factoryMethod.getName());
+                Supplier<Object> prototype = null;
+                if (bean == null) {
+                    // A singleton created by the current thread is not finished yet and joins the list once stored
+                    if (definition == null || isCreatedByCurrentThread(name) || isCreatedByCurrentThread(definition.getBeanClass())) {
+                        continue;
+                    }
+                    if (definition.isPrototype()) {
+                        prototype = bindPrototypeDefinition(definition);
+                    } else {
+                        createSingleton(definition);
+                        bean = namedComponents.get(name);
+                        if (bean == null) {
+                            continue;
+                        }
                     }
                 }
-                
-                return methodHandle.invokeWithArguments(args);
-            } else {
-                Constructor<?> constructor = findSuitableConstructor(definition.getBeanClass());
-                if (constructor == null) {
-                    return null;
-                }
-                
-                MethodHandle constructorHandle = MethodHandles.lookup().unreflectConstructor(constructor);
-                
-                if (constructor.getParameterCount() > 0) {
-                    Object[] args = resolveConstructorParameters(constructor);
-                    return constructorHandle.invokeWithArguments(args);
-                } else {
-                    return constructorHandle.invoke();
-                }
+                names.add(name);
+                singletons.add(bean);
+                prototypes.add(prototype);
             }
-        } catch (Throwable e) {
-            throw new BeanCreationException("Error creating bean: " + definition.getName(), e);
         }
+        
+        beans = new BeanList(version, names, singletons, prototypes);
+        beanLists.put(type, beans);
+        return beans;
     }
     
     /**
-     * Determines the component name for a class.
+     * Gets the primary bean among the beans of a type.
+     * If several beans are primary, the first one in bean order wins.
      * 
-     * @param clazz the class
-     * @return the component name
+     * @param beanNames the names of the beans of the type
+     * @return the name of the primary bean, or null if none is primary
      */
-    @NotNull
-    private String determineComponentName(@NotNull Class<?> clazz) {
-        if (clazz.isAnnotationPresent(Component.class)) {
-            String name = clazz.getAnnotation(Component.class).value();
-            if (!name.isEmpty()) {
-                return name;
-            }
-        }
-        
-        if (clazz.isAnnotationPresent(Service.class)) {
-            String name = clazz.getAnnotation(Service.class).value();
-            if (!name.isEmpty()) {
-                return name;
-            }
-        }
-        
-        if (clazz.isAnnotationPresent(Repository.class)) {
-            String name = clazz.getAnnotation(Repository.class).value();
-            if (!name.isEmpty()) {
-                return name;
-            }
-        }
-        
-        if (clazz.isAnnotationPresent(Configuration.class)) {
-            String name = clazz.getAnnotation(Configuration.class).value();
-            if (!name.isEmpty()) {
-                return name;
+    @Nullable
+    private String primaryBeanName(@NotNull Collection<String> beanNames) {
+        String primary = null;
+        Comparator<String> order = beanOrder();
+        for (String name : beanNames) {
+            if (isPrimaryBean(name) && (primary == null || order.compare(name, primary) < 0)) {
+                primary = name;
             }
         }
-        
-        String simpleName = clazz.getSimpleName();
-        String baseName = Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
-        
-        if (namedComponents.containsKey(baseName) || beanDefinitions.containsKey(baseName)) {
-            String packageName = clazz.getPackage() != null ? clazz.getPackage().getName() : "";
-            String[] packageParts = packageName.split("\\.");
-            String qualifiedName = packageParts.length > 0 ? 
-                packageParts[packageParts.length - 1] + "." + baseName : baseName;
-            
-            if (namedComponents.containsKey(qualifiedName) || beanDefinitions.containsKey(qualifiedName)) {
-                return clazz.getName().replace(".", "_").replace("$", "_");
-            }
-            return qualifiedName;
+        return primary;
+    }
+    
+    private boolean isPrimaryBean(@NotNull String name) {
+        BeanDefinition definition = beanDefinitions.get(name);
+        if (definition != null) {
+            return definition.isPrimary();
         }
-        
-        return baseName;
+        Object bean = namedComponents.get(name);
+        return bean != null && ClassMetadata.of(bean.getClass()).isPrimary();
     }
     
     /**
-     * Determines the scope for a component class.
+     * Orders the names of the beans of a type by {@link #beanOrder()}, so that picking one of several beans
+     * does not depend on the iteration order of the type index.
      * 
-     * @param clazz the class
-     * @return the scope
+     * @param beanNames the names of the beans of the type
+     * @return the ordered names
      */
     @NotNull
-    private Scope.Scopes determineComponentScope(@NotNull Class<?> clazz) {
-        if (clazz.isAnnotationPresent(Scope.class)) {
-            return clazz.getAnnotation(Scope.class).value();
+    private Collection<String> orderedBeanNames(@NotNull Set<String> beanNames) {
+        if (beanNames.size() < 2) {
+            return beanNames;
         }
-        
-        return Scope.Scopes.SINGLETON;
+        List<String> ordered = new ArrayList<>(beanNames);
+        ordered.sort(beanOrder());
+        return ordered;
     }
     
     /**
-     * Finds a suitable constructor for a class.
+     * Orders bean names by the {@link dev.hogoshi.sico.annotation.Order} of their beans, then by registration.
      * 
-     * @param clazz the class
-     * @return the constructor, or null if none is found
+     * @return the comparator
      */
-    @Nullable
-    private Constructor<?> findSuitableConstructor(@NotNull Class<?> clazz) {
-        Constructor<?>[] constructors = clazz.getDeclaredConstructors();
-        
-        for (Constructor<?> constructor : constructors) {
-            if (constructor.isAnnotationPresent(dev.hogoshi.sico.annotation.Autowired.class)) {
-                return constructor;
+    @NotNull
+    private Comparator<String> beanOrder() {
+        return Comparator.<String>comparingInt(name -> {
+            BeanDefinition definition = beanDefinitions.get(name);
+            if (definition != null) {
+                return definition.getOrder();
             }
-        }
-        
-        try {
-            return clazz.getDeclaredConstructor();
-        } catch (NoSuchMethodException e) {
-            if (constructors.length > 0) {
-                return constructors[0];
+            Object bean = namedComponents.get(name);
+            return bean != null ? ClassMetadata.of(bean.getClass()).getOrder() : Integer.MAX_VALUE;
+        }).thenComparingLong(name -> registrationOrder.getOrDefault(name, Long.MAX_VALUE));
+    }
+    
+    /**
+     * Resolves the value of an injection point.
+     * Besides the holders supported by every container, injection points of type {@link Provider} and
+     * {@link ObjectFactory} receive a provider bound to the bean on its first call.
+     * 
+     * @param type the declared type of the injection point
+     * @param genericType the declared generic type of the injection point
+     * @return the value to inject, or null if no component of that type exists
+     * @throws IllegalStateException if the container is closed
+     */
+    @Override
+    @Nullable
+    public Object resolveDependency(@NotNull Class<?> type, @NotNull Type genericType) {
+        if (type == Provider.class || type == ObjectFactory.class) {
+            return getProvider(InjectionPoints.beanType(genericType));
+        }
+        return Container.super.resolveDependency(type, genericType);
+    }
+    
+    /**
+     * Gets a provider of a bean type for repeated lookups.
+     * On its first call the provider is bound to the bean: afterwards a singleton is returned from a field,
+     * and a prototype is created by a direct call of its constructor or {@code @Bean} method.
+     * 
+     * @param <T> the bean type
+     * @param type the bean type
+     * @return the provider, which also implements {@link ObjectFactory}
+     */
+    @NotNull
+    public <T> Provider<T> getProvider(@NotNull Class<T> type) {
+        return new BeanProvider<>(this, type);
+    }
+
+    /**
+     * Freezes the registry once startup is done.
+     * All bean names are compacted into dense integer ids, singletons are copied into an array indexed by id,
+     * and every type that resolves to a singleton is mapped to its id in an immutable index.
+     * Afterwards {@link #resolve(Class)} is served from the array, and {@link BeanKey}s from
+     * {@link #getBeanKey(Class)} resolve with a single array read.
+     * Registering components, beans or bean definitions or scanning fails until {@link #unfreeze()} is called;
+     * lazy singletons can still be created and take their reserved slot.
+     * 
+     * @throws IllegalStateException if the container is closed
+     */
+    public synchronized void freeze() {
+        if (closed) {
+            throw new IllegalStateException("Container is closed");
+        }
+        if (frozen != null) {
+            return;
+        }
+        
+        Set<String> names = new TreeSet<>(beanDefinitions.keySet());
+        names.addAll(namedComponents.keySet());
+        
+        Map<String, Integer> nameIds = new HashMap<>();
+        Map<Object, Integer> instanceIds = new IdentityHashMap<>();
+        Object[] singletons = new Object[names.size()];
+        int id = 0;
+        for (String name : names) {
+            Object instance = namedComponents.get(name);
+            if (instance != null) {
+                singletons[id] = instance;
+                instanceIds.putIfAbsent(instance, id);
+            }
+            nameIds.put(name, id++);
+        }
+        
+        Map<Class<?>, Integer> typeIds = new HashMap<>();
+        for (Map.Entry<Class<?>, Set<String>> entry : typeIndex.entrySet()) {
+            Integer typeId = singletonId(entry.getKey(), entry.getValue(), nameIds, instanceIds);
+            if (typeId != null) {
+                typeIds.put(entry.getKey(), typeId);
             }
         }
         
+        frozen = new FrozenRegistry(nameIds, typeIds, singletons);
+    }
+    
+    /**
+     * Unfreezes the registry so that beans can be registered again.
+     * Bean keys taken before are still valid, but are resolved without their id until the next freeze.
+     */
+    public synchronized void unfreeze() {
+        frozen = null;
+    }
+    
+    /**
+     * Checks if the registry is frozen.
+     * 
+     * @return true if {@link #freeze()} has been called and not been undone
+     */
+    public boolean isFrozen() {
+        return frozen != null;
+    }
+    
+    /**
+     * Gets a key of the bean a type resolves to in the frozen registry.
+     * 
+     * @param <T> the bean type
+     * @param type the bean type
+     * @return the key
+     * @throws IllegalStateException if the container is not frozen
+     */
+    @NotNull
+    public <T> BeanKey<T> getBeanKey(@NotNull Class<T> type) {
+        FrozenRegistry registry = requireFrozen();
+        return new BeanKey<>(registry, registry.idOf(type), null, type);
+    }
+    
+    /**
+     * Gets a key of a named bean in the frozen registry.
+     * 
+     * @param <T> the bean type
+     * @param name the bean name
+     * @param type the bean type
+     * @return the key
+     * @throws IllegalStateException if the container is not frozen
+     */
+    @NotNull
+    public <T> BeanKey<T> getBeanKey(@NotNull String name, @NotNull Class<T> type) {
+        FrozenRegistry registry = requireFrozen();
+        Object bean = namedComponents.get(name);
+        BeanDefinition definition = beanDefinitions.get(name);
+        boolean matches = bean != null ? type.isInstance(bean)
+                : definition != null && definition.isSingleton() && type.isAssignableFrom(definition.getBeanClass());
+        return new BeanKey<>(registry, matches ? registry.idOf(name) : -1, name, type);
+    }
+    
+    /**
+     * Resolves a bean by its key.
+     * While the freeze the key was taken from is in effect, a created singleton is read from the array by its id.
+     * Otherwise the key is resolved like {@link #resolve(String, Class)} for a named key
+     * or {@link #resolve(Class)} for a typed one.
+     * 
+     * @param <T> the bean type
+     * @param key the bean key
+     * @return the bean, or null if it does not exist
+     * @throws IllegalStateException if the container is closed
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T resolve(@NotNull BeanKey<T> key) {
+        if (key.registry == frozen) {
+            Object singleton = key.registry.singleton(key.id);
+            if (singleton != null) {
+                return (T) singleton;
+            }
+        }
+        String name = key.getName();
+        return name != null ? resolve(name, key.getType()) : resolve(key.getType());
+    }
+    
+    /**
+     * Gets the id of the singleton that {@link #resolve(Class)} returns for a type, for freezing the registry.
+     * 
+     * @param type the requested type
+     * @param beanNames the names of the beans indexed under the type
+     * @param nameIds the ids of the bean names
+     * @param instanceIds the ids of the created singletons
+     * @return the id, or null if the type resolves to a prototype or nothing
+     */
+    @Nullable
+    private Integer singletonId(@NotNull Class<?> type, @NotNull Set<String> beanNames,
+                                @NotNull Map<String, Integer> nameIds, @NotNull Map<Object, Integer> instanceIds) {
+        if (determineComponentScope(type).equals(Scope.Scopes.PROTOTYPE)) {
+            return null;
+        }
+        
+        String primaryName = beanNames.size() > 1 ? primaryBeanName(beanNames) : null;
+        if (primaryName != null) {
+            BeanDefinition definition = beanDefinitions.get(primaryName);
+            return definition != null && definition.isPrototype() ? null : nameIds.get(primaryName);
+        }
+        
+        Object component = components.get(type);
+        if (component != null) {
+            return instanceIds.get(component);
+        }
+        
+        Collection<String> candidates = orderedBeanNames(beanNames);
+        for (String beanName : candidates) {
+            if (namedComponents.containsKey(beanName)) {
+                return nameIds.get(beanName);
+            }
+        }
+        for (String beanName : candidates) {
+            BeanDefinition definition = beanDefinitions.get(beanName);
+            if (definition != null && definition.isPrototype()) {
+                return null;
+            }
+            if (definition != null && definition.isLazy()) {
+                return nameIds.get(beanName);
+            }
+        }
         return null;
     }
     
+    @NotNull
+    private FrozenRegistry requireFrozen() {
+        FrozenRegistry registry = frozen;
+        if (registry == null) {
+            throw new IllegalStateException("Container is not frozen");
+        }
+        return registry;
+    }
+    
+    private void checkNotFrozen() {
+        if (frozen != null) {
+            throw new IllegalStateException("Container is frozen; call unfreeze() before registering beans");
+        }
+    }
+
+    /**
+     * Registers a component class with the container.
+     * This creates an instance of the class and processes it with the appropriate handlers.
+     * Threads that register the same class concurrently wait for a single registration.
+     * A {@link dev.hogoshi.sico.annotation.Lazy} singleton only gets its bean definition registered;
+     * it is created and processed when it is first resolved.
+     *
+     * @param clazz the class to register
+     * @throws IllegalStateException if the container is closed or frozen, or if circular dependency is detected
+     * @throws RuntimeException if registration fails
+     */
+    @Override
+    public void register(@NotNull Class<?> clazz) {
+        if (closed) {
+            throw new IllegalStateException("Container is closed");
+        }
+        
+        if (!isComponent(clazz)) {
+            return;
+        }
+        
+        // A class is marked as registered before its registration handlers ran; other threads wait for them
+        Creation creation = creations.get(clazz);
+        if (registeredClasses.contains(clazz) && (creation == null || creation.owner == Thread.currentThread())) {
+            return;
+        }
+        checkNotFrozen();
+        
+        createExclusively(clazz, () -> {
+            if (!registeredClasses.contains(clazz)) {
+                registerComponent(clazz);
+            }
+        });
+    }
+    
     /**
-     * Resolves the parameters for a constructor.
+     * Creates and registers a component class that is not registered yet.
+     * Must only be called by the thread that owns the creation of the class.
      * 
-     * @param constructor the constructor
+     * @param clazz the class to register
+     * @throws RuntimeException if registration fails
+     */
+    private void registerComponent(@NotNull Class<?> clazz) {
+        String name = null;
+        try {
+            ConstructionPlan plan = getConstructionPlan(clazz);
+            
+            name = determineComponentName(clazz);
+            
+            Scope.Scopes scope = determineComponentScope(clazz);
+            
+            BeanDefinition definition = BeanDefinition.forClass(name, clazz, scope, true, ClassMetadata.of(clazz).isLazy());
+            if (definition.isLazy()) {
+                registerBeanDefinition(definition);
+                registeredClasses.add(clazz);
+                return;
+            }
+            
+            if (scope.equals(Scope.Scopes.SINGLETON)) {
+                Object instance = plan.newInstance(resolveConstructorParameters(plan));
+                components.put(clazz, instance);
+                storeBean(name, instance);
+            }
+            
+            registerBeanDefinition(definition);
+            
+            registeredClasses.add(clazz);
+            pendingPostProcessing.add(clazz);
+            
+            ClassMetadata metadata = ClassMetadata.of(clazz);
+            for (ComponentRegisterHandler handler : plan.getRegistrationHandlers()) {
+                handler.handle(clazz, metadata);
+            }
+            
+        } catch (Throwable e) {
+            if (name != null && !registeredClasses.contains(clazz)) {
+                claimedNames.remove(name);
+            }
+            throw new RuntimeException("Error registering class: " + clazz.getName(), e);
+        }
+    }
+    
+    /**
+     * Runs a creation unless another thread is already running the creation for the same key,
+     * in which case the current thread waits for that creation to finish instead.
+     * Every class and bean name has its own creation, so unrelated beans never wait for each other.
+     * A thread that would wait for itself, directly or through other waiting threads, has hit a circular dependency.
+     * 
+     * @param key the class or bean name to create
+     * @param creation the creation, which has to check on its own whether it is still needed
+     * @throws IllegalStateException if a circular dependency is detected
+     * @throws BeanCreationException if the creation failed in another thread
+     */
+    private void createExclusively(@NotNull Object key, @NotNull Runnable creation) {
+        Thread current = Thread.currentThread();
+        Creation own = new Creation(current);
+        Creation running = creations.putIfAbsent(key, own);
+        if (running == null) {
+            try {
+                creation.run();
+                own.done.complete(null);
+            } catch (RuntimeException | Error e) {
+                own.done.completeExceptionally(e);
+                throw e;
+            } finally {
+                creations.remove(key, own);
+            }
+            return;
+        }
+        
+        awaitedCreations.put(current, running);
+        try {
+            // Entries of threads that are about to wake up point to finished creations and end the chain
+            Creation next = running;
+            for (int i = 0; next != null && !next.done.isDone() && i <= awaitedCreations.size(); i++) {
+                if (next.owner == current) {
+                    throw new IllegalStateException("Circular dependency detected for " + describeCreation(key));
+                }
+                next = awaitedCreations.get(next.owner);
+            }
+            running.done.join();
+        } catch (CompletionException e) {
+            throw new BeanCreationException("Error creating " + describeCreation(key) + " in another thread", e.getCause());
+        } finally {
+            awaitedCreations.remove(current);
+        }
+    }
+    
+    /**
+     * Checks whether the current thread is creating a class or bean, which is then part of a circular dependency
+     * if it is required again.
+     * 
+     * @param key the class or bean name
+     * @return true if the current thread owns the creation of the class or bean
+     */
+    private boolean isCreatedByCurrentThread(@NotNull Object key) {
+        Creation creation = creations.get(key);
+        return creation != null && creation.owner == Thread.currentThread();
+    }
+    
+    @NotNull
+    private static String describeCreation(@NotNull Object key) {
+        return key instanceof Class ? "class: " + ((Class<?>) key).getName() : "bean: " + key;
+    }
+    
+    /**
+     * Creates and registers the singleton of a bean definition unless it already exists.
+     * 
+     * @param definition the singleton bean definition
+     */
+    private void createSingleton(@NotNull BeanDefinition definition) {
+        String name = definition.getName();
+        if (definition.isLazy() && !definition.isFactoryMethod()) {
+            Class<?> clazz = definition.getBeanClass();
+            createExclusively(clazz, () -> {
+                if (!namedComponents.containsKey(name)) {
+                    initializeLazyComponent(clazz, name);
+                }
+            });
+            return;
+        }
+        createExclusively(name, () -> {
+            if (!namedComponents.containsKey(name)) {
+                Object instance = createBeanFromDefinition(definition);
+                if (instance != null) {
+                    storeBean(name, instance);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Creates a lazy component on first use and runs the handlers its registration deferred,
+     * the registration handlers as well as the post-processing handlers.
+     * Must only be called by the thread that owns the creation of the class.
+     * 
+     * @param clazz the component class
+     * @param name the bean name
+     * @throws BeanCreationException if the component cannot be created
+     */
+    private void initializeLazyComponent(@NotNull Class<?> clazz, @NotNull String name) {
+        try {
+            ConstructionPlan plan = getConstructionPlan(clazz);
+            Object instance = plan.newInstance(resolveConstructorParameters(plan));
+            components.put(clazz, instance);
+            storeBean(name, instance);
+            
+            ClassMetadata metadata = ClassMetadata.of(clazz);
+            for (ComponentRegisterHandler handler : plan.getRegistrationHandlers()) {
+                handler.handle(clazz, metadata);
+            }
+            processHandlersForPhase(clazz, Phase.POST_PROCESSING);
+        } catch (Throwable e) {
+            throw new BeanCreationException("Error creating lazy bean: " + name, e);
+        }
+    }
+    
+    /**
+     * Registers a bean definition with the container.
+     * 
+     * @param beanDefinition the bean definition to register
+     * @throws IllegalStateException if the container is closed or frozen
+     */
+    @Override
+    public void registerBeanDefinition(@NotNull BeanDefinition beanDefinition) {
+        if (closed) {
+            throw new IllegalStateException("Container is closed");
+        }
+        checkNotFrozen();
+        
+        String name = beanDefinition.getName();
+        Class<?> type = beanDefinition.getBeanClass();
+        
+        beanDefinitions.put(name, beanDefinition);
+        
+        indexType(type, name);
+        registryVersion.incrementAndGet();
+        
+        if (beanDefinition.isSingleton() && beanDefinition.isAutowireCandidate() && !beanDefinition.isLazy() &&
+            !namedComponents.containsKey(name)) {
+            createSingleton(beanDefinition);
+        }
+    }
+    
+    /**
+     * Registers a bean instance with the container.
+     * 
+     * @param name the name of the bean
+     * @param instance the bean instance
+     * @throws IllegalStateException if the container is closed or frozen
+     */
+    @Override
+    public void registerBean(@NotNull String name, @NotNull Object instance) {
+        if (closed) {
+            throw new IllegalStateException("Container is closed");
+        }
+        checkNotFrozen();
+        
+        storeBean(name, instance);
+    }
+    
+    /**
+     * Stores a bean instance that the container created itself.
+     * Singletons of a frozen container that are created on first use, such as lazy singletons,
+     * also fill in their slot of the frozen registry.
+     * 
+     * @param name the name of the bean
+     * @param instance the bean instance
+     */
+    private void storeBean(@NotNull String name, @NotNull Object instance) {
+        namedComponents.put(name, instance);
+        
+        Class<?> type = instance.getClass();
+        indexType(type, name);
+        
+        components.putIfAbsent(type, instance);
+        registryVersion.incrementAndGet();
+        
+        FrozenRegistry registry = frozen;
+        if (registry != null) {
+            registry.store(name, instance);
+        }
+    }
+    
+    /**
+     * Indexes a bean name under its type and every supertype and interface of that type,
+     * so that resolving by any assignable type is a single map lookup.
+     * The first time a name is indexed also fixes its registration order.
+     * 
+     * @param type the bean type
+     * @param name the bean name
+     */
+    private void indexType(@NotNull Class<?> type, @NotNull String name) {
+        registrationOrder.computeIfAbsent(name, k -> registrationSequence.incrementAndGet());
+        for (Class<?> assignableType : collectAssignableTypes(type)) {
+            typeIndex.computeIfAbsent(assignableType, k -> Collections.newSetFromMap(new ConcurrentHashMap<>())).add(name);
+        }
+    }
+    
+    /**
+     * Collects a type together with all of its superclasses and all directly or indirectly implemented interfaces.
+     * {@code Object} is only collected when it is the type itself, since every bean would otherwise share it.
+     * 
+     * @param type the type
+     * @return the assignable types, starting with the type itself
+     */
+    @NotNull
+    static Set<Class<?>> collectAssignableTypes(@NotNull Class<?> type) {
+        Set<Class<?>> result = new LinkedHashSet<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        queue.add(type);
+        
+        while (!queue.isEmpty()) {
+            Class<?> current = queue.poll();
+            if (!result.add(current)) {
+                continue;
+            }
+            
+            Class<?> superclass = current.getSuperclass();
+            if (superclass != null && superclass != Object.class) {
+                queue.add(superclass);
+            }
+            queue.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Creates a bean instance from a bean definition.
+     * 
+     * @param definition the bean definition
+     * @return the bean instance, or null if creation fails
+     * @throws BeanCreationException if an error occurs creating the bean
+     */
+    @Nullable
+    private Object createBeanFromDefinition(@NotNull BeanDefinition definition) {
+        try {
+            if (definition.isFactoryMethod()) {
+                Method factoryMethod = definition.getFactoryMethod();
+                if (factoryMethod == null) {
+                    return null;
+                }
+                Object factoryInstance = definition.getDeclaringInstance();
+                if (factoryInstance == null) {
+                    return null;
+                }
+                
+                InstanceFactory factory = methodFactories.get(definition);
+                if (factory == null) {
+                    factory = InstanceFactories.forMethod(factoryMethod, factoryInstance);
+                    methodFactories.put(definition, factory);
+                }
+                
+                Class<?>[] parameterTypes = factoryMethod.getParameterTypes();
+                Type[] genericParameterTypes = factoryMethod.getGenericParameterTypes();
+                Object[] args = parameterTypes.length == 0 ? ConstructionPlan.NO_ARGS : new Object[parameterTypes.length];
+                
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    Class<?> paramType = parameterTypes[i];
+                    args[i] = resolveDependency(paramType, genericParameterTypes[i]);
+                    
+                    if (args[i] == null) {
+                        throw new BeanCreationException("Failed to resolve dependency of type " + paramType.getName() + 
+                            " for bean factory method: " + factoryMethod.getName());
+                    }
+                }
+                
+                return factory.create(args);
+            } else {
+                ConstructionPlan plan = getConstructionPlan(definition.getBeanClass());
+                return plan.newInstance(resolveConstructorParameters(plan));
+            }
+        } catch (Throwable e) {
+            throw new BeanCreationException("Error creating bean: " + definition.getName(), e);
+        }
+    }
+    
+    /**
+     * Determines the component name for a class.
+     * 
+     * @param clazz the class
+     * @return the component name
+     */
+    @NotNull
+    private String determineComponentName(@NotNull Class<?> clazz) {
+        ClassMetadata metadata = ClassMetadata.of(clazz);
+        if (!metadata.getDeclaredName().isEmpty()) {
+            return metadata.getDeclaredName();
+        }
+        
+        String baseName = metadata.getDefaultName();
+        
+        if (!claimName(baseName)) {
+            String packageName = clazz.getPackage() != null ? clazz.getPackage().getName() : "";
+            String[] packageParts = packageName.split("\\.");
+            String qualifiedName = packageParts.length > 0 ? 
+                packageParts[packageParts.length - 1] + "." + baseName : baseName;
+            
+            if (!claimName(qualifiedName)) {
+                return clazz.getName().replace(".", "_").replace("$", "_");
+            }
+            return qualifiedName;
+        }
+        
+        return baseName;
+    }
+    
+    /**
+     * Claims a generated component name if no bean uses it yet.
+     * Claims keep two classes that are registered concurrently from picking the same name.
+     * 
+     * @param name the name
+     * @return true if the name was free and is now claimed
+     */
+    private boolean claimName(@NotNull String name) {
+        return !namedComponents.containsKey(name) && !beanDefinitions.containsKey(name) && claimedNames.add(name);
+    }
+    
+    /**
+     * Determines the scope for a component class.
+     * 
+     * @param clazz the class
+     * @return the scope
+     */
+    @NotNull
+    private Scope.Scopes determineComponentScope(@NotNull Class<?> clazz) {
+        return ClassMetadata.of(clazz).getScope();
+    }
+    
+    /**
+     * Gets the cached construction plan for a class, building it on first use.
+     * 
+     * @param clazz the class
+     * @return the construction plan
+     * @throws IllegalStateException if the class has no suitable constructor
+     * @throws IllegalAccessException if the constructor is not accessible
+     */
+    @NotNull
+    private ConstructionPlan getConstructionPlan(@NotNull Class<?> clazz) throws IllegalAccessException {
+        ConstructionPlan plan = constructionPlans.get(clazz);
+        if (plan == null) {
+            plan = ConstructionPlan.create(clazz, handlers.chain(clazz, Phase.REGISTRATION));
+            ConstructionPlan existing = constructionPlans.putIfAbsent(clazz, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+    
+    /**
+     * Resolves the constructor parameters of a construction plan.
+     * 
+     * @param plan the construction plan
      * @return the resolved parameters
      * @throws IllegalStateException if a dependency cannot be resolved
      */
     @NotNull
-    private Object[] resolveConstructorParameters(@NotNull Constructor<?> constructor) {
-        Parameter[] parameters = constructor.getParameters();
-        Object[] args = new Object[parameters.length];
+    private Object[] resolveConstructorParameters(@NotNull ConstructionPlan plan) {
+        Class<?>[] parameterTypes = plan.getParameterTypes();
+        if (parameterTypes.length == 0) {
+            return ConstructionPlan.NO_ARGS;
+        }
         
-        for (int i = 0; i < parameters.length; i++) {
-            Class<?> paramType = parameters[i].getType();
-            args[i] = resolve(paramType);
+        Type[] genericParameterTypes = plan.getGenericParameterTypes();
+        Object[] args = new Object[parameterTypes.length];
+        
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> paramType = parameterTypes[i];
+            args[i] = resolveDependency(paramType, genericParameterTypes[i]);
             
             if (args[i] == null) {
                 throw new IllegalStateException("Failed to resolve dependency of type " + paramType.getName() + 
-                    " for constructor of " + constructor.getDeclaringClass().getName());
+                    " for constructor of " + plan.getBeanClass().getName());
+            }
+        }
+        
+        return args;
+    }
+    
+    /**
+     * Checks if a class is a component.
+     * 
+     * @param clazz the class
+     * @return true if the class is a component
+     */
+    private boolean isComponent(@NotNull Class<?> clazz) {
+        return ClassMetadata.of(clazz).isAnnotatedWithAny(componentAnnotations);
+    }
+    
+    /**
+     * Processes handlers for a phase for a component class.
+     * Only the precompiled chain of handlers that support the class is iterated.
+     * 
+     * @param clazz the class
+     * @param phase the phase
+     */
+    private void processHandlersForPhase(@NotNull Class<?> clazz, @NotNull Phase phase) {
+        ClassMetadata metadata = ClassMetadata.of(clazz);
+        for (ComponentRegisterHandler handler : handlers.chain(clazz, phase)) {
+            handler.handle(clazz, metadata);
+        }
+    }
+
+    /**
+     * Scans the specified packages for components and registers them in the container.
+     * 
+     * @param filter a predicate to filter class names during scanning
+     * @param packageNames the package names to scan
+     */
+    @Override
+    public void scan(@NotNull Predicate<String> filter, String... packageNames) {
+        scan(filter, Thread.currentThread().getContextClassLoader(), packageNames);
+    }
+
+    /**
+     * Scans the specified packages using a custom class loader and registers the found components in the container.
+     * Directories and archives with a compile-time {@link ComponentIndex} are read from the index instead of
+     * being traversed, unless disabled by {@link ContainerOptions#setComponentIndexEnabled(boolean)}.
+     * The rest of the class path is still traversed. Once a stereotype was added with
+     * {@link #addComponentAnnotation(Class)}, the index is not used, since it only lists the classes carrying
+     * the built-in stereotypes and those known to the annotation processor.
+     * With {@link ContainerOptions#setParallelStartup(boolean)}, the found components are started in parallel
+     * after all packages have been scanned.
+     * 
+     * @param filter a predicate to filter class names during scanning
+     * @param classLoader the class loader to use for scanning
+     * @param packageNames the package names to scan
+     * @throws IllegalStateException if the container is closed or frozen
+     */
+    @Override
+    public void scan(@NotNull Predicate<String> filter, @NotNull ClassLoader classLoader, String... packageNames) {
+        if (closed) {
+            throw new IllegalStateException("Container is closed");
+        }
+        checkNotFrozen();
+        
+        List<Class<?>> deferred = options.isParallelStartup() ? new ArrayList<>() : null;
+        ComponentIndex index = options.isComponentIndexEnabled() && BUILT_IN_COMPONENT_ANNOTATIONS.containsAll(componentAnnotations)
+                ? getComponentIndex(classLoader) : null;
+        
+        ForkJoinPool pool = null;
+        if (options.isParallelScan()) {
+            pool = options.getScanPool() != null ? options.getScanPool() : ForkJoinPool.commonPool();
+        }
+        
+        ScanCache scanCache = options.getScanCacheFile() != null ? openScanCache(options.getScanCacheFile()) : null;
+        try (ClassPathScanner scanner = new ClassPathScanner(classLoader, filter, componentAnnotations, pool, scanCache)) {
+            List<ForkJoinTask<List<String>>> scans = new ArrayList<>();
+            if (pool != null) {
+                for (String packageName : packageNames) {
+                    scans.add(pool.submit(() -> scanUnindexed(scanner, index, packageName)));
+                }
+            }
+            
+            for (int i = 0; i < packageNames.length; i++) {
+                try {
+                    Set<String> classNames = new LinkedHashSet<>();
+                    if (index != null) {
+                        classNames.addAll(index.getClassNames(packageNames[i], filter));
+                    }
+                    classNames.addAll(pool != null ? scans.get(i).get() : scanUnindexed(scanner, index, packageNames[i]));
+                    registerCandidates(classNames, classLoader, deferred);
+                } catch (ExecutionException e) {
+                    LOGGER.log(Level.SEVERE, "Error scanning package: " + packageNames[i], e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ComponentScanException("Interrupted while scanning package: " + packageNames[i], e);
+                } catch (Exception e) {
+                    LOGGER.log(Level.SEVERE, "Error scanning package: " + packageNames[i], e);
+                }
+            }
+        }
+        
+        if (scanCache != null) {
+            try {
+                scanCache.save();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error writing scan cache: " + scanCache.getFile(), e);
+            }
+        }
+        
+        if (deferred != null) {
+            startInParallel(deferred);
+        }
+        
+        processPendingClasses();
+        
+        if (running) {
+            startLifecycleBeans();
+        }
+    }
+    
+    /**
+     * Traverses the directories and archives of a package that have no compile-time component index.
+     * 
+     * @param scanner the scanner
+     * @param index the component index, or null to traverse every directory and archive
+     * @param packageName the package name
+     * @return the names of the found classes
+     * @throws IOException if a directory or archive cannot be read
+     */
+    @NotNull
+    private static List<String> scanUnindexed(@NotNull ClassPathScanner scanner, @Nullable ComponentIndex index,
+                                              @NotNull String packageName) throws IOException {
+        if (index == null) {
+            return scanner.scan(packageName);
+        }
+        return scanner.scan(packageName, resource -> !index.isIndexed(resource, packageName));
+    }
+    
+    /**
+     * Gets the compile-time component index visible to a class loader, loading it on first use.
+     * A missing or unreadable index makes the scan fall back to class path traversal.
+     * 
+     * @param classLoader the class loader
+     * @return the index, or null if there is none
+     */
+    @Nullable
+    private ComponentIndex getComponentIndex(@NotNull ClassLoader classLoader) {
+        synchronized (componentIndexes) {
+            if (componentIndexes.containsKey(classLoader)) {
+                return componentIndexes.get(classLoader);
             }
+            ComponentIndex index;
+            try {
+                index = ComponentIndex.load(classLoader);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Ignoring unreadable component index", e);
+                index = null;
+            }
+            componentIndexes.put(classLoader, index);
+            return index;
+        }
+    }
+    
+    /**
+     * Opens the scan cache configured in the options. An unreadable cache disables caching for the scan.
+     * 
+     * @param file the cache file
+     * @return the cache, or null if it cannot be read
+     */
+    @Nullable
+    private ScanCache openScanCache(@NotNull Path file) {
+        try {
+            return ScanCache.open(file);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Ignoring unreadable scan cache: " + file, e);
+            return null;
+        }
+    }
+    
+    /**
+     * Runs the post-processing handlers for every class registered since the last scan, after those of the classes
+     * they depend on and in registration order otherwise. Classes registered while post-processing (e.g. dependencies
+     * resolved on demand) are processed in the same pass, and classes that were already post-processed are never
+     * processed again.
+     * With {@link ContainerOptions#setParallelInitialization(boolean)}, the classes are processed in parallel
+     * on a bounded pool of threads, created once for the pass.
+     */
+    private void processPendingClasses() {
+        long start = System.nanoTime();
+        Map<Class<?>, Long> durations = new LinkedHashMap<>();
+        if (options.isParallelInitialization()) {
+            ExecutorService executor = null;
+            try {
+                List<Class<?>> batch;
+                while (!(batch = drainPendingClasses()).isEmpty()) {
+                    if (executor == null) {
+                        executor = newDaemonPool(options.getInitializationThreads(), "sico-init-");
+                    }
+                    initializeInParallel(batch, durations, executor);
+                }
+            } finally {
+                if (executor != null) {
+                    executor.shutdown();
+                }
+            }
+        } else {
+            List<Class<?>> batch;
+            while (!(batch = drainPendingClasses()).isEmpty()) {
+                for (Class<?> clazz : dependencyOrder(batch)) {
+                    long classStart = System.nanoTime();
+                    processHandlersForPhase(clazz, Phase.POST_PROCESSING);
+                    durations.put(clazz, System.nanoTime() - classStart);
+                }
+            }
+        }
+        
+        if (!durations.isEmpty()) {
+            InitializationReport report = new InitializationReport(System.nanoTime() - start, durations);
+            lastInitializationReport = report;
+            LOGGER.fine(report::toString);
+        }
+    }
+    
+    /**
+     * Orders a batch of registered classes after the classes of the batch they depend on,
+     * keeping the registration order otherwise.
+     */
+    @NotNull
+    private List<Class<?>> dependencyOrder(@NotNull List<Class<?>> batch) {
+        boolean dependent = false;
+        for (int i = 0; i < batch.size() && !dependent && batch.size() > 1; i++) {
+            Class<?> clazz = batch.get(i);
+            ClassMetadata metadata = ClassMetadata.of(clazz);
+            dependent = constructorParameterTypes(clazz).length > 0 || !metadata.getAutowiredFields().isEmpty()
+                    || metadata.isAnnotated(Configuration.class);
+        }
+        if (!dependent) {
+            return batch;
+        }
+        Set<Class<?>> members = new HashSet<>(batch);
+        List<Class<?>> ordered = new ArrayList<>(batch.size());
+        for (DependencyGraph.Node node : DependencyGraph.build(batch, members::contains, this::constructorParameterTypes).getNodes()) {
+            ordered.addAll(node.getMembers());
+        }
+        return ordered;
+    }
+    
+    @NotNull
+    private List<Class<?>> drainPendingClasses() {
+        List<Class<?>> batch = new ArrayList<>();
+        Class<?> clazz;
+        while ((clazz = pendingPostProcessing.poll()) != null) {
+            batch.add(clazz);
         }
-        
-        return args;
+        return batch;
     }
     
     /**
-     * Checks if a class is a component.
+     * Runs the post-processing handlers of a batch of registered classes on a bounded pool of threads.
+     * A class is processed once all classes of the batch it depends on are, so its {@code @PostConstruct} methods
+     * only run after those of its dependencies. Classes that depend on each other are processed together.
+     * If a class fails, its dependents are skipped, the other classes are still processed,
+     * and the first failure is rethrown once the batch is done.
      * 
-     * @param clazz the class
-     * @return true if the class is a component
+     * @param batch the classes, in registration order
+     * @param durations the map to add the processing time of every class to, in registration order
+     * @param executor the pool to process the classes on
      */
-    private boolean isComponent(@NotNull Class<?> clazz) {
-        for (Class<? extends Annotation> annotationType : componentAnnotations) {
-            if (clazz.isAnnotationPresent(annotationType)) {
-                return true;
+    private void initializeInParallel(@NotNull List<Class<?>> batch, @NotNull Map<Class<?>, Long> durations,
+                                      @NotNull ExecutorService executor) {
+        Set<Class<?>> members = new HashSet<>(batch);
+        DependencyGraph graph = DependencyGraph.build(batch, members::contains, this::constructorParameterTypes);
+        Map<Class<?>, Long> measured = new ConcurrentHashMap<>();
+        try {
+            Throwable failure = runGraph(graph.getNodes(), node -> {
+                for (Class<?> clazz : node.getMembers()) {
+                    long classStart = System.nanoTime();
+                    processHandlersForPhase(clazz, Phase.POST_PROCESSING);
+                    measured.put(clazz, System.nanoTime() - classStart);
+                }
+            }, executor, "Skipped initializing components whose dependencies failed: ");
+            if (failure != null) {
+                rethrow(failure);
+            }
+        } finally {
+            for (Class<?> clazz : batch) {
+                Long duration = measured.get(clazz);
+                if (duration != null) {
+                    durations.put(clazz, duration);
+                }
             }
         }
-        return false;
     }
     
     /**
-     * Processes handlers for a phase for a component class.
+     * Calls the {@code @PreDestroy} methods of the registered components on a bounded pool of threads.
+     * A component is destroyed once every component depending on it is, so that no component outlives
+     * its dependencies; independent components are destroyed concurrently, and components that depend on
+     * each other are destroyed in no particular order. Components exceeding the
+     * {@linkplain ContainerOptions#setPreDestroyTimeout(java.time.Duration) per-component timeout} are interrupted
+     * and no longer waited for. When the {@linkplain ContainerOptions#setShutdownTimeout(java.time.Duration)
+     * shutdown deadline} passes, running components are interrupted and the remaining ones are skipped.
+     * The outcome is recorded as the {@link #getLastDestructionReport() last destruction report}.
      * 
-     * @param clazz the class
-     * @param phase the phase
+     * @param handler the handler that knows the pre-destroy methods
+     * @param shutdownStart the {@link System#nanoTime()} at which the shutdown started
+     * @throws RuntimeException the first failure of a pre-destroy method, once every component was handled
      */
-    private void processHandlersForPhase(@NotNull Class<?> clazz, @NotNull Phase phase) {
-        List<ComponentRegisterHandler> sortedHandlers = new ArrayList<>(handlers);
-        Collections.sort(sortedHandlers);
+    private void destroyComponents(@NotNull PreDestroyHandler handler, long shutdownStart) {
+        long start = System.nanoTime();
+        Set<Class<?>> destructible = handler.getDestructibleClasses();
+        if (destructible.isEmpty()) {
+            return;
+        }
+        
+        List<DependencyGraph.Node> nodes = DependencyGraph.build(destructible, registeredClasses::contains,
+                this::constructorParameterTypes).getNodes();
+        int[] remainingDependents = new int[nodes.size()];
+        for (DependencyGraph.Node node : nodes) {
+            for (DependencyGraph.Node dependency : node.getDependencies()) {
+                remainingDependents[dependency.getIndex()]++;
+            }
+        }
+        Deque<DependencyGraph.Node> ready = new ArrayDeque<>();
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            if (remainingDependents[i] == 0) {
+                ready.add(nodes.get(i));
+            }
+        }
+        
+        // Times are measured from the start, so that no timeout overflows
+        long perComponentTimeout = options.getPreDestroyTimeout() != null ? options.getPreDestroyTimeout().toNanos() : Long.MAX_VALUE;
+        long deadline = shutdownTimeLeft(shutdownStart, start);
+        int[] remainingMembers = new int[nodes.size()];
+        Map<Future<?>, Destruction> running = new HashMap<>();
+        Map<Class<?>, Long> durations = new LinkedHashMap<>();
+        List<Class<?>> timedOut = new ArrayList<>();
+        List<Class<?>> skipped = new ArrayList<>();
+        Map<Class<?>, Throwable> failures = new LinkedHashMap<>();
+        
+        ExecutorService executor = newDaemonPool(options.getDestructionThreads(), "sico-destroy-");
+        CompletionService<Class<?>> completions = new ExecutorCompletionService<>(executor);
+        try {
+            boolean expired = false;
+            while (true) {
+                while (!ready.isEmpty()) {
+                    DependencyGraph.Node node = ready.poll();
+                    for (Class<?> clazz : node.getMembers()) {
+                        if (destructible.contains(clazz)) {
+                            long started = System.nanoTime() - start;
+                            running.put(completions.submit(() -> {
+                                handler.executePreDestroy(clazz);
+                                return clazz;
+                            }), new Destruction(clazz, node, started));
+                            remainingMembers[node.getIndex()]++;
+                        }
+                    }
+                    if (remainingMembers[node.getIndex()] == 0) {
+                        releaseDependencies(node, remainingDependents, ready);
+                    }
+                }
+                if (running.isEmpty()) {
+                    break;
+                }
+                
+                long now = System.nanoTime() - start;
+                long wakeUp = deadline;
+                for (Destruction destruction : running.values()) {
+                    wakeUp = Math.min(wakeUp, destruction.timesOutAt(perComponentTimeout));
+                }
+                Future<Class<?>> completed;
+                try {
+                    completed = wakeUp == Long.MAX_VALUE ? completions.take() : completions.poll(Math.max(0, wakeUp - now), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    expired = true;
+                    break;
+                }
+                
+                if (completed != null) {
+                    Destruction destruction = running.remove(completed);
+                    if (destruction == null) {
+                        continue;
+                    }
+                    durations.put(destruction.type, System.nanoTime() - start - destruction.started);
+                    try {
+                        completed.get();
+                    } catch (ExecutionException e) {
+                        failures.put(destruction.type, e.getCause());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    finishDestruction(destruction, remainingMembers, remainingDependents, ready);
+                    continue;
+                }
+                
+                now = System.nanoTime() - start;
+                if (now >= deadline) {
+                    expired = true;
+                    break;
+                }
+                for (Iterator<Map.Entry<Future<?>, Destruction>> iterator = running.entrySet().iterator(); iterator.hasNext(); ) {
+                    Map.Entry<Future<?>, Destruction> entry = iterator.next();
+                    Destruction destruction = entry.getValue();
+                    if (now >= destruction.timesOutAt(perComponentTimeout)) {
+                        iterator.remove();
+                        entry.getKey().cancel(true);
+                        timedOut.add(destruction.type);
+                        finishDestruction(destruction, remainingMembers, remainingDependents, ready);
+                    }
+                }
+            }
+            
+            if (expired) {
+                for (Map.Entry<Future<?>, Destruction> entry : running.entrySet()) {
+                    entry.getKey().cancel(true);
+                    timedOut.add(entry.getValue().type);
+                }
+                for (Class<?> clazz : destructible) {
+                    if (!durations.containsKey(clazz) && !timedOut.contains(clazz)) {
+                        skipped.add(clazz);
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
         
-        for (ComponentRegisterHandler handler : sortedHandlers) {
-            if (handler.getPhase() == phase && handler.supports(clazz)) {
-                handler.handle(clazz);
+        DestructionReport report = new DestructionReport(System.nanoTime() - start, durations, timedOut, skipped,
+                new ArrayList<>(failures.keySet()));
+        lastDestructionReport = report;
+        if (report.isComplete()) {
+            LOGGER.fine(report::toString);
+        } else {
+            LOGGER.warning(report::toString);
+        }
+        for (Throwable failure : failures.values()) {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
             }
+            throw new ContainerException("Error destroying components", failure);
         }
     }
-
+    
     /**
-     * Scans the specified packages for components and registers them in the container.
-     * 
-     * @param filter a predicate to filter class names during scanning
-     * @param packageNames the package names to scan
+     * Marks a component as destroyed, releasing its node once all of its members are.
      */
-    @Override
-    public void scan(@NotNull Predicate<String> filter, String... packageNames) {
-        scan(filter, Thread.currentThread().getContextClassLoader(), packageNames);
+    private static void finishDestruction(@NotNull Destruction destruction, @NotNull int[] remainingMembers,
+                                          @NotNull int[] remainingDependents, @NotNull Deque<DependencyGraph.Node> ready) {
+        if (--remainingMembers[destruction.node.getIndex()] == 0) {
+            releaseDependencies(destruction.node, remainingDependents, ready);
+        }
     }
-
+    
     /**
-     * Scans the specified packages using a custom class loader and registers the found components in the container.
-     * 
-     * @param filter a predicate to filter class names during scanning
-     * @param classLoader the class loader to use for scanning
-     * @param packageNames the package names to scan
-     * @throws IllegalStateException if the container is closed
+     * Queues the dependencies of a destroyed node whose dependents are now all destroyed.
      */
-    @Override
-    public void scan(@NotNull Predicate<String> filter, @NotNull ClassLoader classLoader, String... packageNames) {
-        if (closed) {
-            throw new IllegalStateException("Container is closed");
-        }
-        
-        for (String packageName : packageNames) {
-            try {
-                scanPackage(packageName, filter, classLoader);
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error scanning package: " + packageName, e);
+    private static void releaseDependencies(@NotNull DependencyGraph.Node node, @NotNull int[] remainingDependents,
+                                            @NotNull Deque<DependencyGraph.Node> ready) {
+        for (DependencyGraph.Node dependency : node.getDependencies()) {
+            if (--remainingDependents[dependency.getIndex()] == 0) {
+                ready.add(dependency);
             }
         }
-        
-        Set<Class<?>> classesToProcess = new HashSet<>(registeredClasses);
-        for (Class<?> clazz : classesToProcess) {
-            processHandlersForPhase(clazz, Phase.POST_PROCESSING);
-        }
     }
     
     /**
@@ -616,20 +1871,29 @@ public class DefaultContainer implements Container, Lifecycle {
             return;
         }
         
+        long shutdownStart = System.nanoTime();
         if (running) {
-            stop();
+            stop(shutdownStart);
         }
         
         try {
             if (preDestroyHandler != null) {
-                preDestroyHandler.executeAllPreDestroy();
+                destroyComponents(preDestroyHandler, shutdownStart);
             }
             
+            frozen = null;
             components.clear();
             namedComponents.clear();
             beanDefinitions.clear();
+            methodFactories.clear();
             typeIndex.clear();
             registeredClasses.clear();
+            claimedNames.clear();
+            pendingPostProcessing.clear();
+            constructionPlans.clear();
+            resolutions.clear();
+            beanLists.clear();
+            registrationOrder.clear();
             
             closed = true;
         } catch (Exception e) {
@@ -638,59 +1902,244 @@ public class DefaultContainer implements Container, Lifecycle {
     }
     
     /**
-     * Scans a package for components.
+     * Loads and registers the component candidates found by a scan, in scan order.
+     * Candidates are loaded without being initialized; the class path scanner has already
+     * pre-filtered them by their annotations.
      * 
-     * @param packageName the package name
-     * @param filter the filter
+     * @param classNames the candidate class names
      * @param classLoader the class loader
-     * @throws IOException if an I/O error occurs
-     * @throws ClassNotFoundException if a class cannot be found
+     * @param deferred the list to collect the components in for a parallel startup, or null to register them directly
+     */
+    private void registerCandidates(@NotNull Collection<String> classNames, @NotNull ClassLoader classLoader,
+                                    @Nullable List<Class<?>> deferred) {
+        for (String className : classNames) {
+            try {
+                Class<?> clazz = Class.forName(className, false, classLoader);
+                if (!isComponent(clazz)) {
+                    continue;
+                }
+                if (deferred != null) {
+                    deferred.add(clazz);
+                } else {
+                    register(clazz);
+                }
+            } catch (Exception e) {
+                throw new ComponentScanException("Error loading class: " + className, e);
+            }
+        }
+    }
+    
+    /**
+     * Registers and post-processes a batch of components in parallel, following their dependency graph.
+     * Every node of the graph is started on the startup executor once all of its dependencies are done.
+     * If a component fails, its dependents are skipped, independent components are still started,
+     * and the first failure is rethrown once the batch is done.
+     * 
+     * @param classes the components, in scan order
      */
-    private void scanPackage(@NotNull String packageName, @NotNull Predicate<String> filter, @NotNull ClassLoader classLoader) throws IOException, ClassNotFoundException {
-        String path = packageName.replace('.', '/');
-        Enumeration<URL> resources = classLoader.getResources(path);
+    private void startInParallel(@NotNull List<Class<?>> classes) {
+        long start = System.nanoTime();
+        DependencyGraph graph = DependencyGraph.build(classes,
+                clazz -> isComponent(clazz) && !registeredClasses.contains(clazz),
+                this::constructorParameterTypes);
+        Executor executor = options.getStartupExecutor() != null ? options.getStartupExecutor() : ForkJoinPool.commonPool();
+        
+        List<DependencyGraph.Node> nodes = graph.getNodes();
+        long[] durations = new long[nodes.size()];
+        Throwable failure = runGraph(nodes, node -> {
+            long nodeStart = System.nanoTime();
+            try {
+                startNode(node);
+            } finally {
+                durations[node.getIndex()] = System.nanoTime() - nodeStart;
+            }
+        }, executor, "Skipped components whose dependencies failed to start: ");
+        
+        long criticalPathNanos = 0;
+        List<Class<?>> criticalPath = new ArrayList<>();
+        for (DependencyGraph.Node node : graph.criticalPath(durations)) {
+            criticalPathNanos += durations[node.getIndex()];
+            criticalPath.addAll(node.getMembers());
+        }
+        StartupReport report = new StartupReport(countMembers(nodes),
+                System.nanoTime() - start, criticalPathNanos, criticalPath);
+        lastStartupReport = report;
+        LOGGER.fine(report::toString);
         
-        while (resources.hasMoreElements()) {
-            URL resource = resources.nextElement();
-            File directory = new File(resource.getFile());
-            scanDirectory(directory, packageName, filter, classLoader);
+        if (failure != null) {
+            rethrow(failure);
         }
     }
     
     /**
-     * Scans a directory for components.
+     * Runs an action on every node of a dependency graph, each on the executor once all of its dependencies are done,
+     * and waits for all of them. If a node fails, the nodes depending on it are skipped and logged,
+     * and independent nodes still run.
      * 
-     * @param directory the directory
-     * @param packageName the package name
-     * @param filter the filter
-     * @param classLoader the class loader
-     * @throws ClassNotFoundException if a class cannot be found
-     */
-    private void scanDirectory(@NotNull File directory, @NotNull String packageName, @NotNull Predicate<String> filter, @NotNull ClassLoader classLoader) throws ClassNotFoundException {
-        if (directory.exists()) {
-            File[] files = directory.listFiles();
-            if (files != null) {
-                for (File file : files) {
-                    if (file.isDirectory()) {
-                        scanDirectory(file, packageName + "." + file.getName(), filter, classLoader);
-                    } else if (file.getName().endsWith(".class")) {
-                        String className = packageName + '.' + file.getName().substring(0, file.getName().length() - 6);
-                        if (filter.test(className)) {
-                            try {
-                                Class<?> clazz = Class.forName(className, true, classLoader);
-                                if (isComponent(clazz)) {
-                                    register(clazz);
-                                }
-                            } catch (Exception e) {
-                                throw new ComponentScanException("Error loading class: " + className, e);
-                            }
-                        }
-                    }
+     * @param nodes the nodes, dependencies first
+     * @param action the action to run for a node
+     * @param executor the executor to run the actions on
+     * @param skippedMessage the message to log the members of skipped nodes with
+     * @return the failure of the first failed node in graph order, or null if every node succeeded
+     */
+    @Nullable
+    private static Throwable runGraph(@NotNull List<DependencyGraph.Node> nodes, @NotNull Consumer<DependencyGraph.Node> action,
+                                      @NotNull Executor executor, @NotNull String skippedMessage) {
+        Throwable[] failures = new Throwable[nodes.size()];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(nodes.size());
+        for (DependencyGraph.Node node : nodes) {
+            Runnable task = () -> {
+                try {
+                    action.accept(node);
+                } catch (RuntimeException | Error e) {
+                    failures[node.getIndex()] = e;
+                    throw e;
+                }
+            };
+            
+            List<DependencyGraph.Node> dependencies = node.getDependencies();
+            if (dependencies.isEmpty()) {
+                futures.add(CompletableFuture.runAsync(task, executor));
+            } else {
+                CompletableFuture<?>[] required = new CompletableFuture<?>[dependencies.size()];
+                for (int i = 0; i < required.length; i++) {
+                    required[i] = futures.get(dependencies.get(i).getIndex());
+                }
+                futures.add(CompletableFuture.allOf(required).thenRunAsync(task, executor));
+            }
+        }
+        
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            return null;
+        } catch (CompletionException e) {
+            for (DependencyGraph.Node node : nodes) {
+                if (failures[node.getIndex()] == null && futures.get(node.getIndex()).isCompletedExceptionally()) {
+                    LOGGER.log(Level.SEVERE, skippedMessage + node.getMembers());
+                }
+            }
+            for (Throwable failure : failures) {
+                if (failure != null) {
+                    return failure;
                 }
             }
+            return e;
+        }
+    }
+    
+    /**
+     * Rethrows an unchecked failure as it is, and wraps any other.
+     * 
+     * @param failure the failure
+     */
+    private static void rethrow(@NotNull Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new CompletionException(failure);
+    }
+    
+    /**
+     * Creates a fixed pool of daemon threads, named after a prefix and a running number.
+     * 
+     * @param threads the number of threads
+     * @param namePrefix the prefix of the thread names
+     * @return the pool
+     */
+    @NotNull
+    private static ExecutorService newDaemonPool(int threads, @NotNull String namePrefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    /**
+     * Registers the members of a dependency graph node and runs their post-processing handlers.
+     * Members are registered first, so components that depend on each other through fields see each other.
+     * 
+     * @param node the node
+     */
+    private void startNode(@NotNull DependencyGraph.Node node) {
+        for (Class<?> clazz : node.getMembers()) {
+            register(clazz);
+        }
+        for (Class<?> clazz : node.getMembers()) {
+            if (pendingPostProcessing.remove(clazz)) {
+                processHandlersForPhase(clazz, Phase.POST_PROCESSING);
+            }
+        }
+    }
+    
+    private static int countMembers(@NotNull List<DependencyGraph.Node> nodes) {
+        int count = 0;
+        for (DependencyGraph.Node node : nodes) {
+            count += node.getMembers().size();
+        }
+        return count;
+    }
+    
+    /**
+     * Gets the types the constructor parameters the container resolves for a class depend on.
+     * 
+     * @param clazz the class
+     * @return the dependency types, or none if the class cannot be constructed
+     */
+    @NotNull
+    private Class<?>[] constructorParameterTypes(@NotNull Class<?> clazz) {
+        try {
+            ConstructionPlan plan = getConstructionPlan(clazz);
+            Class<?>[] parameterTypes = plan.getParameterTypes();
+            Type[] genericParameterTypes = plan.getGenericParameterTypes();
+            Class<?>[] dependencyTypes = new Class<?>[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                dependencyTypes[i] = InjectionPoints.dependencyType(parameterTypes[i], genericParameterTypes[i]);
+            }
+            return dependencyTypes;
+        } catch (Exception e) {
+            return new Class<?>[0];
+        }
+    }
+    
+    /**
+     * Gets the types a component class depends on: its constructor parameters, its autowired fields
+     * and, for configuration classes, the parameters of its {@code @Bean} methods.
+     */
+    @NotNull
+    private List<Class<?>> dependencyTypes(@NotNull Class<?> clazz) {
+        return DependencyGraph.dependencyTypes(clazz, this::constructorParameterTypes);
+    }
+    
+    /**
+     * Registers an additional stereotype annotation.
+     * Classes carrying it are treated as components, both when scanning and when registering them directly.
+     * 
+     * @param annotationType the stereotype annotation, which must be retained at runtime
+     */
+    public void addComponentAnnotation(@NotNull Class<? extends Annotation> annotationType) {
+        if (componentAnnotations.add(annotationType)) {
+            handlers.refresh();
+            registryVersion.incrementAndGet();
         }
     }
     
+    /**
+     * Gets the stereotype annotations that mark classes as components, including those added
+     * with {@link #addComponentAnnotation(Class)}.
+     * 
+     * @return the live, unmodifiable set of component annotations
+     */
+    @Override
+    @NotNull
+    public Set<Class<? extends Annotation>> getComponentAnnotations() {
+        return componentAnnotationsView;
+    }
+    
     /**
      * Adds a component register handler to the container.
      * 
@@ -698,6 +2147,7 @@ public class DefaultContainer implements Container, Lifecycle {
      */
     public void addHandler(@NotNull ComponentRegisterHandler handler) {
         handlers.add(handler);
+        constructionPlans.clear();
     }
     
     /**
@@ -707,39 +2157,257 @@ public class DefaultContainer implements Container, Lifecycle {
      */
     public void removeHandler(@NotNull ComponentRegisterHandler handler) {
         handlers.remove(handler);
+        constructionPlans.clear();
     }
 
     /**
-     * Creates a new instance of a class.
+     * Binds the creation of a prototype resolved by a type, as {@link #resolve(Class)} would create it.
      * 
-     * @param clazz the class
-     * @return the new instance
-     * @throws Exception if an error occurs
+     * @param type the requested type
+     * @return the bound factory, or null if the type does not resolve to a prototype
+     * @throws BeanCreationException if the prototype cannot be bound
+     */
+    @Nullable
+    Supplier<Object> bindPrototype(@NotNull Class<?> type) {
+        if (closed) {
+            throw new IllegalStateException("Container is closed");
+        }
+        
+        try {
+            if (determineComponentScope(type).equals(Scope.Scopes.PROTOTYPE) && isComponent(type)) {
+                register(type);
+                ConstructionPlan plan = getConstructionPlan(type);
+                return bindInvocation(plan.getFactory(), plan.getParameterTypes(), plan.getGenericParameterTypes(),
+                        "constructor of " + type.getName());
+            }
+            
+            Set<String> beanNames = typeIndex.get(type);
+            if (beanNames == null) {
+                return null;
+            }
+            String primaryName = beanNames.size() > 1 ? primaryBeanName(beanNames) : null;
+            if (primaryName != null) {
+                BeanDefinition definition = beanDefinitions.get(primaryName);
+                return definition != null && definition.isPrototype() ? bindDefinition(definition) : null;
+            }
+            for (String beanName : beanNames) {
+                if (namedComponents.containsKey(beanName)) {
+                    return null;
+                }
+            }
+            for (String beanName : beanNames) {
+                BeanDefinition definition = beanDefinitions.get(beanName);
+                if (definition != null && definition.isPrototype()) {
+                    return bindDefinition(definition);
+                }
+            }
+            return null;
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException("Error binding prototype of type " + type.getName(), e);
+        }
+    }
+    
+    /**
+     * Binds the creation of a prototype bean definition for {@link #resolve(Class)}.
+     * 
+     * @param definition the prototype bean definition
+     * @return the bound factory, which returns null if the definition has no factory method to call
+     * @throws BeanCreationException if the definition cannot be bound
      */
+    @NotNull
+    private Supplier<Object> bindPrototypeDefinition(@NotNull BeanDefinition definition) {
+        try {
+            Supplier<Object> factory = bindDefinition(definition);
+            return factory != null ? factory : () -> null;
+        } catch (IllegalAccessException e) {
+            throw new BeanCreationException("Error creating bean: " + definition.getName(), e);
+        }
+    }
+    
     @Nullable
-    private Object createNewInstance(@NotNull Class<?> clazz) throws Throwable {
-        Constructor<?> constructor = findSuitableConstructor(clazz);
-        if (constructor == null) {
-            throw new IllegalStateException("No suitable constructor found for class: " + clazz.getName());
+    private Supplier<Object> bindDefinition(@NotNull BeanDefinition definition) throws IllegalAccessException {
+        if (!definition.isFactoryMethod()) {
+            ConstructionPlan plan = getConstructionPlan(definition.getBeanClass());
+            return bindInvocation(plan.getFactory(), plan.getParameterTypes(), plan.getGenericParameterTypes(),
+                    "constructor of " + definition.getBeanClass().getName());
         }
         
-        MethodHandle constructorHandle = MethodHandles.lookup().unreflectConstructor(constructor);
+        Method factoryMethod = definition.getFactoryMethod();
+        Object factoryInstance = definition.getDeclaringInstance();
+        if (factoryMethod == null || factoryInstance == null) {
+            return null;
+        }
+        InstanceFactory factory = methodFactories.get(definition);
+        if (factory == null) {
+            factory = InstanceFactories.forMethod(factoryMethod, factoryInstance);
+            methodFactories.put(definition, factory);
+        }
+        return bindInvocation(factory, factoryMethod.getParameterTypes(), factoryMethod.getGenericParameterTypes(),
+                "bean factory method: " + factoryMethod.getName());
+    }
+    
+    /**
+     * Binds a constructor or factory method call to suppliers of its arguments.
+     * Plain arguments come from providers bound like the one being created;
+     * holder arguments are created for every call, as each instance gets its own holders,
+     * and bean collections are taken from their cached bean list on every call.
+     * 
+     * @param factory the compiled constructor or factory method
+     * @param parameterTypes the parameter types
+     * @param genericParameterTypes the generic parameter types
+     * @param target the description of the constructor or method for error messages
+     * @return the bound invocation
+     */
+    @NotNull
+    private Supplier<Object> bindInvocation(@NotNull InstanceFactory factory, @NotNull Class<?>[] parameterTypes,
+                                            @NotNull Type[] genericParameterTypes, @NotNull String target) {
+        List<Supplier<Object>> arguments = new ArrayList<>(parameterTypes.length);
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> parameterType = parameterTypes[i];
+            Type genericType = genericParameterTypes[i];
+            if (InjectionPoints.isHolder(parameterType) || InjectionPoints.isBeanCollection(parameterType, genericType)) {
+                arguments.add(() -> resolveDependency(parameterType, genericType));
+                continue;
+            }
+            BeanProvider<?> provider = new BeanProvider<>(this, parameterType);
+            arguments.add(() -> {
+                Object value = provider.getIfAvailable();
+                if (value == null) {
+                    throw new IllegalStateException("Failed to resolve dependency of type " + parameterType.getName() +
+                        " for " + target);
+                }
+                return value;
+            });
+        }
         
-        Object instance;
-        if (constructor.getParameterCount() > 0) {
-            Object[] args = resolveConstructorParameters(constructor);
-            instance = constructorHandle.invokeWithArguments(args);
-        } else {
-            instance = constructorHandle.invoke();
+        @SuppressWarnings("unchecked")
+        Supplier<Object>[] suppliers = arguments.toArray(new Supplier[0]);
+        return () -> {
+            Object[] args = suppliers.length == 0 ? ConstructionPlan.NO_ARGS : new Object[suppliers.length];
+            for (int i = 0; i < suppliers.length; i++) {
+                args[i] = suppliers[i].get();
+            }
+            try {
+                return factory.create(args);
+            } catch (Throwable e) {
+                throw new BeanCreationException("Error creating prototype instance with " + target, e);
+            }
+        };
+    }
+    
+    /**
+     * Cached outcome of resolving a type, valid as long as the registry version it was computed for.
+     * Holds either a singleton, the bound factory of a prototype, or neither for a type without a bean.
+     */
+    private static final class Resolution {
+        private final long version;
+        @Nullable private final Object singleton;
+        @Nullable private final Supplier<Object> prototype;
+        
+        private Resolution(long version, @Nullable Object singleton, @Nullable Supplier<Object> prototype) {
+            this.version = version;
+            this.singleton = singleton;
+            this.prototype = prototype;
+        }
+        
+        @Nullable
+        private Object get() {
+            return singleton != null ? singleton : prototype != null ? prototype.get() : null;
+        }
+    }
+    
+    /**
+     * Cached beans of a type in bean order, valid as long as the registry version they were collected for.
+     * Every bean is either a singleton or the bound factory of a prototype.
+     * Without prototypes, the list and map views are built once and shared by all callers.
+     */
+    private static final class BeanList {
+        private final long version;
+        @NotNull private final String[] names;
+        @NotNull private final Object[] singletons;
+        @Nullable private final Supplier<Object>[] prototypes;
+        @Nullable private final List<Object> list;
+        @Nullable private final Map<String, Object> map;
+        
+        @SuppressWarnings("unchecked")
+        private BeanList(long version, @NotNull List<String> names, @NotNull List<Object> singletons,
+                         @NotNull List<Supplier<Object>> prototypes) {
+            this.version = version;
+            this.names = names.toArray(new String[0]);
+            this.singletons = singletons.toArray();
+            boolean hasPrototypes = prototypes.stream().anyMatch(Objects::nonNull);
+            this.prototypes = hasPrototypes ? prototypes.toArray(new Supplier[0]) : null;
+            this.list = hasPrototypes ? null : createList();
+            this.map = hasPrototypes ? null : createMap();
+        }
+        
+        @NotNull
+        private List<Object> list() {
+            return list != null ? list : createList();
+        }
+        
+        @NotNull
+        private Map<String, Object> map() {
+            return map != null ? map : createMap();
+        }
+        
+        @NotNull
+        private List<Object> createList() {
+            return Collections.unmodifiableList(Arrays.asList(instances()));
+        }
+        
+        @NotNull
+        private Map<String, Object> createMap() {
+            Object[] instances = instances();
+            Map<String, Object> result = new LinkedHashMap<>(instances.length * 2);
+            for (int i = 0; i < instances.length; i++) {
+                result.put(names[i], instances[i]);
+            }
+            return Collections.unmodifiableMap(result);
         }
         
-        for (ComponentRegisterHandler handler : handlers) {
-            if (handler.getPhase() == Phase.REGISTRATION && handler.supports(clazz)) {
-                handler.handle(clazz);
+        @NotNull
+        private Object[] instances() {
+            if (prototypes == null) {
+                return singletons.clone();
             }
+            Object[] instances = new Object[singletons.length];
+            for (int i = 0; i < instances.length; i++) {
+                instances[i] = prototypes[i] != null ? prototypes[i].get() : singletons[i];
+            }
+            return instances;
+        }
+    }
+    
+    /**
+     * A component whose pre-destroy methods are running.
+     */
+    private static final class Destruction {
+        @NotNull final Class<?> type;
+        @NotNull final DependencyGraph.Node node;
+        final long started;
+        
+        Destruction(@NotNull Class<?> type, @NotNull DependencyGraph.Node node, long started) {
+            this.type = type;
+            this.node = node;
+            this.started = started;
+        }
+        
+        long timesOutAt(long timeout) {
+            return timeout > Long.MAX_VALUE - started ? Long.MAX_VALUE : started + timeout;
         }
+    }
+    
+    /**
+     * A creation in progress, owned by the thread running it.
+     */
+    private static final class Creation {
+        @NotNull private final Thread owner;
+        @NotNull private final CompletableFuture<Void> done = new CompletableFuture<>();
         
-        return instance;
+        private Creation(@NotNull Thread owner) {
+            this.owner = owner;
+        }
     }
     
     /**
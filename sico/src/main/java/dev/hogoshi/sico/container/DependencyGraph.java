@@ -0,0 +1,266 @@
+package dev.hogoshi.sico.container;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.NotNull;
+
+import dev.hogoshi.sico.annotation.Configuration;
+import lombok.Getter;
+
+/**
+ * Dependency graph of a batch of component classes, condensed into a directed acyclic graph.
+ * A class depends on the classes that provide its constructor parameters, its {@code @Autowired} fields and,
+ * for configuration classes, the parameters of its {@code @Bean} methods. A type is provided by every class
+ * of the graph assignable to it and by every configuration class with a {@code @Bean} method returning it.
+ * An injected {@code List} or {@code Map} of beans depends on every provider of its element type.
+ * Component dependencies outside the batch that still have to be registered are added to the graph.
+ * <p>
+ * Classes that depend on each other, which is legal through fields, form one node. Nodes are listed in
+ * topological order, dependencies first.
+ */
+final class DependencyGraph {
+    @Getter @NotNull private final List<Node> nodes;
+
+    private DependencyGraph(@NotNull List<Node> nodes) {
+        this.nodes = Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Builds the dependency graph of a batch of classes.
+     *
+     * @param roots the classes to start, in registration order
+     * @param pending whether a class is a component that still has to be registered
+     * @param constructorParameters the types the constructor parameters the container resolves for a class depend on
+     * @return the graph
+     */
+    @NotNull
+    static DependencyGraph build(@NotNull Collection<Class<?>> roots, @NotNull Predicate<Class<?>> pending,
+                                 @NotNull Function<Class<?>, Class<?>[]> constructorParameters) {
+        Map<Class<?>, List<Class<?>>> dependencies = new LinkedHashMap<>();
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        for (Class<?> root : roots) {
+            if (pending.test(root) && !dependencies.containsKey(root)) {
+                dependencies.put(root, Collections.emptyList());
+                queue.add(root);
+            }
+        }
+        while (!queue.isEmpty()) {
+            Class<?> type = queue.poll();
+            List<Class<?>> required = dependencyTypes(type, constructorParameters);
+            dependencies.put(type, required);
+            for (Class<?> dependency : required) {
+                if (!dependencies.containsKey(dependency) && pending.test(dependency)) {
+                    dependencies.put(dependency, Collections.emptyList());
+                    queue.add(dependency);
+                }
+            }
+        }
+
+        List<Class<?>> classes = new ArrayList<>(dependencies.keySet());
+        Map<Class<?>, Integer> indices = new HashMap<>();
+        for (int i = 0; i < classes.size(); i++) {
+            indices.put(classes.get(i), i);
+        }
+        Map<Class<?>, Set<Integer>> providers = new HashMap<>();
+        for (int i = 0; i < classes.size(); i++) {
+            Class<?> type = classes.get(i);
+            addProvider(providers, type, i);
+            ClassMetadata metadata = ClassMetadata.of(type);
+            if (metadata.isAnnotated(Configuration.class)) {
+                for (Method method : metadata.getBeanMethods()) {
+                    addProvider(providers, method.getReturnType(), i);
+                }
+            }
+        }
+
+        int[][] edges = new int[classes.size()][];
+        for (int i = 0; i < classes.size(); i++) {
+            Set<Integer> targets = new LinkedHashSet<>();
+            for (Class<?> dependency : dependencies.get(classes.get(i))) {
+                Set<Integer> provided = providers.get(dependency);
+                if (provided != null) {
+                    targets.addAll(provided);
+                }
+            }
+            targets.remove(i);
+            edges[i] = targets.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        return new DependencyGraph(condense(classes, edges));
+    }
+
+    @NotNull
+    static List<Class<?>> dependencyTypes(@NotNull Class<?> type, @NotNull Function<Class<?>, Class<?>[]> constructorParameters) {
+        ClassMetadata metadata = ClassMetadata.of(type);
+        List<Class<?>> required = new ArrayList<>(Arrays.asList(constructorParameters.apply(type)));
+        for (Field field : metadata.getAutowiredFields()) {
+            required.add(InjectionPoints.dependencyType(field.getType(), field.getGenericType()));
+        }
+        if (metadata.isAnnotated(Configuration.class)) {
+            for (Method method : metadata.getBeanMethods()) {
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                Type[] genericParameterTypes = method.getGenericParameterTypes();
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    required.add(InjectionPoints.dependencyType(parameterTypes[i], genericParameterTypes[i]));
+                }
+            }
+        }
+        return required;
+    }
+
+    private static void addProvider(@NotNull Map<Class<?>, Set<Integer>> providers, @NotNull Class<?> type, int index) {
+        for (Class<?> assignableType : DefaultContainer.collectAssignableTypes(type)) {
+            providers.computeIfAbsent(assignableType, k -> new LinkedHashSet<>()).add(index);
+        }
+    }
+
+    /**
+     * Condenses the strongly connected components of the graph into nodes with Tarjan's algorithm,
+     * run iteratively so that long dependency chains cannot overflow the stack. Tarjan's algorithm
+     * completes a component only after every component reachable from it, which yields dependencies first.
+     */
+    @NotNull
+    private static List<Node> condense(@NotNull List<Class<?>> classes, @NotNull int[][] edges) {
+        int size = classes.size();
+        int[] index = new int[size];
+        int[] low = new int[size];
+        int[] component = new int[size];
+        boolean[] onStack = new boolean[size];
+        Arrays.fill(index, -1);
+        Deque<Integer> stack = new ArrayDeque<>();
+        List<List<Integer>> components = new ArrayList<>();
+        int counter = 0;
+
+        for (int root = 0; root < size; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            Deque<int[]> frames = new ArrayDeque<>();
+            index[root] = low[root] = counter++;
+            stack.push(root);
+            onStack[root] = true;
+            frames.push(new int[] { root, 0 });
+
+            while (!frames.isEmpty()) {
+                int[] frame = frames.peek();
+                int vertex = frame[0];
+                if (frame[1] < edges[vertex].length) {
+                    int next = edges[vertex][frame[1]++];
+                    if (index[next] == -1) {
+                        index[next] = low[next] = counter++;
+                        stack.push(next);
+                        onStack[next] = true;
+                        frames.push(new int[] { next, 0 });
+                    } else if (onStack[next]) {
+                        low[vertex] = Math.min(low[vertex], index[next]);
+                    }
+                    continue;
+                }
+
+                frames.pop();
+                if (!frames.isEmpty()) {
+                    int parent = frames.peek()[0];
+                    low[parent] = Math.min(low[parent], low[vertex]);
+                }
+                if (low[vertex] == index[vertex]) {
+                    List<Integer> members = new ArrayList<>();
+                    int member;
+                    do {
+                        member = stack.pop();
+                        onStack[member] = false;
+                        component[member] = components.size();
+                        members.add(member);
+                    } while (member != vertex);
+                    Collections.sort(members);
+                    components.add(members);
+                }
+            }
+        }
+
+        List<Node> nodes = new ArrayList<>(components.size());
+        for (int i = 0; i < components.size(); i++) {
+            List<Class<?>> members = new ArrayList<>();
+            Set<Integer> dependencies = new LinkedHashSet<>();
+            for (int member : components.get(i)) {
+                members.add(classes.get(member));
+                for (int next : edges[member]) {
+                    if (component[next] != i) {
+                        dependencies.add(component[next]);
+                    }
+                }
+            }
+            List<Node> dependencyNodes = new ArrayList<>(dependencies.size());
+            for (int dependency : dependencies) {
+                dependencyNodes.add(nodes.get(dependency));
+            }
+            nodes.add(new Node(i, Collections.unmodifiableList(members), Collections.unmodifiableList(dependencyNodes)));
+        }
+        return nodes;
+    }
+
+    /**
+     * Computes the critical path: the chain of dependent nodes with the largest total duration.
+     *
+     * @param durations the duration of every node, indexed by {@link Node#getIndex()}
+     * @return the nodes of the critical path, dependencies first
+     */
+    @NotNull
+    List<Node> criticalPath(@NotNull long[] durations) {
+        long[] finish = new long[nodes.size()];
+        int[] previous = new int[nodes.size()];
+        int last = -1;
+        for (Node node : nodes) {
+            int i = node.getIndex();
+            previous[i] = -1;
+            for (Node dependency : node.getDependencies()) {
+                int j = dependency.getIndex();
+                if (previous[i] == -1 || finish[j] > finish[previous[i]]) {
+                    previous[i] = j;
+                }
+            }
+            finish[i] = durations[i] + (previous[i] == -1 ? 0 : finish[previous[i]]);
+            if (last == -1 || finish[i] > finish[last]) {
+                last = i;
+            }
+        }
+
+        List<Node> path = new ArrayList<>();
+        for (int i = last; i != -1; i = previous[i]) {
+            path.add(nodes.get(i));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * A class, or a group of classes that depend on each other, started as one unit.
+     */
+    @Getter
+    static final class Node {
+        private final int index;
+        @NotNull private final List<Class<?>> members;
+        @NotNull private final List<Node> dependencies;
+
+        private Node(int index, @NotNull List<Class<?>> members, @NotNull List<Node> dependencies) {
+            this.index = index;
+            this.members = members;
+            this.dependencies = dependencies;
+        }
+    }
+}
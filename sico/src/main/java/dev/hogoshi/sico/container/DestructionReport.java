@@ -0,0 +1,58 @@
+package dev.hogoshi.sico.container;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+
+import lombok.Getter;
+
+/**
+ * Outcome of destroying the components of a closing container, which calls their {@code @PreDestroy} methods.
+ * A component times out when its methods exceed the per-component timeout or are still running at the shutdown
+ * deadline; it is skipped when the deadline passed before its dependents were destroyed.
+ */
+@Getter
+public final class DestructionReport {
+    private final long elapsedNanos;
+    @NotNull private final Map<Class<?>, Long> destructionNanos;
+    @NotNull private final List<Class<?>> timedOut;
+    @NotNull private final List<Class<?>> skipped;
+    @NotNull private final List<Class<?>> failed;
+
+    DestructionReport(long elapsedNanos, @NotNull Map<Class<?>, Long> destructionNanos, @NotNull List<Class<?>> timedOut,
+                      @NotNull List<Class<?>> skipped, @NotNull List<Class<?>> failed) {
+        this.elapsedNanos = elapsedNanos;
+        this.destructionNanos = Collections.unmodifiableMap(destructionNanos);
+        this.timedOut = Collections.unmodifiableList(new ArrayList<>(timedOut));
+        this.skipped = Collections.unmodifiableList(new ArrayList<>(skipped));
+        this.failed = Collections.unmodifiableList(new ArrayList<>(failed));
+    }
+
+    /**
+     * Checks whether every component was destroyed within its timeout.
+     *
+     * @return true if no component timed out, was skipped or failed
+     */
+    public boolean isComplete() {
+        return timedOut.isEmpty() && skipped.isEmpty() && failed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Destroyed " + destructionNanos.size() + " components in " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos)
+                + " ms, timed out: " + names(timedOut) + ", skipped: " + names(skipped) + ", failed: " + names(failed);
+    }
+
+    @NotNull
+    private static String names(@NotNull List<Class<?>> types) {
+        StringBuilder names = new StringBuilder("[");
+        for (Class<?> type : types) {
+            names.append(names.length() == 1 ? "" : ", ").append(type.getSimpleName());
+        }
+        return names.append(']').toString();
+    }
+}
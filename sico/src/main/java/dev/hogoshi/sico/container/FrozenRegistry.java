@@ -0,0 +1,94 @@
+package dev.hogoshi.sico.container;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Compacted snapshot of the beans of a frozen container.
+ * Every bean name gets a dense integer id, singletons are kept in an array indexed by that id,
+ * and every type that resolves to a singleton maps to the id that resolving it by type returns.
+ * The indexes never change; only the slots of singletons that did not exist yet at freeze time,
+ * such as lazy singletons, are filled in when they are created.
+ */
+final class FrozenRegistry {
+    @NotNull private final Map<String, Integer> nameIds;
+    @NotNull private final Map<Class<?>, Integer> typeIds;
+    @NotNull private final AtomicReferenceArray<Object> singletons;
+
+    FrozenRegistry(@NotNull Map<String, Integer> nameIds, @NotNull Map<Class<?>, Integer> typeIds,
+                   @NotNull Object[] singletons) {
+        this.nameIds = Collections.unmodifiableMap(nameIds);
+        this.typeIds = Collections.unmodifiableMap(typeIds);
+        this.singletons = new AtomicReferenceArray<>(singletons);
+    }
+
+    /**
+     * Gets the id of a bean name.
+     *
+     * @param name the bean name
+     * @return the id, or -1 if the name was not registered at freeze time
+     */
+    int idOf(@NotNull String name) {
+        Integer id = nameIds.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the id of the singleton a type resolves to.
+     *
+     * @param type the requested type
+     * @return the id, or -1 if the type does not resolve to a singleton known at freeze time
+     */
+    int idOf(@NotNull Class<?> type) {
+        Integer id = typeIds.get(type);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Gets the singleton with an id.
+     *
+     * @param id the id, which may be out of bounds
+     * @return the singleton, or null if the id is out of bounds or its singleton has not been created
+     */
+    @Nullable
+    Object singleton(int id) {
+        return id >= 0 && id < singletons.length() ? singletons.get(id) : null;
+    }
+
+    /**
+     * Gets the singleton a type resolves to.
+     *
+     * @param type the requested type
+     * @return the singleton, or null if the type does not resolve to a created singleton
+     */
+    @Nullable
+    Object singleton(@NotNull Class<?> type) {
+        return singleton(idOf(type));
+    }
+
+    /**
+     * Fills in the slot of a singleton that has been created after the freeze.
+     *
+     * @param name the bean name
+     * @param instance the singleton
+     */
+    void store(@NotNull String name, @NotNull Object instance) {
+        int id = idOf(name);
+        if (id >= 0) {
+            singletons.compareAndSet(id, null, instance);
+        }
+    }
+
+    /**
+     * Gets the number of bean ids.
+     *
+     * @return the number of beans registered at freeze time
+     */
+    int size() {
+        return singletons.length();
+    }
+}
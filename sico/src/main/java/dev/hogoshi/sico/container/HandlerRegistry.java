@@ -0,0 +1,162 @@
+package dev.hogoshi.sico.container;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+
+import dev.hogoshi.sico.handler.AbstractComponentHandler;
+import dev.hogoshi.sico.handler.ComponentRegisterHandler;
+import dev.hogoshi.sico.handler.ComponentRegisterHandler.Phase;
+
+/**
+ * Holds the container's component handlers in a dispatch-ready form.
+ * Handlers are kept sorted and partitioned by phase, indexed by the annotations they declare
+ * when those annotations are all their {@code supports} check looks at,
+ * and the matching handler chain of every component class is memoized.
+ * All of this is rebuilt only when a handler is added or removed, so dispatching a class
+ * is an array iteration over the handlers that actually apply to it.
+ */
+final class HandlerRegistry {
+    private static final Phase[] PHASES = Phase.values();
+
+    @NotNull private final List<ComponentRegisterHandler> handlers = new ArrayList<>();
+    @NotNull private volatile Snapshot snapshot = new Snapshot(Collections.emptyList());
+
+    /**
+     * Adds a handler and rebuilds the dispatch tables.
+     *
+     * @param handler the handler
+     */
+    synchronized void add(@NotNull ComponentRegisterHandler handler) {
+        handlers.add(handler);
+        snapshot = new Snapshot(handlers);
+    }
+
+    /**
+     * Removes a handler and rebuilds the dispatch tables.
+     *
+     * @param handler the handler
+     */
+    synchronized void remove(@NotNull ComponentRegisterHandler handler) {
+        if (handlers.remove(handler)) {
+            snapshot = new Snapshot(handlers);
+        }
+    }
+
+    /**
+     * Rebuilds the dispatch tables, for when the annotations a handler supports have changed.
+     */
+    synchronized void refresh() {
+        snapshot = new Snapshot(handlers);
+    }
+
+    /**
+     * Gets the handlers of a phase that support a class, in execution order.
+     * The returned array is shared and must not be modified.
+     *
+     * @param clazz the component class
+     * @param phase the phase
+     * @return the matching handlers
+     */
+    @NotNull
+    ComponentRegisterHandler[] chain(@NotNull Class<?> clazz, @NotNull Phase phase) {
+        return snapshot.chain(clazz)[phase.ordinal()];
+    }
+
+    /**
+     * Immutable view of the handlers at one point in time, together with the chains computed from it.
+     */
+    private static final class Snapshot {
+        private final ComponentRegisterHandler[][] byPhase = new ComponentRegisterHandler[PHASES.length][];
+        private final Map<Class<? extends Annotation>, Set<ComponentRegisterHandler>> byAnnotation = new HashMap<>();
+        private final Set<ComponentRegisterHandler> unrestricted = new HashSet<>();
+        private final Map<Class<?>, ComponentRegisterHandler[][]> chains = new ConcurrentHashMap<>();
+
+        private Snapshot(@NotNull List<ComponentRegisterHandler> handlers) {
+            List<ComponentRegisterHandler> sorted = new ArrayList<>(handlers);
+            Collections.sort(sorted);
+
+            for (Phase phase : PHASES) {
+                List<ComponentRegisterHandler> phaseHandlers = new ArrayList<>();
+                for (ComponentRegisterHandler handler : sorted) {
+                    if (handler.getPhase() == phase) {
+                        phaseHandlers.add(handler);
+                    }
+                }
+                byPhase[phase.ordinal()] = phaseHandlers.toArray(new ComponentRegisterHandler[0]);
+            }
+
+            for (ComponentRegisterHandler handler : sorted) {
+                Set<Class<? extends Annotation>> annotations = handler.getSupportedAnnotations();
+                if (annotations.isEmpty() || !isAnnotationBound(handler)) {
+                    unrestricted.add(handler);
+                    continue;
+                }
+                for (Class<? extends Annotation> annotation : annotations) {
+                    byAnnotation.computeIfAbsent(annotation, k -> new HashSet<>()).add(handler);
+                }
+            }
+        }
+
+        /**
+         * Checks whether a handler supports exactly the classes carrying one of its supported annotations,
+         * which holds when it inherits the annotation check of {@link AbstractComponentHandler}.
+         * Any other handler may accept more classes than its annotations name, so its {@code supports} is always asked.
+         */
+        private static boolean isAnnotationBound(@NotNull ComponentRegisterHandler handler) {
+            if (!(handler instanceof AbstractComponentHandler)) {
+                return false;
+            }
+            try {
+                Class<?> type = handler.getClass();
+                return type.getMethod("supports", Class.class).getDeclaringClass() == AbstractComponentHandler.class
+                        && type.getMethod("supports", Class.class, ClassMetadata.class).getDeclaringClass() == AbstractComponentHandler.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+
+        @NotNull
+        private ComponentRegisterHandler[][] chain(@NotNull Class<?> clazz) {
+            ComponentRegisterHandler[][] chain = chains.get(clazz);
+            if (chain == null) {
+                chain = build(clazz);
+                chains.putIfAbsent(clazz, chain);
+            }
+            return chain;
+        }
+
+        @NotNull
+        private ComponentRegisterHandler[][] build(@NotNull Class<?> clazz) {
+            ClassMetadata metadata = ClassMetadata.of(clazz);
+
+            Set<ComponentRegisterHandler> candidates = new HashSet<>(unrestricted);
+            for (Class<? extends Annotation> annotation : metadata.getAnnotationTypes()) {
+                Set<ComponentRegisterHandler> indexed = byAnnotation.get(annotation);
+                if (indexed != null) {
+                    candidates.addAll(indexed);
+                }
+            }
+
+            ComponentRegisterHandler[][] chain = new ComponentRegisterHandler[PHASES.length][];
+            for (Phase phase : PHASES) {
+                List<ComponentRegisterHandler> matching = new ArrayList<>();
+                for (ComponentRegisterHandler handler : byPhase[phase.ordinal()]) {
+                    if (candidates.contains(handler) && handler.supports(clazz, metadata)) {
+                        matching.add(handler);
+                    }
+                }
+                chain[phase.ordinal()] = matching.toArray(new ComponentRegisterHandler[0]);
+            }
+            return chain;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package dev.hogoshi.sico.container;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+
+import lombok.Getter;
+
+/**
+ * Outcome of initializing a batch of components, which injects their fields and calls their
+ * {@code @PostConstruct} methods. The duration of every component is the time its post-processing handlers took.
+ */
+@Getter
+public final class InitializationReport {
+    private final long elapsedNanos;
+    @NotNull private final Map<Class<?>, Long> initializationNanos;
+
+    InitializationReport(long elapsedNanos, @NotNull Map<Class<?>, Long> initializationNanos) {
+        this.elapsedNanos = elapsedNanos;
+        this.initializationNanos = Collections.unmodifiableMap(initializationNanos);
+    }
+
+    /**
+     * Gets the number of initialized components.
+     *
+     * @return the component count
+     */
+    public int getComponentCount() {
+        return initializationNanos.size();
+    }
+
+    /**
+     * Gets the components that took longest to initialize.
+     *
+     * @param limit the maximum number of components
+     * @return the components, slowest first
+     */
+    @NotNull
+    public List<Class<?>> getSlowest(int limit) {
+        List<Class<?>> types = new ArrayList<>(initializationNanos.keySet());
+        types.sort((a, b) -> Long.compare(initializationNanos.get(b), initializationNanos.get(a)));
+        return types.subList(0, Math.min(limit, types.size()));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder slowest = new StringBuilder();
+        for (Class<?> type : getSlowest(5)) {
+            slowest.append(slowest.length() == 0 ? "" : ", ").append(type.getSimpleName()).append(' ')
+                    .append(TimeUnit.NANOSECONDS.toMillis(initializationNanos.get(type))).append(" ms");
+        }
+        return "Initialized " + initializationNanos.size() + " components in "
+                + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms, slowest: " + slowest;
+    }
+}
@@ -0,0 +1,97 @@
+package dev.hogoshi.sico.container;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Helpers for injection points whose value is a holder of a bean or a collection of beans rather than the bean itself.
+ */
+final class InjectionPoints {
+
+    private InjectionPoints() {
+    }
+
+    /**
+     * Checks whether a type is a holder that the container creates for an injection point.
+     *
+     * @param type the declared type of the injection point
+     * @return true for {@link LazyHolder}, {@link Provider} and {@link ObjectFactory}
+     */
+    static boolean isHolder(@NotNull Class<?> type) {
+        return type == LazyHolder.class || type == Provider.class || type == ObjectFactory.class;
+    }
+
+    /**
+     * Checks whether an injection point receives all beans of its element type,
+     * as a {@code List<T>} or as a {@code Map<String, T>} keyed by bean name.
+     *
+     * @param type the declared type of the injection point
+     * @param genericType the declared generic type of the injection point
+     * @return true for a parameterized {@link List}, or a parameterized {@link Map} with {@link String} keys
+     */
+    static boolean isBeanCollection(@NotNull Class<?> type, @NotNull Type genericType) {
+        if (!(genericType instanceof ParameterizedType)) {
+            return false;
+        }
+        return type == List.class
+                || type == Map.class && ((ParameterizedType) genericType).getActualTypeArguments()[0] == String.class;
+    }
+
+    /**
+     * Gets the type an injection point depends on, which is the element type of a bean collection
+     * and the declared type otherwise.
+     *
+     * @param type the declared type of the injection point
+     * @param genericType the declared generic type of the injection point
+     * @return the type of the beans the injection point needs
+     */
+    @NotNull
+    static Class<?> dependencyType(@NotNull Class<?> type, @NotNull Type genericType) {
+        return isBeanCollection(type, genericType) ? elementType(genericType) : type;
+    }
+
+    /**
+     * Gets the bean type of a holder injection point from its generic type.
+     *
+     * @param genericType the generic type of the injection point, such as {@code Provider<Service>}
+     * @return the bean type
+     * @throws IllegalArgumentException if the holder has no concrete type argument
+     */
+    @NotNull
+    static <T> Class<T> beanType(@NotNull Type genericType) {
+        return typeArgument(genericType, 0);
+    }
+
+    /**
+     * Gets the element type of a bean collection injection point from its generic type.
+     *
+     * @param genericType the generic type of the injection point, such as {@code Map<String, Handler>}
+     * @return the element type, which is the last type argument
+     * @throws IllegalArgumentException if the collection has no concrete element type
+     */
+    @NotNull
+    static <T> Class<T> elementType(@NotNull Type genericType) {
+        int count = genericType instanceof ParameterizedType
+                ? ((ParameterizedType) genericType).getActualTypeArguments().length : 1;
+        return typeArgument(genericType, count - 1);
+    }
+
+    @NotNull
+    @SuppressWarnings("unchecked")
+    private static <T> Class<T> typeArgument(@NotNull Type genericType, int index) {
+        if (genericType instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[index];
+            if (argument instanceof ParameterizedType) {
+                argument = ((ParameterizedType) argument).getRawType();
+            }
+            if (argument instanceof Class) {
+                return (Class<T>) argument;
+            }
+        }
+        throw new IllegalArgumentException("Cannot determine the bean type of " + genericType.getTypeName());
+    }
+}
@@ -0,0 +1,137 @@
+package dev.hogoshi.sico.container;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Compiles constructors and factory methods into {@link InstanceFactory} instances.
+ * Targets with up to two parameters are linked through {@link LambdaMetafactory} into a
+ * {@link Supplier}, {@link Function} or {@link BiFunction} that calls the constructor or method directly.
+ * Other targets, and targets whose class cannot be spun a lambda for (for example classes from a
+ * different module), fall back to a method handle spread over the argument array and invoked exactly.
+ */
+public final class InstanceFactories {
+    private static final Logger LOGGER = Logger.getLogger(InstanceFactories.class.getName());
+
+    private InstanceFactories() {
+    }
+
+    /**
+     * Compiles a factory for a constructor.
+     *
+     * @param constructor the constructor
+     * @return the compiled factory
+     * @throws IllegalAccessException if the constructor is not accessible
+     */
+    @NotNull
+    public static InstanceFactory forConstructor(@NotNull Constructor<?> constructor) throws IllegalAccessException {
+        Class<?> declaringClass = constructor.getDeclaringClass();
+        MethodHandles.Lookup lookup = lookupFor(declaringClass);
+        MethodHandle handle = lookup.unreflectConstructor(constructor);
+
+        InstanceFactory factory = metafactory(lookup, handle, null, constructor.getParameterCount());
+        return factory != null ? factory : spread(handle);
+    }
+
+    /**
+     * Compiles a factory for a factory method.
+     *
+     * @param method the factory method
+     * @param target the instance to invoke the method on, or null for static methods
+     * @return the compiled factory
+     * @throws IllegalAccessException if the method is not accessible
+     */
+    @NotNull
+    public static InstanceFactory forMethod(@NotNull Method method, @Nullable Object target) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = lookupFor(method.getDeclaringClass());
+        MethodHandle handle = lookup.unreflect(method);
+        Object receiver = Modifier.isStatic(method.getModifiers()) ? null : target;
+
+        InstanceFactory factory = metafactory(lookup, handle, receiver, method.getParameterCount());
+        if (factory != null) {
+            return factory;
+        }
+        return spread(receiver != null ? handle.bindTo(receiver) : handle);
+    }
+
+    @NotNull
+    private static MethodHandles.Lookup lookupFor(@NotNull Class<?> targetClass) {
+        try {
+            return MethodHandles.privateLookupIn(targetClass, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return MethodHandles.lookup();
+        }
+    }
+
+    @Nullable
+    private static InstanceFactory metafactory(@NotNull MethodHandles.Lookup lookup, @NotNull MethodHandle handle,
+                                               @Nullable Object receiver, int arity) {
+        if (arity > 2) {
+            return null;
+        }
+
+        MethodType instantiatedType = handle.type().wrap();
+        MethodType factoryType;
+        if (receiver != null) {
+            factoryType = MethodType.methodType(Object.class, instantiatedType.parameterType(0));
+            instantiatedType = instantiatedType.dropParameterTypes(0, 1);
+        } else {
+            factoryType = MethodType.methodType(Object.class);
+        }
+
+        try {
+            switch (arity) {
+                case 0: {
+                    Supplier<?> supplier = (Supplier<?>) link(lookup, handle, receiver, factoryType.changeReturnType(Supplier.class),
+                            "get", MethodType.methodType(Object.class), instantiatedType);
+                    return args -> supplier.get();
+                }
+                case 1: {
+                    @SuppressWarnings("unchecked")
+                    Function<Object, ?> function = (Function<Object, ?>) link(lookup, handle, receiver, factoryType.changeReturnType(Function.class),
+                            "apply", MethodType.methodType(Object.class, Object.class), instantiatedType);
+                    return args -> function.apply(args[0]);
+                }
+                default: {
+                    @SuppressWarnings("unchecked")
+                    BiFunction<Object, Object, ?> function = (BiFunction<Object, Object, ?>) link(lookup, handle, receiver,
+                            factoryType.changeReturnType(BiFunction.class), "apply",
+                            MethodType.methodType(Object.class, Object.class, Object.class), instantiatedType);
+                    return args -> function.apply(args[0], args[1]);
+                }
+            }
+        } catch (Throwable e) {
+            LOGGER.log(Level.FINE, "Falling back to method handle factory for " + handle, e);
+            return null;
+        }
+    }
+
+    @NotNull
+    private static Object link(@NotNull MethodHandles.Lookup lookup, @NotNull MethodHandle handle, @Nullable Object receiver,
+                               @NotNull MethodType factoryType, @NotNull String methodName,
+                               @NotNull MethodType samType, @NotNull MethodType instantiatedType) throws Throwable {
+        CallSite site = LambdaMetafactory.metafactory(lookup, methodName, factoryType, samType, handle, instantiatedType);
+        return receiver != null ? site.getTarget().invoke(receiver) : site.getTarget().invoke();
+    }
+
+    @NotNull
+    private static InstanceFactory spread(@NotNull MethodHandle handle) {
+        MethodHandle invoker = handle.asType(handle.type().changeReturnType(Object.class))
+                .asSpreader(Object[].class, handle.type().parameterCount());
+        return args -> (Object) invoker.invokeExact(args);
+    }
+}
@@ -0,0 +1,20 @@
+package dev.hogoshi.sico.container;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Compiled factory that creates bean instances from already resolved arguments.
+ * Implementations are produced by {@link InstanceFactories} for constructors and {@code @Bean} factory methods.
+ */
+@FunctionalInterface
+public interface InstanceFactory {
+
+    /**
+     * Creates a new instance.
+     *
+     * @param args the resolved constructor or factory method arguments
+     * @return the new instance
+     * @throws Throwable if the underlying constructor or method throws
+     */
+    Object create(@NotNull Object[] args) throws Throwable;
+}
@@ -0,0 +1,53 @@
+package dev.hogoshi.sico.container;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+/**
+ * Holder of a bean that is only resolved when it is first requested.
+ * Declaring an injection point as {@code LazyHolder<T>} instead of {@code T} keeps the container
+ * from creating a {@link dev.hogoshi.sico.annotation.Lazy} bean until the holder is used.
+ * The bean is resolved once; later calls return the same instance.
+ *
+ * @param <T> the bean type
+ */
+public final class LazyHolder<T> {
+    @NotNull private final Container container;
+    @Getter @NotNull private final Class<T> type;
+    @Nullable private volatile T instance;
+
+    LazyHolder(@NotNull Container container, @NotNull Class<T> type) {
+        this.container = container;
+        this.type = type;
+    }
+
+    /**
+     * Gets the bean, resolving it on first use.
+     *
+     * @return the bean
+     * @throws DefaultContainer.BeanCreationException if no bean of the type exists
+     */
+    @NotNull
+    public T get() {
+        T result = instance;
+        if (result == null) {
+            result = container.resolve(type);
+            if (result == null) {
+                throw new DefaultContainer.BeanCreationException("No bean of type " + type.getName() + " found");
+            }
+            instance = result;
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the bean has been resolved through this holder.
+     *
+     * @return true if {@link #get()} has returned the bean
+     */
+    public boolean isResolved() {
+        return instance != null;
+    }
+}
@@ -0,0 +1,21 @@
+package dev.hogoshi.sico.container;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Factory of bean instances, injectable like {@link Provider} for code written against this name.
+ *
+ * @param <T> the bean type
+ */
+@FunctionalInterface
+public interface ObjectFactory<T> {
+
+    /**
+     * Gets an instance of the bean: the singleton, or a new instance of a prototype.
+     *
+     * @return the instance
+     * @throws DefaultContainer.BeanCreationException if no bean of the type exists or it cannot be created
+     */
+    @NotNull
+    T getObject();
+}
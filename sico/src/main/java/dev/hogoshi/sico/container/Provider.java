@@ -0,0 +1,25 @@
+package dev.hogoshi.sico.container;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Provides instances of a bean type on demand.
+ * Injecting a {@code Provider<T>} instead of {@code T} lets code obtain a new prototype,
+ * or a bean that may not exist yet, on every call without going through {@link Container#resolve(Class)}.
+ * Providers injected by a {@link DefaultContainer} are bound to the bean on their first call:
+ * singletons are then returned from a field and prototypes are created by a direct factory call.
+ *
+ * @param <T> the bean type
+ */
+@FunctionalInterface
+public interface Provider<T> {
+
+    /**
+     * Gets an instance of the bean: the singleton, or a new instance of a prototype.
+     *
+     * @return the instance
+     * @throws DefaultContainer.BeanCreationException if no bean of the type exists or it cannot be created
+     */
+    @NotNull
+    T get();
+}
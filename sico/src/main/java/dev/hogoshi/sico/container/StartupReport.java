@@ -0,0 +1,49 @@
+package dev.hogoshi.sico.container;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+
+import lombok.Getter;
+
+/**
+ * Outcome of a parallel startup.
+ * The critical path is the chain of dependent components whose creation and initialization took the longest in total;
+ * no executor can start the batch faster than the critical path.
+ */
+@Getter
+public final class StartupReport {
+    private final int componentCount;
+    private final long elapsedNanos;
+    private final long criticalPathNanos;
+    @NotNull private final List<Class<?>> criticalPath;
+
+    StartupReport(int componentCount, long elapsedNanos, long criticalPathNanos, @NotNull List<Class<?>> criticalPath) {
+        this.componentCount = componentCount;
+        this.elapsedNanos = elapsedNanos;
+        this.criticalPathNanos = criticalPathNanos;
+        this.criticalPath = Collections.unmodifiableList(criticalPath);
+    }
+
+    /**
+     * Gets the number of components on the critical path.
+     *
+     * @return the critical path length
+     */
+    public int getCriticalPathLength() {
+        return criticalPath.size();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder path = new StringBuilder();
+        for (Class<?> type : criticalPath) {
+            path.append(path.length() == 0 ? "" : " -> ").append(type.getSimpleName());
+        }
+        return "Started " + componentCount + " components in " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos)
+                + " ms, critical path of " + criticalPath.size() + " components took "
+                + TimeUnit.NANOSECONDS.toMillis(criticalPathNanos) + " ms: " + path;
+    }
+}
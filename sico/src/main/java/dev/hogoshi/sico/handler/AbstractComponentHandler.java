@@ -2,11 +2,13 @@ package dev.hogoshi.sico.handler;
 
 import java.lang.annotation.Annotation;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
 import org.jetbrains.annotations.NotNull;
 
+import dev.hogoshi.sico.container.ClassMetadata;
 import dev.hogoshi.sico.container.Container;
 import lombok.Getter;
 
@@ -22,6 +24,7 @@ public abstract class AbstractComponentHandler implements ComponentRegisterHandl
     @Getter
     protected final int order;
     
+    @Getter
     @NotNull
     private final Set<Class<? extends Annotation>> supportedAnnotations;
 
@@ -30,7 +33,25 @@ public abstract class AbstractComponentHandler implements ComponentRegisterHandl
         this.container = container;
         this.order = order;
         this.phase = phase;
-        this.supportedAnnotations = new HashSet<>(Arrays.asList(supportedAnnotations));
+        this.supportedAnnotations = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(supportedAnnotations)));
+    }
+    
+    /**
+     * Creates a handler restricted to a set of annotations that may change over time,
+     * such as the {@link Container#getComponentAnnotations() component annotations} of the container.
+     * The set is used as is rather than copied.
+     * 
+     * @param container the container
+     * @param order the order of the handler within its phase
+     * @param phase the phase of the handler
+     * @param supportedAnnotations the live set of supported annotations
+     */
+    protected AbstractComponentHandler(@NotNull Container container, int order, @NotNull Phase phase,
+                                     @NotNull Set<Class<? extends Annotation>> supportedAnnotations) {
+        this.container = container;
+        this.order = order;
+        this.phase = phase;
+        this.supportedAnnotations = Collections.unmodifiableSet(supportedAnnotations);
     }
     
     protected AbstractComponentHandler(@NotNull Container container, int order, 
@@ -44,13 +65,12 @@ public abstract class AbstractComponentHandler implements ComponentRegisterHandl
             return true;
         }
         
-        for (Class<? extends Annotation> annotationClass : supportedAnnotations) {
-            if (componentClass.isAnnotationPresent(annotationClass)) {
-                return true;
-            }
-        }
-        
-        return false;
+        return ClassMetadata.of(componentClass).isAnnotatedWithAny(supportedAnnotations);
+    }
+
+    @Override
+    public boolean supports(@NotNull Class<?> componentClass, @NotNull ClassMetadata metadata) {
+        return supports(componentClass);
     }
 
     @NotNull
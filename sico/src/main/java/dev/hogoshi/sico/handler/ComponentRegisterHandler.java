@@ -1,7 +1,13 @@
 package dev.hogoshi.sico.handler;
 
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Set;
+
 import org.jetbrains.annotations.NotNull;
 
+import dev.hogoshi.sico.container.ClassMetadata;
+
 /**
  * Interface for handlers that process components during registration.
  * Handlers can be registered with the container to provide custom processing
@@ -16,6 +22,19 @@ public interface ComponentRegisterHandler extends Comparable<ComponentRegisterHa
      */
     void handle(@NotNull Class<?> componentClass);
 
+    /**
+     * Handles the component class using its shared, precomputed metadata.
+     * The container always calls this variant, so handlers that need annotated fields or methods
+     * should override it instead of reflecting over the class again.
+     * The default implementation delegates to {@link #handle(Class)}.
+     * 
+     * @param componentClass the component class to handle
+     * @param metadata the metadata of the component class
+     */
+    default void handle(@NotNull Class<?> componentClass, @NotNull ClassMetadata metadata) {
+        handle(componentClass);
+    }
+
     /**
      * Checks if this handler supports the given component class.
      * 
@@ -24,6 +43,32 @@ public interface ComponentRegisterHandler extends Comparable<ComponentRegisterHa
      */
     boolean supports(@NotNull Class<?> componentClass);
 
+    /**
+     * Checks if this handler supports the given component class using its precomputed metadata.
+     * The default implementation delegates to {@link #supports(Class)}.
+     * 
+     * @param componentClass the component class to check
+     * @param metadata the metadata of the component class
+     * @return true if this handler supports the component class, false otherwise
+     */
+    default boolean supports(@NotNull Class<?> componentClass, @NotNull ClassMetadata metadata) {
+        return supports(componentClass);
+    }
+
+    /**
+     * Gets the class annotations this handler is restricted to.
+     * For handlers that inherit the annotation check of {@link AbstractComponentHandler}, the container only consults
+     * {@link #supports(Class, ClassMetadata)} for classes carrying at least one of them, which lets it skip the handler
+     * for all other classes without calling it. Any other handler is asked for every class, so for it the set is only a hint.
+     * The default implementation returns an empty set, meaning the handler may apply to any class.
+     * 
+     * @return the supported annotation types, or an empty set if the handler is not restricted
+     */
+    @NotNull
+    default Set<Class<? extends Annotation>> getSupportedAnnotations() {
+        return Collections.emptySet();
+    }
+
     /**
      * Gets the phase in which this handler should be executed.
      * 
@@ -1,16 +1,12 @@
 package dev.hogoshi.sico.handler.predefined;
 
-import dev.hogoshi.sico.annotation.Autowired;
-import dev.hogoshi.sico.annotation.Component;
-import dev.hogoshi.sico.annotation.Configuration;
-import dev.hogoshi.sico.annotation.Repository;
-import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.BeanFactory;
+import dev.hogoshi.sico.container.ClassMetadata;
 import dev.hogoshi.sico.container.Container;
 import dev.hogoshi.sico.handler.AbstractComponentHandler;
 import dev.hogoshi.sico.handler.ComponentRegisterHandler.Phase;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
@@ -18,11 +14,31 @@ import java.lang.reflect.Field;
 public class AutowiredHandler extends AbstractComponentHandler {
 
     public AutowiredHandler(@NotNull Container container) {
-        super(container, 10, Phase.POST_PROCESSING, Component.class, Service.class, Repository.class, Configuration.class);
+        super(container, 10, Phase.POST_PROCESSING, container.getComponentAnnotations());
     }
 
     @Override
     public void handle(@NotNull Class<?> componentClass) {
+        handle(componentClass, ClassMetadata.of(componentClass));
+    }
+
+    @Override
+    public void handle(@NotNull Class<?> componentClass, @NotNull ClassMetadata metadata) {
+        BeanFactory<Object> beanFactory = metadata.getBeanFactory();
+        if (beanFactory != null) {
+            if (beanFactory.hasAutowiredFields()) {
+                Object instance = getContainer().resolve(componentClass);
+                if (instance != null) {
+                    beanFactory.autowire(instance, getContainer());
+                }
+            }
+            return;
+        }
+
+        if (metadata.getAutowiredFields().isEmpty()) {
+            return;
+        }
+
         try {
             Object instance = getContainer().resolve(componentClass);
             if (instance == null) {
@@ -31,27 +47,25 @@ public class AutowiredHandler extends AbstractComponentHandler {
 
             MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(componentClass, MethodHandles.lookup());
             
-            for (Field field : componentClass.getDeclaredFields()) {
-                if (field.isAnnotationPresent(Autowired.class)) {
-                    try {
-                        VarHandle varHandle = lookup.unreflectVarHandle(field);
-                        
-                        if (varHandle.get(instance) != null) {
-                            continue;
-                        }
-                        
-                        Object dependency = getContainer().resolve(field.getType());
-                        
-                        if (dependency != null) {
-                            varHandle.set(instance, dependency);
-                        }
-                    } catch (IllegalAccessException e) {
-                        throw new RuntimeException("Failed to access field: " + field.getName(), e);
+            for (Field field : metadata.getAutowiredFields()) {
+                try {
+                    VarHandle varHandle = lookup.unreflectVarHandle(field);
+                    
+                    if (varHandle.get(instance) != null) {
+                        continue;
+                    }
+                    
+                    Object dependency = getContainer().resolveDependency(field.getType(), field.getGenericType());
+                    
+                    if (dependency != null) {
+                        varHandle.set(instance, dependency);
                     }
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException("Failed to access field: " + field.getName(), e);
                 }
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            throw new IllegalStateException("Error processing @Autowired for class: " + componentClass.getName(), e);
         }
     }
 } 
\ No newline at end of file
@@ -3,41 +3,87 @@ package dev.hogoshi.sico.handler.predefined;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
-import dev.hogoshi.sico.annotation.Component;
-import dev.hogoshi.sico.annotation.Configuration;
-import dev.hogoshi.sico.annotation.PostConstruct;
-import dev.hogoshi.sico.annotation.Repository;
-import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.BeanFactory;
+import dev.hogoshi.sico.container.ClassMetadata;
 import dev.hogoshi.sico.container.Container;
 import dev.hogoshi.sico.handler.AbstractComponentHandler;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+/**
+ * Invokes the {@code @PostConstruct} methods of components.
+ * A method may return a {@link CompletionStage}, in which case the component counts as initialized
+ * once the stage completes, without blocking the registration of other components.
+ * A component that depends on a component whose initialization is still in progress is initialized
+ * after it, on the thread completing the last of its dependencies, and is skipped if one of them fails.
+ */
 public class PostConstructHandler extends AbstractComponentHandler {
-    private final Set<Class<?>> initializedClasses = new HashSet<>();
+    private final Set<Class<?>> initializedClasses = ConcurrentHashMap.newKeySet();
+    private final Map<Class<?>, CompletableFuture<Void>> asyncInitializations = new ConcurrentHashMap<>();
+    @NotNull private final Function<Class<?>, ? extends Collection<Class<?>>> dependencies;
 
     public PostConstructHandler(Container container) {
-        super(container, 20, Phase.POST_PROCESSING, Component.class, Service.class, Repository.class, Configuration.class);
+        this(container, type -> Collections.emptyList());
+    }
+
+    /**
+     * Creates a handler that orders initializers after the asynchronous initializers of their dependencies.
+     *
+     * @param container the container
+     * @param dependencies the types a component class depends on
+     */
+    public PostConstructHandler(Container container, @NotNull Function<Class<?>, ? extends Collection<Class<?>>> dependencies) {
+        super(container, 20, Phase.POST_PROCESSING, container.getComponentAnnotations());
+        this.dependencies = dependencies;
     }
 
     @Override
     public void handle(@NotNull Class<?> componentClass) {
+        handle(componentClass, ClassMetadata.of(componentClass));
+    }
+
+    @Override
+    public void handle(@NotNull Class<?> componentClass, @NotNull ClassMetadata metadata) {
         if (initializedClasses.contains(componentClass)) {
             return;
         }
 
+        BeanFactory<Object> beanFactory = metadata.getBeanFactory();
+        if (beanFactory != null ? !beanFactory.hasPostConstruct() : metadata.getPostConstructMethods().isEmpty()) {
+            initializedClasses.add(componentClass);
+            return;
+        }
+
         try {
             Object instance = container.resolve(componentClass);
             if (instance == null) {
                 return;
             }
 
-            for (Method method : componentClass.getDeclaredMethods()) {
-                if (method.isAnnotationPresent(PostConstruct.class)) {
-                    invokePostConstructMethod(method, instance);
-                }
+            List<CompletableFuture<Void>> upstream = pendingDependencies(componentClass);
+            CompletableFuture<Void> initialization;
+            if (upstream.isEmpty()) {
+                initialization = initialize(metadata, beanFactory, instance);
+            } else {
+                initialization = CompletableFuture.allOf(upstream.toArray(new CompletableFuture<?>[0]))
+                        .thenCompose(ignored -> {
+                            CompletableFuture<Void> deferred = initialize(metadata, beanFactory, instance);
+                            return deferred != null ? deferred : CompletableFuture.completedFuture(null);
+                        });
+            }
+            if (initialization != null) {
+                asyncInitializations.put(componentClass, initialization);
             }
             
             initializedClasses.add(componentClass);
@@ -45,12 +91,80 @@ public class PostConstructHandler extends AbstractComponentHandler {
             throw new IllegalStateException("Error processing @PostConstruct for class: " + componentClass.getName(), e);
         }
     }
+
+    /**
+     * Gets a future that completes once every asynchronous initializer started so far, and every initializer
+     * deferred until one of them finished, has completed.
+     *
+     * @return the future, completed exceptionally with the first failure if an initializer failed
+     */
+    @NotNull
+    public CompletableFuture<Void> ready() {
+        return CompletableFuture.allOf(asyncInitializations.values().toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Collects the asynchronous initializations of the dependencies of a class that have not completed successfully.
+     */
+    @NotNull
+    private List<CompletableFuture<Void>> pendingDependencies(@NotNull Class<?> componentClass) {
+        if (asyncInitializations.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (Class<?> dependency : dependencies.apply(componentClass)) {
+            for (Map.Entry<Class<?>, CompletableFuture<Void>> entry : asyncInitializations.entrySet()) {
+                CompletableFuture<Void> future = entry.getValue();
+                if (entry.getKey() != componentClass && dependency.isAssignableFrom(entry.getKey())
+                        && (!future.isDone() || future.isCompletedExceptionally())) {
+                    pending.add(future);
+                }
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Invokes the post-construct methods of an instance.
+     *
+     * @return the completion of the stages the methods returned, or null if none returned one
+     */
+    @Nullable
+    private CompletableFuture<Void> initialize(@NotNull ClassMetadata metadata, @Nullable BeanFactory<Object> beanFactory,
+                                               @NotNull Object instance) {
+        if (beanFactory != null) {
+            invokeGeneratedPostConstruct(beanFactory, instance);
+            return null;
+        }
+
+        List<CompletableFuture<?>> stages = null;
+        for (Method method : metadata.getPostConstructMethods()) {
+            Object result = invokePostConstructMethod(method, instance);
+            if (result instanceof CompletionStage) {
+                if (stages == null) {
+                    stages = new ArrayList<>();
+                }
+                stages.add(((CompletionStage<?>) result).toCompletableFuture());
+            }
+        }
+        return stages == null ? null : CompletableFuture.allOf(stages.toArray(new CompletableFuture<?>[0]));
+    }
+    
+    private void invokeGeneratedPostConstruct(BeanFactory<Object> beanFactory, Object instance) {
+        try {
+            beanFactory.postConstruct(instance);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to invoke @PostConstruct methods of " + instance.getClass().getName(), e);
+        }
+    }
     
-    private void invokePostConstructMethod(Method method, Object instance) {
+    @Nullable
+    private Object invokePostConstructMethod(Method method, Object instance) {
         try {
             if (method.getParameterCount() == 0) {
                 MethodHandle methodHandle = MethodHandles.lookup().unreflect(method).bindTo(instance);
-                methodHandle.invoke();
+                return methodHandle.invoke();
             } else {
                 throw new IllegalStateException("@PostConstruct method should have no parameters: " + method.getName() + " in " + instance.getClass().getName());
             }
@@ -58,4 +172,4 @@ public class PostConstructHandler extends AbstractComponentHandler {
             throw new IllegalStateException("Failed to invoke @PostConstruct method " + method.getName(), e);
         }
     }
-} 
\ No newline at end of file
+}
@@ -3,44 +3,45 @@ package dev.hogoshi.sico.handler.predefined;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-import dev.hogoshi.sico.annotation.Component;
-import dev.hogoshi.sico.annotation.Configuration;
-import dev.hogoshi.sico.annotation.PreDestroy;
-import dev.hogoshi.sico.annotation.Repository;
-import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.BeanFactory;
+import dev.hogoshi.sico.container.ClassMetadata;
 import dev.hogoshi.sico.container.Container;
 import dev.hogoshi.sico.handler.AbstractComponentHandler;
 import org.jetbrains.annotations.NotNull;
 
 public class PreDestroyHandler extends AbstractComponentHandler {
-    private final Map<Class<?>, Set<Method>> preDestroyMethods = new HashMap<>();
-    private final Set<Class<?>> processedClasses = new HashSet<>();
+    private final Map<Class<?>, Set<Method>> preDestroyMethods = new ConcurrentHashMap<>();
+    private final Map<Class<?>, BeanFactory<Object>> generatedFactories = new ConcurrentHashMap<>();
+    private final Set<Class<?>> processedClasses = ConcurrentHashMap.newKeySet();
 
     public PreDestroyHandler(Container container) {
-        super(container, 10, Phase.REGISTRATION, Component.class, Service.class, Repository.class, Configuration.class);
+        super(container, 10, Phase.REGISTRATION, container.getComponentAnnotations());
     }
 
     @Override
     public void handle(@NotNull Class<?> componentClass) {
+        handle(componentClass, ClassMetadata.of(componentClass));
+    }
+
+    @Override
+    public void handle(@NotNull Class<?> componentClass, @NotNull ClassMetadata metadata) {
         if (processedClasses.contains(componentClass)) {
             return;
         }
 
         try {
-            Set<Method> methods = new HashSet<>();
-            for (Method method : componentClass.getDeclaredMethods()) {
-                if (method.isAnnotationPresent(PreDestroy.class)) {
-                    methods.add(method);
+            BeanFactory<Object> beanFactory = metadata.getBeanFactory();
+            if (beanFactory != null) {
+                if (beanFactory.hasPreDestroy()) {
+                    generatedFactories.put(componentClass, beanFactory);
                 }
-            }
-            
-            if (!methods.isEmpty()) {
-                preDestroyMethods.put(componentClass, methods);
+            } else if (!metadata.getPreDestroyMethods().isEmpty()) {
+                preDestroyMethods.put(componentClass, new HashSet<>(metadata.getPreDestroyMethods()));
             }
             
             processedClasses.add(componentClass);
@@ -50,6 +51,15 @@ public class PreDestroyHandler extends AbstractComponentHandler {
     }
 
     public void executePreDestroy(Class<?> componentClass) {
+        BeanFactory<Object> beanFactory = generatedFactories.get(componentClass);
+        if (beanFactory != null) {
+            Object instance = container.resolve(componentClass);
+            if (instance != null) {
+                invokeGeneratedPreDestroy(beanFactory, instance);
+            }
+            return;
+        }
+
         Set<Method> methods = preDestroyMethods.get(componentClass);
         if (methods == null || methods.isEmpty()) {
             return;
@@ -65,9 +75,23 @@ public class PreDestroyHandler extends AbstractComponentHandler {
         }
     }
 
-    public void executeAllPreDestroy() {
-        for (Class<?> componentClass : preDestroyMethods.keySet()) {
-            executePreDestroy(componentClass);
+    /**
+     * Gets the component classes that declare {@code @PreDestroy} methods.
+     *
+     * @return the classes
+     */
+    @NotNull
+    public Set<Class<?>> getDestructibleClasses() {
+        Set<Class<?>> classes = new HashSet<>(generatedFactories.keySet());
+        classes.addAll(preDestroyMethods.keySet());
+        return classes;
+    }
+
+    private void invokeGeneratedPreDestroy(BeanFactory<Object> beanFactory, Object instance) {
+        try {
+            beanFactory.preDestroy(instance);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to invoke @PreDestroy methods of " + instance.getClass().getName(), e);
         }
     }
     
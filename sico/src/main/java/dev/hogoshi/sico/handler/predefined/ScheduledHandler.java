@@ -2,16 +2,14 @@ package dev.hogoshi.sico.handler.predefined;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
-import dev.hogoshi.sico.annotation.Component;
-import dev.hogoshi.sico.annotation.Configuration;
-import dev.hogoshi.sico.annotation.Repository;
 import dev.hogoshi.sico.annotation.Scheduled;
-import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.ClassMetadata;
 import dev.hogoshi.sico.container.Container;
 import dev.hogoshi.sico.handler.AbstractComponentHandler;
 import dev.hogoshi.sico.scheduler.SchedulerService;
@@ -19,25 +17,32 @@ import org.jetbrains.annotations.NotNull;
 
 public class ScheduledHandler extends AbstractComponentHandler {
     private final SchedulerService schedulerService;
-    private final Map<Class<?>, List<String>> componentTaskIds = new HashMap<>();
+    private final Map<Class<?>, List<String>> componentTaskIds = new ConcurrentHashMap<>();
     
     public ScheduledHandler(Container container, SchedulerService schedulerService) {
-        super(container, 50, Phase.POST_PROCESSING, Component.class, Service.class, Repository.class, Configuration.class);
+        super(container, 50, Phase.POST_PROCESSING, container.getComponentAnnotations());
         this.schedulerService = schedulerService;
     }
 
     @Override
     public void handle(@NotNull Class<?> componentClass) {
+        handle(componentClass, ClassMetadata.of(componentClass));
+    }
+
+    @Override
+    public void handle(@NotNull Class<?> componentClass, @NotNull ClassMetadata metadata) {
+        if (metadata.getScheduledMethods().isEmpty()) {
+            return;
+        }
+
         try {
             Object instance = container.resolve(componentClass);
             if (instance == null) {
                 return;
             }
 
-            for (Method method : componentClass.getDeclaredMethods()) {
-                if (method.isAnnotationPresent(Scheduled.class)) {
-                    registerScheduledMethod(instance, method);
-                }
+            for (Method method : metadata.getScheduledMethods()) {
+                registerScheduledMethod(instance, method);
             }
         } catch (Exception e) {
             throw new IllegalStateException("Error processing @Scheduled for class: " + componentClass.getName(), e);
@@ -59,7 +64,7 @@ public class ScheduledHandler extends AbstractComponentHandler {
         if (schedulerService.isRunning()) {
             String taskId = schedulerService.scheduleTask(instance, method, initialDelay, interval, unit, fixedRate);
             
-            componentTaskIds.computeIfAbsent(instance.getClass(), k -> new ArrayList<>()).add(taskId);
+            componentTaskIds.computeIfAbsent(instance.getClass(), k -> new CopyOnWriteArrayList<>()).add(taskId);
         } else {
             throw new IllegalStateException("Unable to schedule task - scheduler service isn't running: " + instance.getClass().getName() + "." + method.getName());
         }
@@ -0,0 +1,214 @@
+package dev.hogoshi.sico.scanner;
+
+import java.nio.charset.StandardCharsets;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Reads the class-level annotations of a class file without loading the class.
+ * Only the constant pool and the {@code RuntimeVisibleAnnotations} attribute of the class are parsed;
+ * fields and methods are skipped over.
+ */
+final class ClassFileReader {
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations".getBytes(StandardCharsets.UTF_8);
+
+    @NotNull private final byte[] bytes;
+    @NotNull private final int[] constants;
+    private int position;
+
+    private ClassFileReader(@NotNull byte[] bytes) {
+        this.bytes = bytes;
+        this.constants = new int[u16(8)];
+    }
+
+    /**
+     * Checks if a class file carries any of the given annotations on the class itself.
+     *
+     * @param classFile the class file bytes
+     * @param descriptors the annotation type descriptors, e.g. {@code Ldev/hogoshi/sico/annotation/Component;}, as UTF-8 bytes
+     * @return true if at least one of the annotations is present
+     * @throws IllegalArgumentException if the class file is malformed
+     */
+    static boolean isAnnotatedWithAny(@NotNull byte[] classFile, @NotNull byte[][] descriptors) {
+        try {
+            if (classFile.length < 10 || (int) u32(classFile, 0) != MAGIC) {
+                throw new IllegalArgumentException("Not a class file");
+            }
+            ClassFileReader reader = new ClassFileReader(classFile);
+            return reader.readConstantPool(descriptors) && reader.readClassAnnotations(descriptors);
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated class file", e);
+        }
+    }
+
+    /**
+     * Records the offset of every constant pool entry.
+     *
+     * @return false if none of the descriptors occurs in the constant pool, which rules the class out early
+     */
+    private boolean readConstantPool(@NotNull byte[][] descriptors) {
+        boolean referenced = false;
+        position = 10;
+        for (int index = 1; index < constants.length; index++) {
+            constants[index] = position;
+            int tag = bytes[position++];
+            switch (tag) {
+                case 1:
+                    int length = u16(position);
+                    if (!referenced && matchesAny(position, descriptors)) {
+                        referenced = true;
+                    }
+                    position += 2 + length;
+                    break;
+                case 3:
+                case 4:
+                case 9:
+                case 10:
+                case 11:
+                case 12:
+                case 17:
+                case 18:
+                    position += 4;
+                    break;
+                case 5:
+                case 6:
+                    position += 8;
+                    index++;
+                    break;
+                case 7:
+                case 8:
+                case 16:
+                case 19:
+                case 20:
+                    position += 2;
+                    break;
+                case 15:
+                    position += 3;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag " + tag);
+            }
+        }
+        return referenced;
+    }
+
+    private boolean readClassAnnotations(@NotNull byte[][] descriptors) {
+        position += 6;
+        position += 2 + 2 * u16(position);
+        skipMembers();
+        skipMembers();
+
+        int attributes = u16(position);
+        position += 2;
+        for (int i = 0; i < attributes; i++) {
+            int name = u16(position);
+            int length = (int) u32(bytes, position + 2);
+            position += 6;
+            if (utf8Equals(name, RUNTIME_VISIBLE_ANNOTATIONS)) {
+                int annotations = u16(position);
+                position += 2;
+                for (int j = 0; j < annotations; j++) {
+                    int type = u16(position);
+                    for (byte[] descriptor : descriptors) {
+                        if (utf8Equals(type, descriptor)) {
+                            return true;
+                        }
+                    }
+                    position += 2;
+                    skipElementValuePairs();
+                }
+                return false;
+            }
+            position += length;
+        }
+        return false;
+    }
+
+    private void skipMembers() {
+        int count = u16(position);
+        position += 2;
+        for (int i = 0; i < count; i++) {
+            position += 6;
+            int attributes = u16(position);
+            position += 2;
+            for (int j = 0; j < attributes; j++) {
+                position += 6 + (int) u32(bytes, position + 2);
+            }
+        }
+    }
+
+    private void skipElementValuePairs() {
+        int pairs = u16(position);
+        position += 2;
+        for (int i = 0; i < pairs; i++) {
+            position += 2;
+            skipElementValue();
+        }
+    }
+
+    private void skipElementValue() {
+        int tag = bytes[position++];
+        switch (tag) {
+            case 'e':
+                position += 4;
+                break;
+            case '@':
+                position += 2;
+                skipElementValuePairs();
+                break;
+            case '[':
+                int values = u16(position);
+                position += 2;
+                for (int i = 0; i < values; i++) {
+                    skipElementValue();
+                }
+                break;
+            default:
+                position += 2;
+                break;
+        }
+    }
+
+    private boolean matchesAny(int utf8, @NotNull byte[][] candidates) {
+        for (byte[] candidate : candidates) {
+            if (matches(utf8, candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean utf8Equals(int index, @NotNull byte[] expected) {
+        if (index <= 0 || index >= constants.length) {
+            return false;
+        }
+        int offset = constants[index];
+        return bytes[offset] == 1 && matches(offset + 1, expected);
+    }
+
+    /**
+     * Compares the UTF-8 constant whose length field starts at the given offset with the expected bytes.
+     */
+    private boolean matches(int offset, @NotNull byte[] expected) {
+        if (u16(offset) != expected.length) {
+            return false;
+        }
+        int start = offset + 2;
+        for (int i = 0; i < expected.length; i++) {
+            if (bytes[start + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int u16(int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static long u32(@NotNull byte[] bytes, int offset) {
+        return ((long) (bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+}
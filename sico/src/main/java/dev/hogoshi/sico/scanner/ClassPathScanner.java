@@ -0,0 +1,504 @@
+package dev.hogoshi.sico.scanner;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Finds the classes of a package on a class path without loading them.
+ * Directories and JAR files are supported, including JARs nested in other JARs
+ * ({@code jar:file:/app.jar!/BOOT-INF/lib/library.jar!/com/example}). Archives are read straight from
+ * their ZIP central directory and are opened at most once per scanner.
+ * Class names are returned in a deterministic order: archive order for JARs, name order for directories.
+ * <p>
+ * When required annotations are given, the class files themselves are read and only classes carrying one of those
+ * annotations are reported, so classes that cannot be components never reach a class loader.
+ * <p>
+ * With a {@link ForkJoinPool}, traversal and class file filtering are split into fork/join tasks whose results
+ * are merged in the sequential order.
+ * <p>
+ * With a {@link ScanCache}, the annotated classes of every directory and archive are cached together with a
+ * fingerprint of the location, and unchanged locations are not traversed again. The cached candidates do not depend
+ * on the filter, which is applied to them afterwards.
+ */
+public final class ClassPathScanner implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger(ClassPathScanner.class.getName());
+    private static final String CLASS_SUFFIX = ".class";
+    private static final String ARCHIVE_SEPARATOR = "!/";
+    private static final int FILTER_BATCH_SIZE = 64;
+
+    @NotNull private final ClassLoader classLoader;
+    @NotNull private final Predicate<String> filter;
+    @NotNull private final Predicate<String> candidateFilter;
+    @NotNull private final byte[][] annotationDescriptors;
+    @Nullable private final ForkJoinPool pool;
+    @Nullable private final ScanCache cache;
+    @NotNull private final String cacheKeySuffix;
+    @NotNull private final Map<String, ZipArchive> archives = new HashMap<>();
+
+    /**
+     * Creates a scanner that reports every class accepted by the filter.
+     *
+     * @param classLoader the class loader whose resources are scanned
+     * @param filter a predicate on fully qualified class names; rejected classes are skipped
+     */
+    public ClassPathScanner(@NotNull ClassLoader classLoader, @NotNull Predicate<String> filter) {
+        this(classLoader, filter, Collections.emptySet());
+    }
+
+    /**
+     * Creates a scanner that only reports classes carrying at least one of the given annotations.
+     *
+     * @param classLoader the class loader whose resources are scanned
+     * @param filter a predicate on fully qualified class names; rejected classes are skipped
+     * @param annotations the class annotations to look for in the class files; if empty, class files are not read
+     */
+    public ClassPathScanner(@NotNull ClassLoader classLoader, @NotNull Predicate<String> filter,
+                            @NotNull Collection<Class<? extends Annotation>> annotations) {
+        this(classLoader, filter, annotations, null);
+    }
+
+    /**
+     * Creates a scanner that only reports classes carrying at least one of the given annotations,
+     * optionally traversing and filtering in parallel. The result does not depend on the pool.
+     *
+     * @param classLoader the class loader whose resources are scanned
+     * @param filter a predicate on fully qualified class names; it must be thread-safe when a pool is given
+     * @param annotations the class annotations to look for in the class files; if empty, class files are not read
+     * @param pool the pool to scan with, or null to scan on the calling thread
+     */
+    public ClassPathScanner(@NotNull ClassLoader classLoader, @NotNull Predicate<String> filter,
+                            @NotNull Collection<Class<? extends Annotation>> annotations, @Nullable ForkJoinPool pool) {
+        this(classLoader, filter, annotations, pool, null);
+    }
+
+    /**
+     * Creates a scanner that only reports classes carrying at least one of the given annotations,
+     * optionally traversing and filtering in parallel and reusing the results of earlier scans.
+     *
+     * @param classLoader the class loader whose resources are scanned
+     * @param filter a predicate on fully qualified class names; it must be thread-safe when a pool is given
+     * @param annotations the class annotations to look for in the class files; if empty, class files are not read
+     * @param pool the pool to scan with, or null to scan on the calling thread
+     * @param cache the cache of earlier scan results, or null to always traverse the class path
+     */
+    public ClassPathScanner(@NotNull ClassLoader classLoader, @NotNull Predicate<String> filter,
+                            @NotNull Collection<Class<? extends Annotation>> annotations, @Nullable ForkJoinPool pool,
+                            @Nullable ScanCache cache) {
+        this.classLoader = classLoader;
+        this.pool = pool;
+        this.cache = cache;
+        this.filter = filter;
+        this.candidateFilter = cache != null ? className -> true : filter;
+        this.annotationDescriptors = new byte[annotations.size()][];
+        StringBuilder keySuffix = new StringBuilder();
+        int i = 0;
+        for (Class<? extends Annotation> annotation : annotations) {
+            annotationDescriptors[i++] = ('L' + annotation.getName().replace('.', '/') + ';').getBytes(StandardCharsets.UTF_8);
+            keySuffix.append('|').append(annotation.getName());
+        }
+        this.cacheKeySuffix = keySuffix.toString();
+    }
+
+    /**
+     * Finds the classes of a package and its subpackages.
+     *
+     * @param packageName the package name
+     * @return the names of the matching classes, without duplicates
+     * @throws IOException if a directory or archive cannot be read
+     */
+    @NotNull
+    public List<String> scan(@NotNull String packageName) throws IOException {
+        return scan(packageName, resource -> true);
+    }
+
+    /**
+     * Finds the classes of a package and its subpackages in some of the directories and archives holding the package.
+     *
+     * @param packageName the package name
+     * @param resourceFilter a predicate on the package resources, as returned by {@link ClassLoader#getResources(String)};
+     *                       rejected resources are not traversed
+     * @return the names of the matching classes, without duplicates
+     * @throws IOException if a directory or archive cannot be read
+     */
+    @NotNull
+    public List<String> scan(@NotNull String packageName, @NotNull Predicate<URL> resourceFilter) throws IOException {
+        String path = packageName.replace('.', '/');
+        Set<String> classNames = new LinkedHashSet<>();
+
+        for (URL resource : Collections.list(classLoader.getResources(path))) {
+            if (!resourceFilter.test(resource)) {
+                continue;
+            }
+            classNames.addAll(cache != null ? scanCached(resource, packageName) : scanResource(resource, packageName));
+        }
+
+        return new ArrayList<>(classNames);
+    }
+
+    /**
+     * Releases the archives opened by this scanner.
+     */
+    @Override
+    public synchronized void close() {
+        archives.clear();
+    }
+
+    @NotNull
+    private List<String> scanResource(@NotNull URL resource, @NotNull String packageName) throws IOException {
+        String protocol = resource.getProtocol();
+        if ("file".equals(protocol)) {
+            return scanDirectory(toPath(resource), packageName);
+        } else if ("jar".equals(protocol)) {
+            return scanArchive(resource);
+        }
+        LOGGER.log(Level.WARNING, "Skipping unsupported class path resource: " + resource);
+        return Collections.emptyList();
+    }
+
+    /**
+     * Scans a resource through the cache, traversing it only if its fingerprint changed, and applies the filter.
+     */
+    @NotNull
+    private List<String> scanCached(@NotNull URL resource, @NotNull String packageName) throws IOException {
+        String protocol = resource.getProtocol();
+        long fingerprint;
+        if ("file".equals(protocol)) {
+            fingerprint = directoryFingerprint(toPath(resource));
+        } else if ("jar".equals(protocol) && resource.toString().contains(ARCHIVE_SEPARATOR)) {
+            fingerprint = archiveFingerprint(toPath(new URL(resource.toString().substring("jar:".length()).split(ARCHIVE_SEPARATOR, -1)[0])));
+        } else {
+            return scanResource(resource, packageName);
+        }
+
+        String key = resource + cacheKeySuffix;
+        List<String> candidates = cache.get(key, fingerprint);
+        if (candidates == null) {
+            candidates = scanResource(resource, packageName);
+            cache.put(key, fingerprint, candidates);
+        }
+
+        List<String> classNames = new ArrayList<>();
+        for (String className : candidates) {
+            if (filter.test(className)) {
+                classNames.add(className);
+            }
+        }
+        return classNames;
+    }
+
+    @NotNull
+    private List<String> scanDirectory(@NotNull Path directory, @NotNull String packageName) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        if (pool != null) {
+            return invoke(new DirectoryTask(directory, packageName));
+        }
+
+        List<String> classNames = new ArrayList<>();
+        for (Path child : listSorted(directory)) {
+            String fileName = child.getFileName().toString();
+            if (Files.isDirectory(child)) {
+                classNames.addAll(scanDirectory(child, packageName + '.' + fileName));
+            } else if (fileName.endsWith(CLASS_SUFFIX)) {
+                Candidate candidate = new Candidate(toClassName(packageName, fileName), () -> Files.readAllBytes(child));
+                if (accept(candidate)) {
+                    classNames.add(candidate.className);
+                }
+            }
+        }
+        return classNames;
+    }
+
+    @NotNull
+    private List<String> scanArchive(@NotNull URL resource) throws IOException {
+        String[] parts = resource.toString().substring("jar:".length()).split(ARCHIVE_SEPARATOR, -1);
+        if (parts.length < 2) {
+            LOGGER.log(Level.WARNING, "Skipping malformed archive resource: " + resource);
+            return Collections.emptyList();
+        }
+
+        ZipArchive archive = openArchive(parts);
+        String prefix = parts[parts.length - 1];
+        if (!prefix.isEmpty() && !prefix.endsWith("/")) {
+            prefix = prefix + '/';
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (ZipArchive.Entry entry : archive.getEntries()) {
+            String name = entry.getName();
+            if (name.startsWith(prefix) && name.endsWith(CLASS_SUFFIX)) {
+                candidates.add(new Candidate(name.substring(0, name.length() - CLASS_SUFFIX.length()).replace('/', '.'),
+                        () -> archive.read(entry)));
+            }
+        }
+
+        if (pool != null) {
+            return invoke(new FilterTask(candidates, 0, candidates.size()));
+        }
+        return filter(candidates, 0, candidates.size());
+    }
+
+    /**
+     * Opens the innermost archive of a {@code jar:} URL split at its archive separators, reusing archives opened before.
+     */
+    @NotNull
+    private synchronized ZipArchive openArchive(@NotNull String[] parts) throws IOException {
+        String key = parts[0];
+        ZipArchive archive = archives.get(key);
+        if (archive == null) {
+            archive = ZipArchive.open(toPath(new URL(parts[0])));
+            archives.put(key, archive);
+        }
+        for (int i = 1; i < parts.length - 1; i++) {
+            key = key + ARCHIVE_SEPARATOR + parts[i];
+            ZipArchive nested = archives.get(key);
+            if (nested == null) {
+                nested = archive.nested(parts[i]);
+                archives.put(key, nested);
+            }
+            archive = nested;
+        }
+        return archive;
+    }
+
+    @NotNull
+    private List<String> filter(@NotNull List<Candidate> candidates, int from, int to) throws IOException {
+        List<String> classNames = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Candidate candidate = candidates.get(i);
+            if (accept(candidate)) {
+                classNames.add(candidate.className);
+            }
+        }
+        return classNames;
+    }
+
+    private boolean accept(@NotNull Candidate candidate) throws IOException {
+        String className = candidate.className;
+        if (className.endsWith("package-info") || className.endsWith("module-info") || !candidateFilter.test(className)) {
+            return false;
+        }
+        return annotationDescriptors.length == 0 || hasRequiredAnnotation(className, candidate.source.read());
+    }
+
+    private boolean hasRequiredAnnotation(@NotNull String className, @NotNull byte[] classFile) {
+        try {
+            return ClassFileReader.isAnnotatedWithAny(classFile, annotationDescriptors);
+        } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.FINE, "Cannot read class file of " + className + ", leaving it to the class loader", e);
+            return true;
+        }
+    }
+
+    @NotNull
+    private List<String> invoke(@NotNull ForkJoinTask<List<String>> task) throws IOException {
+        try {
+            return ForkJoinTask.getPool() == pool ? task.invoke() : pool.invoke(task);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Fingerprints an archive by its size and modification time.
+     */
+    private static long archiveFingerprint(@NotNull Path archive) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(archive, BasicFileAttributes.class);
+        return mix(mix(attributes.size()) + attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * Fingerprints a directory tree by the relative paths, sizes and modification times of all its entries.
+     * Only file attributes are read, and the result does not depend on the traversal order.
+     */
+    private static long directoryFingerprint(@NotNull Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long[] fingerprint = new long[2];
+        Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                long hash = mix(directory.relativize(file).toString().hashCode());
+                hash = mix(hash + attributes.size());
+                fingerprint[0] += mix(hash + attributes.lastModifiedTime().toMillis());
+                fingerprint[1]++;
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                fingerprint[0] += mix(~directory.relativize(dir).toString().hashCode());
+                fingerprint[1]++;
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return mix(fingerprint[0] + fingerprint[1]);
+    }
+
+    /**
+     * Spreads the bits of a value (the SplitMix64 finalizer).
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @NotNull
+    private static List<Path> listSorted(@NotNull Path directory) throws IOException {
+        List<Path> children = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path child : stream) {
+                children.add(child);
+            }
+        }
+        Collections.sort(children);
+        return children;
+    }
+
+    @NotNull
+    private static String toClassName(@NotNull String packageName, @NotNull String fileName) {
+        return packageName + '.' + fileName.substring(0, fileName.length() - CLASS_SUFFIX.length());
+    }
+
+    @NotNull
+    private static Path toPath(@NotNull URL url) throws IOException {
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new IOException("Unsupported class path location: " + url, e);
+        }
+    }
+
+    /**
+     * Lazily supplies the bytes of a class file.
+     */
+    @FunctionalInterface
+    private interface ClassFileSource {
+        @NotNull
+        byte[] read() throws IOException;
+    }
+
+    /**
+     * A class found on the class path, together with access to its class file.
+     */
+    private static final class Candidate {
+        @NotNull private final String className;
+        @NotNull private final ClassFileSource source;
+
+        private Candidate(@NotNull String className, @NotNull ClassFileSource source) {
+            this.className = className;
+            this.source = source;
+        }
+    }
+
+    /**
+     * Traverses a directory in parallel. Subdirectories and runs of class files are forked as separate tasks
+     * and their results are joined in name order, which reproduces the sequential traversal order.
+     */
+    private final class DirectoryTask extends RecursiveTask<List<String>> {
+        @NotNull private final Path directory;
+        @NotNull private final String packageName;
+
+        private DirectoryTask(@NotNull Path directory, @NotNull String packageName) {
+            this.directory = directory;
+            this.packageName = packageName;
+        }
+
+        @Override
+        protected List<String> compute() {
+            try {
+                List<ForkJoinTask<List<String>>> parts = new ArrayList<>();
+                List<Candidate> files = new ArrayList<>();
+                for (Path child : listSorted(directory)) {
+                    String fileName = child.getFileName().toString();
+                    if (Files.isDirectory(child)) {
+                        if (!files.isEmpty()) {
+                            parts.add(new FilterTask(files, 0, files.size()).fork());
+                            files = new ArrayList<>();
+                        }
+                        parts.add(new DirectoryTask(child, packageName + '.' + fileName).fork());
+                    } else if (fileName.endsWith(CLASS_SUFFIX)) {
+                        files.add(new Candidate(toClassName(packageName, fileName), () -> Files.readAllBytes(child)));
+                    }
+                }
+                if (!files.isEmpty()) {
+                    parts.add(new FilterTask(files, 0, files.size()).fork());
+                }
+
+                List<String> classNames = new ArrayList<>();
+                for (ForkJoinTask<List<String>> part : parts) {
+                    classNames.addAll(part.join());
+                }
+                return classNames;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Filters a range of candidates in parallel by splitting it in halves, keeping the candidate order.
+     */
+    private final class FilterTask extends RecursiveTask<List<String>> {
+        @NotNull private final List<Candidate> candidates;
+        private final int from;
+        private final int to;
+
+        private FilterTask(@NotNull List<Candidate> candidates, int from, int to) {
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<String> compute() {
+            if (to - from <= FILTER_BATCH_SIZE) {
+                try {
+                    return filter(candidates, from, to);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            int middle = (from + to) >>> 1;
+            FilterTask right = new FilterTask(candidates, middle, to);
+            right.fork();
+            List<String> classNames = new FilterTask(candidates, from, middle).compute();
+            classNames.addAll(right.join());
+            return classNames;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package dev.hogoshi.sico.scanner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+/**
+ * Compile-time component index written by the {@code sico-processor} annotation processor to {@value #LOCATION}.
+ * All index resources visible to a class loader are merged, in class path order.
+ * Each line describes one component:
+ * <pre>
+ * className	stereotype	scope	name	postConstruct,...	preDestroy,...	scheduled,...
+ * </pre>
+ * Only the class name is read; the container takes everything else from the loaded class.
+ * <p>
+ * An index only speaks for the class path root it was found in, such as a JAR or an output directory.
+ * Classes under other roots, compiled without the processor, still have to be found by traversing them.
+ */
+public final class ComponentIndex {
+    public static final String LOCATION = "META-INF/sico/components.idx";
+
+    @Getter @NotNull private final List<String> classNames;
+    @NotNull private final Set<String> roots;
+
+    private ComponentIndex(@NotNull List<String> classNames, @NotNull Set<String> roots) {
+        this.classNames = Collections.unmodifiableList(classNames);
+        this.roots = roots;
+    }
+
+    /**
+     * Loads the component index visible to a class loader.
+     *
+     * @param classLoader the class loader
+     * @return the merged index, or null if there is no index resource
+     * @throws IOException if an index resource cannot be read or is malformed
+     */
+    @Nullable
+    public static ComponentIndex load(@NotNull ClassLoader classLoader) throws IOException {
+        List<URL> resources = Collections.list(classLoader.getResources(LOCATION));
+        if (resources.isEmpty()) {
+            return null;
+        }
+
+        Set<String> classNames = new LinkedHashSet<>();
+        Set<String> roots = new HashSet<>();
+        for (URL resource : resources) {
+            String location = resource.toString();
+            roots.add(location.substring(0, location.length() - LOCATION.length()));
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty() || line.startsWith("#")) {
+                        continue;
+                    }
+                    classNames.add(parseClassName(line, resource));
+                }
+            }
+        }
+        return new ComponentIndex(new ArrayList<>(classNames), roots);
+    }
+
+    /**
+     * Checks whether a package resource, as returned by {@link ClassLoader#getResources(String)} for the path of
+     * a package, lies in a class path root that has an index. Such a resource need not be traversed,
+     * since the index lists all of its components.
+     *
+     * @param resource the package resource
+     * @param packageName the package name
+     * @return true if the root of the resource is indexed
+     */
+    public boolean isIndexed(@NotNull URL resource, @NotNull String packageName) {
+        String location = resource.toString();
+        if (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1);
+        }
+        String path = packageName.replace('.', '/');
+        if (!location.endsWith(path)) {
+            return false;
+        }
+        String root = location.substring(0, location.length() - path.length());
+        return roots.contains(path.isEmpty() ? root + '/' : root);
+    }
+
+    /**
+     * Gets the indexed classes of a package and its subpackages, in index order.
+     *
+     * @param packageName the package name
+     * @param filter a predicate on fully qualified class names; rejected classes are skipped
+     * @return the class names
+     */
+    @NotNull
+    public List<String> getClassNames(@NotNull String packageName, @NotNull Predicate<String> filter) {
+        String prefix = packageName.isEmpty() ? "" : packageName + '.';
+        List<String> result = new ArrayList<>();
+        for (String className : classNames) {
+            if (className.startsWith(prefix) && filter.test(className)) {
+                result.add(className);
+            }
+        }
+        return result;
+    }
+
+    @NotNull
+    private static String parseClassName(@NotNull String line, @NotNull URL resource) throws IOException {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 7 || fields[0].isEmpty()) {
+            throw new IOException("Malformed component index entry in " + resource + ": " + line);
+        }
+        return fields[0];
+    }
+}
@@ -0,0 +1,223 @@
+package dev.hogoshi.sico.scanner;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+/**
+ * Persistent cache of class path scan results.
+ * For every scanned location the cache holds the candidate class names together with a fingerprint of the location:
+ * the size and modification time of the archive for JARs, and the names, sizes and modification times of all
+ * entries for directories. A scan whose fingerprint matches reuses the stored candidates without opening archives
+ * or reading class files.
+ * <p>
+ * The cache is stored in a compact binary file that is read through a memory-mapped {@link FileChannel}:
+ * <pre>
+ * int magic, int version, int entryCount
+ * entryCount times: string key, long fingerprint, int classCount, classCount times: string className
+ * string: unsigned short length, UTF-8 bytes
+ * </pre>
+ * The cache is thread-safe.
+ */
+public final class ScanCache {
+    private static final Logger LOGGER = Logger.getLogger(ScanCache.class.getName());
+    private static final int MAGIC = 0x5349434F;
+    private static final int VERSION = 1;
+
+    @Getter @NotNull private final Path file;
+    @NotNull private final Map<String, Entry> entries;
+    private volatile boolean modified;
+
+    private ScanCache(@NotNull Path file, @NotNull Map<String, Entry> entries) {
+        this.file = file;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens a cache file. A missing, outdated or corrupt file yields an empty cache that replaces the file on save.
+     *
+     * @param file the cache file
+     * @return the cache
+     * @throws IOException if the file exists but cannot be read
+     */
+    @NotNull
+    public static ScanCache open(@NotNull Path file) throws IOException {
+        Map<String, Entry> entries = new ConcurrentHashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            read(buffer, entries);
+        } catch (NoSuchFileException e) {
+            return new ScanCache(file, entries);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, "Discarding corrupt scan cache: " + file, e);
+            entries.clear();
+        }
+        return new ScanCache(file, entries);
+    }
+
+    private static void read(@NotNull ByteBuffer buffer, @NotNull Map<String, Entry> entries) {
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            LOGGER.fine("Ignoring scan cache with an unknown format");
+            return;
+        }
+
+        int entryCount = buffer.getInt();
+        for (int i = 0; i < entryCount; i++) {
+            String key = readString(buffer);
+            long fingerprint = buffer.getLong();
+            int classCount = buffer.getInt();
+            if (classCount < 0 || classCount > buffer.remaining() / 2) {
+                throw new IllegalArgumentException("Invalid class count: " + classCount);
+            }
+            List<String> classNames = new ArrayList<>(classCount);
+            for (int j = 0; j < classCount; j++) {
+                classNames.add(readString(buffer));
+            }
+            entries.put(key, new Entry(fingerprint, Collections.unmodifiableList(classNames)));
+        }
+    }
+
+    /**
+     * Gets the cached candidates of a location.
+     *
+     * @param key the location key
+     * @param fingerprint the current fingerprint of the location
+     * @return the cached class names, or null if the location is not cached or has changed
+     */
+    @Nullable
+    List<String> get(@NotNull String key, long fingerprint) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.fingerprint == fingerprint ? entry.classNames : null;
+    }
+
+    /**
+     * Stores the candidates of a location.
+     *
+     * @param key the location key
+     * @param fingerprint the fingerprint of the location the candidates were read from
+     * @param classNames the class names
+     */
+    void put(@NotNull String key, long fingerprint, @NotNull List<String> classNames) {
+        entries.put(key, new Entry(fingerprint, Collections.unmodifiableList(new ArrayList<>(classNames))));
+        modified = true;
+    }
+
+    /**
+     * Writes the cache back to its file if it changed since it was opened or last saved.
+     * The file is replaced atomically where the file system supports it.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save() throws IOException {
+        if (!modified) {
+            return;
+        }
+        modified = false;
+
+        List<Map.Entry<String, Entry>> snapshot = new ArrayList<>(entries.entrySet());
+        int size = 12;
+        List<byte[]> encoded = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : snapshot) {
+            byte[] key = encode(entry.getKey());
+            encoded.add(key);
+            size += 2 + key.length + 12;
+            for (String className : entry.getValue().classNames) {
+                byte[] name = encode(className);
+                encoded.add(name);
+                size += 2 + name.length;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(snapshot.size());
+        int next = 0;
+        for (Map.Entry<String, Entry> entry : snapshot) {
+            writeString(buffer, encoded.get(next++));
+            buffer.putLong(entry.getValue().fingerprint).putInt(entry.getValue().classNames.size());
+            for (int i = 0; i < entry.getValue().classNames.size(); i++) {
+                writeString(buffer, encoded.get(next++));
+            }
+        }
+        buffer.flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            modified = true;
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    @NotNull
+    private static String readString(@NotNull ByteBuffer buffer) {
+        int length = buffer.getShort() & 0xFFFF;
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(@NotNull ByteBuffer buffer, @NotNull byte[] bytes) {
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    @NotNull
+    private static byte[] encode(@NotNull String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IllegalArgumentException("String too long for the scan cache: " + value.substring(0, 64) + "...");
+        }
+        return bytes;
+    }
+
+    /**
+     * Cached candidates of a location.
+     */
+    private static final class Entry {
+        private final long fingerprint;
+        @NotNull private final List<String> classNames;
+
+        private Entry(long fingerprint, @NotNull List<String> classNames) {
+            this.fingerprint = fingerprint;
+            this.classNames = classNames;
+        }
+    }
+}
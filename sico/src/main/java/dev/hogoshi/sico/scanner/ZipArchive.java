@@ -0,0 +1,216 @@
+package dev.hogoshi.sico.scanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import lombok.Getter;
+
+/**
+ * Minimal read-only view of a ZIP (JAR) archive that is read straight from its central directory.
+ * Top-level archives are memory-mapped, nested archives are sliced out of their parent when stored
+ * uncompressed (as executable fat JARs do) and inflated into memory otherwise.
+ * No {@code java.util.zip.ZipFile} or {@code JarFile} is opened, so no native resources are held.
+ */
+final class ZipArchive {
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int CENTRAL_DIRECTORY_ENTRY = 0x02014b50;
+    private static final int LOCAL_FILE_HEADER = 0x04034b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    @NotNull private final ByteBuffer data;
+    private final int base;
+    @Getter @NotNull private final List<Entry> entries;
+
+    private ZipArchive(@NotNull ByteBuffer data) throws IOException {
+        this.data = data.order(ByteOrder.LITTLE_ENDIAN);
+
+        int end = findEndOfCentralDirectory();
+        int count = u16(end + 10);
+        long directorySize = u32(end + 12);
+        long directoryOffset = u32(end + 16);
+        if (count == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+            throw new IOException("ZIP64 archives are not supported");
+        }
+
+        // Archives may be prefixed (e.g. by a launch script); offsets are relative to the archive start.
+        this.base = (int) (end - directorySize - directoryOffset);
+        if (base < 0) {
+            throw new IOException("Corrupt central directory");
+        }
+
+        List<Entry> result = new ArrayList<>(count);
+        int position = (int) (base + directoryOffset);
+        for (int i = 0; i < count; i++) {
+            if (data.getInt(position) != CENTRAL_DIRECTORY_ENTRY) {
+                throw new IOException("Corrupt central directory entry at " + position);
+            }
+            int nameLength = u16(position + 28);
+            byte[] name = bytes(position + 46, nameLength);
+            result.add(new Entry(new String(name, StandardCharsets.UTF_8), u16(position + 10),
+                    u32(position + 20), u32(position + 24), u32(position + 42)));
+            position += 46 + nameLength + u16(position + 30) + u16(position + 32);
+        }
+        this.entries = Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Opens an archive file by memory-mapping it.
+     *
+     * @param file the archive file
+     * @return the archive
+     * @throws IOException if the file cannot be read or is not a valid archive
+     */
+    @NotNull
+    static ZipArchive open(@NotNull Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Archive too large: " + file);
+            }
+            return new ZipArchive(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Opens an archive stored as an entry of this archive.
+     *
+     * @param name the entry name, e.g. {@code BOOT-INF/lib/library.jar}
+     * @return the nested archive
+     * @throws IOException if the entry does not exist or is not a valid archive
+     */
+    @NotNull
+    ZipArchive nested(@NotNull String name) throws IOException {
+        Entry entry = find(name);
+        if (entry == null) {
+            throw new IOException("Nested archive not found: " + name);
+        }
+        if (entry.method == STORED) {
+            ByteBuffer slice = data.duplicate();
+            int start = dataStart(entry);
+            slice.limit(start + (int) entry.compressedSize).position(start);
+            return new ZipArchive(slice.slice());
+        }
+        return new ZipArchive(ByteBuffer.wrap(read(entry)));
+    }
+
+    /**
+     * Reads the uncompressed content of an entry.
+     *
+     * @param entry the entry
+     * @return the content
+     * @throws IOException if the entry uses an unsupported compression method or is corrupt
+     */
+    @NotNull
+    byte[] read(@NotNull Entry entry) throws IOException {
+        // Inflater.setInput(ByteBuffer) is Java 11+, so deflated entries are copied out as well.
+        byte[] compressed = bytes(dataStart(entry), (int) entry.compressedSize);
+        if (entry.method == STORED) {
+            return compressed;
+        }
+        if (entry.method != DEFLATED) {
+            throw new IOException("Unsupported compression method " + entry.method + " for " + entry.name);
+        }
+
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(compressed);
+            byte[] content = new byte[(int) entry.size];
+            int length = 0;
+            while (length < content.length && !inflater.finished()) {
+                int read = inflater.inflate(content, length, content.length - length);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += read;
+            }
+            if (length != content.length) {
+                throw new IOException("Truncated entry: " + entry.name);
+            }
+            return content;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt entry: " + entry.name, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Nullable
+    private Entry find(@NotNull String name) {
+        for (Entry entry : entries) {
+            if (entry.name.equals(name)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private int dataStart(@NotNull Entry entry) throws IOException {
+        int header = (int) (base + entry.localHeaderOffset);
+        if (data.getInt(header) != LOCAL_FILE_HEADER) {
+            throw new IOException("Corrupt local header for " + entry.name);
+        }
+        return header + 30 + u16(header + 26) + u16(header + 28);
+    }
+
+    private int findEndOfCentralDirectory() throws IOException {
+        int limit = Math.max(0, data.limit() - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_COMMENT_LENGTH);
+        for (int position = data.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; position >= limit; position--) {
+            if (data.getInt(position) == END_OF_CENTRAL_DIRECTORY) {
+                return position;
+            }
+        }
+        throw new IOException("Not a ZIP archive: end of central directory not found");
+    }
+
+    @NotNull
+    private byte[] bytes(int position, int length) {
+        byte[] result = new byte[length];
+        ByteBuffer source = data.duplicate();
+        source.position(position);
+        source.get(result);
+        return result;
+    }
+
+    private int u16(int position) {
+        return data.getShort(position) & 0xFFFF;
+    }
+
+    private long u32(int position) {
+        return data.getInt(position) & 0xFFFFFFFFL;
+    }
+
+    /**
+     * A central directory entry.
+     */
+    @Getter
+    static final class Entry {
+        @NotNull private final String name;
+        private final int method;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+
+        private Entry(@NotNull String name, int method, long compressedSize, long size, long localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+}
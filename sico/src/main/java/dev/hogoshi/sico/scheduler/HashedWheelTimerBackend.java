@@ -0,0 +1,322 @@
+package dev.hogoshi.sico.scheduler;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Timer backend on a hashed timing wheel.
+ * The wheel is an array of buckets, each a doubly linked list of tasks, that a single tick thread advances
+ * by one bucket per tick. A task is placed in the bucket of its due tick, with the number of full wheel turns
+ * left before it is due, so scheduling and cancelling a task take constant time regardless of how many tasks
+ * are scheduled. Due tasks are handed to a separate pool of worker threads, so a slow task never delays the ticks.
+ * <p>
+ * Schedule and cancel requests only enqueue the task into lock-free queues; the tick thread alone touches
+ * the buckets and applies the requests at its next tick. Tasks therefore run up to one tick late,
+ * which makes the tick duration the resolution of the timer.
+ */
+public class HashedWheelTimerBackend implements TimerBackend {
+    private static final Logger LOGGER = Logger.getLogger(HashedWheelTimerBackend.class.getName());
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final int mask;
+    private final int workerThreads;
+    @Nullable private volatile Wheel wheel;
+
+    /**
+     * Creates a backend with a 10 ms tick, 512 buckets and a worker pool the size of the available processors.
+     */
+    public HashedWheelTimerBackend() {
+        this(Duration.ofMillis(10), 512, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a backend.
+     *
+     * @param tick the duration of a tick, which is the resolution of the timer
+     * @param bucketCount the number of buckets, rounded up to a power of two; a task due within
+     *                    {@code tick * bucketCount} is never looked at before it is due
+     * @param workerThreads the number of threads running due tasks
+     * @throws IllegalArgumentException if the tick, the bucket count or the number of threads is not positive
+     */
+    public HashedWheelTimerBackend(@NotNull Duration tick, int bucketCount, int workerThreads) {
+        if (tick.isNegative() || tick.isZero()) {
+            throw new IllegalArgumentException("Tick must be positive: " + tick);
+        }
+        if (bucketCount < 1 || bucketCount > 1 << 30) {
+            throw new IllegalArgumentException("Bucket count must be between 1 and 2^30: " + bucketCount);
+        }
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("Worker threads must be positive: " + workerThreads);
+        }
+        this.tickNanos = tick.toNanos();
+        this.mask = (bucketCount == 1 ? 1 : Integer.highestOneBit(bucketCount - 1) << 1) - 1;
+        this.workerThreads = workerThreads;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (wheel != null) {
+            return;
+        }
+        Wheel wheel = new Wheel();
+        this.wheel = wheel;
+        wheel.tickThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        Wheel wheel = this.wheel;
+        if (wheel == null) {
+            return;
+        }
+        this.wheel = null;
+
+        wheel.tickThread.interrupt();
+        try {
+            wheel.tickThread.join();
+            wheel.workers.shutdown();
+            if (!wheel.workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                wheel.workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            wheel.workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @NotNull
+    @Override
+    public Handle schedule(@NotNull Runnable task, long initialDelay, long interval, @NotNull TimeUnit unit, boolean fixedRate) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        }
+        Wheel wheel = this.wheel;
+        if (wheel == null) {
+            throw new IllegalStateException("Timer backend is not started");
+        }
+
+        WheelTask wheelTask = new WheelTask(wheel, task, wheel.elapsedNanos() + unit.toNanos(Math.max(0, initialDelay)),
+                unit.toNanos(interval), fixedRate);
+        wheel.pendingTasks.add(wheelTask);
+        return wheelTask;
+    }
+
+    /**
+     * Gets the number of buckets of the wheel.
+     *
+     * @return the bucket count, a power of two
+     */
+    public int getBucketCount() {
+        return mask + 1;
+    }
+
+    /**
+     * The threads and buckets of one run of the backend, between a start and a stop.
+     */
+    private final class Wheel implements Runnable {
+        @NotNull final Bucket[] buckets = new Bucket[mask + 1];
+        @NotNull final Queue<WheelTask> pendingTasks = new ConcurrentLinkedQueue<>();
+        @NotNull final Queue<WheelTask> pendingCancellations = new ConcurrentLinkedQueue<>();
+        @NotNull final Thread tickThread;
+        @NotNull final ExecutorService workers;
+        final long startNanos = System.nanoTime();
+        long tick;
+
+        Wheel() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new Bucket();
+            }
+            tickThread = new Thread(this, "sico-timer");
+            tickThread.setDaemon(true);
+            AtomicInteger threadCount = new AtomicInteger();
+            workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+                Thread thread = new Thread(runnable, "sico-timer-worker-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        long elapsedNanos() {
+            return System.nanoTime() - startNanos;
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                long deadline = (tick + 1) * tickNanos;
+                long sleepNanos = deadline - elapsedNanos();
+                if (sleepNanos > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+
+                removeCancelled();
+                transferScheduled();
+                expire(buckets[(int) (tick & mask)]);
+                tick++;
+            }
+
+            for (Bucket bucket : buckets) {
+                bucket.clear();
+            }
+        }
+
+        private void removeCancelled() {
+            WheelTask task;
+            while ((task = pendingCancellations.poll()) != null) {
+                if (task.bucket != null) {
+                    task.bucket.remove(task);
+                }
+            }
+        }
+
+        /**
+         * Places newly scheduled and rescheduled tasks into the buckets of their due ticks.
+         * The number of transfers per tick is bounded so that a burst of schedules cannot stall the ticks.
+         */
+        private void transferScheduled() {
+            for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+                WheelTask task = pendingTasks.poll();
+                if (task == null) {
+                    break;
+                }
+                if (task.cancelled) {
+                    continue;
+                }
+
+                long dueTick = Math.max(task.deadlineNanos / tickNanos, tick);
+                task.remainingRounds = (dueTick - tick) / buckets.length;
+                buckets[(int) (dueTick & mask)].add(task);
+            }
+        }
+
+        private void expire(@NotNull Bucket bucket) {
+            WheelTask task = bucket.head;
+            while (task != null) {
+                WheelTask next = task.next;
+                if (task.remainingRounds <= 0) {
+                    bucket.remove(task);
+                    dispatch(task);
+                } else {
+                    task.remainingRounds--;
+                }
+                task = next;
+            }
+        }
+
+        private void dispatch(@NotNull WheelTask task) {
+            try {
+                workers.execute(task);
+            } catch (RejectedExecutionException e) {
+                // The backend is stopping
+            }
+        }
+    }
+
+    /**
+     * A periodic task. Only the tick thread links it into buckets; it is in at most one bucket at a time,
+     * and in none while it is queued or running.
+     */
+    private final class WheelTask implements Runnable, Handle {
+        @NotNull final Wheel wheel;
+        @NotNull final Runnable task;
+        final long intervalNanos;
+        final boolean fixedRate;
+        volatile boolean cancelled;
+        long deadlineNanos;
+        long remainingRounds;
+        @Nullable Bucket bucket;
+        @Nullable WheelTask previous;
+        @Nullable WheelTask next;
+
+        WheelTask(@NotNull Wheel wheel, @NotNull Runnable task, long deadlineNanos, long intervalNanos, boolean fixedRate) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+            this.intervalNanos = intervalNanos;
+            this.fixedRate = fixedRate;
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                wheel.pendingCancellations.add(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable e) {
+                LOGGER.log(Level.SEVERE, "Scheduled task failed and will not run again", e);
+                return;
+            }
+
+            deadlineNanos = fixedRate ? deadlineNanos + intervalNanos : wheel.elapsedNanos() + intervalNanos;
+            if (!cancelled) {
+                wheel.pendingTasks.add(this);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of the tasks due at the ticks mapping to one bucket.
+     */
+    private static final class Bucket {
+        @Nullable WheelTask head;
+        @Nullable WheelTask tail;
+
+        void add(@NotNull WheelTask task) {
+            task.bucket = this;
+            task.previous = tail;
+            task.next = null;
+            if (tail == null) {
+                head = task;
+            } else {
+                tail.next = task;
+            }
+            tail = task;
+        }
+
+        void remove(@NotNull WheelTask task) {
+            if (task.previous == null) {
+                head = task.next;
+            } else {
+                task.previous.next = task.next;
+            }
+            if (task.next == null) {
+                tail = task.previous;
+            } else {
+                task.next.previous = task.previous;
+            }
+            task.bucket = null;
+            task.previous = null;
+            task.next = null;
+        }
+
+        void clear() {
+            head = null;
+            tail = null;
+        }
+    }
+}
@@ -23,4 +23,15 @@ public interface Lifecycle {
      * @return true if the component is running, false otherwise
      */
     boolean isRunning();
+
+    /**
+     * Gets the phase of the component.
+     * A container starts its components in ascending phase order and stops them in descending order;
+     * components in the same phase are started and stopped concurrently.
+     *
+     * @return the phase, 0 by default
+     */
+    default int getPhase() {
+        return 0;
+    }
 } 
\ No newline at end of file
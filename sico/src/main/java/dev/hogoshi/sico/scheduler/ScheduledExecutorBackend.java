@@ -0,0 +1,66 @@
+package dev.hogoshi.sico.scheduler;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Timer backend on a {@link ScheduledExecutorService}, whose delay queue is a binary heap guarded by one lock.
+ * Scheduling and cancelling a task take logarithmic time, and the pool threads run the tasks as well as
+ * wait for them to become due.
+ */
+public class ScheduledExecutorBackend implements TimerBackend {
+    private final int poolSize;
+    @Nullable private volatile ScheduledExecutorService executor;
+
+    /**
+     * Creates a backend with the specified thread pool size.
+     *
+     * @param poolSize the size of the thread pool
+     */
+    public ScheduledExecutorBackend(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newScheduledThreadPool(poolSize);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = this.executor;
+        if (executor == null) {
+            return;
+        }
+        this.executor = null;
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @NotNull
+    @Override
+    public Handle schedule(@NotNull Runnable task, long initialDelay, long interval, @NotNull TimeUnit unit, boolean fixedRate) {
+        ScheduledExecutorService executor = this.executor;
+        if (executor == null) {
+            throw new IllegalStateException("Timer backend is not started");
+        }
+
+        ScheduledFuture<?> future = fixedRate
+                ? executor.scheduleAtFixedRate(task, initialDelay, interval, unit)
+                : executor.scheduleWithFixedDelay(task, initialDelay, interval, unit);
+        return () -> future.cancel(false);
+    }
+}
@@ -8,21 +8,21 @@ import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Service that manages scheduled tasks.
- * This service uses a thread pool to execute tasks at specified intervals.
+ * This service uses a {@link TimerBackend} to execute tasks at specified intervals, by default a
+ * {@link ScheduledExecutorBackend}; a {@link HashedWheelTimerBackend} scales better to many tasks.
  * It implements the Lifecycle interface to allow for proper initialization and shutdown.
  */
 public class SchedulerService implements Lifecycle {
-    private ScheduledExecutorService executor;
-    private final Map<String, ScheduledFuture<?>> scheduledTasks = new ConcurrentHashMap<>();
+    @NotNull private final TimerBackend backend;
+    private final Map<String, TimerBackend.Handle> scheduledTasks = new ConcurrentHashMap<>();
+    private final AtomicLong taskSequence = new AtomicLong();
+    private final Map<Method, MethodHandle> methodHandles = new ConcurrentHashMap<>();
     private volatile boolean running = false;
-    private final int poolSize;
     private ClassLoader contextClassLoader;
     
     /**
@@ -38,11 +38,20 @@ public class SchedulerService implements Lifecycle {
      * @param poolSize the size of the thread pool
      */
     public SchedulerService(int poolSize) {
-        this.poolSize = poolSize;
+        this(new ScheduledExecutorBackend(poolSize));
     }
     
     /**
-     * Starts the scheduler service by initializing the thread pool.
+     * Creates a new scheduler service running its tasks on the specified timer backend.
+     * 
+     * @param backend the timer backend, started and stopped with the service
+     */
+    public SchedulerService(@NotNull TimerBackend backend) {
+        this.backend = backend;
+    }
+    
+    /**
+     * Starts the scheduler service by starting its timer backend.
      */
     @Override
     public void start() {
@@ -51,12 +60,12 @@ public class SchedulerService implements Lifecycle {
         }
         
         contextClassLoader = Thread.currentThread().getContextClassLoader();
-        executor = Executors.newScheduledThreadPool(poolSize);
+        backend.start();
         running = true;
     }
     
     /**
-     * Stops the scheduler service by shutting down the thread pool and canceling all scheduled tasks.
+     * Stops the scheduler service by canceling all scheduled tasks and stopping its timer backend.
      */
     @Override
     public void stop() {
@@ -64,22 +73,12 @@ public class SchedulerService implements Lifecycle {
             return;
         }
         
-        for (ScheduledFuture<?> future : scheduledTasks.values()) {
-            future.cancel(false);
+        for (TimerBackend.Handle handle : scheduledTasks.values()) {
+            handle.cancel();
         }
         scheduledTasks.clear();
         
-        if (executor != null) {
-            executor.shutdown();
-            try {
-                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
-                    executor.shutdownNow();
-                }
-            } catch (InterruptedException e) {
-                executor.shutdownNow();
-                Thread.currentThread().interrupt();
-            }
-        }
+        backend.stop();
         
         running = false;
     }
@@ -118,15 +117,19 @@ public class SchedulerService implements Lifecycle {
             throw new IllegalStateException("Scheduler service is not running");
         }
         
-        String taskId = instance.getClass().getName() + "." + method.getName() + "-" + System.nanoTime();
+        String taskId = instance.getClass().getName() + "." + method.getName() + "-" + taskSequence.incrementAndGet();
         
-        MethodHandle methodHandle;
-        try {
-            MethodHandles.Lookup lookup = MethodHandles.lookup();
-            methodHandle = lookup.unreflect(method).bindTo(instance);
-        } catch (IllegalAccessException e) {
-            throw new SchedulerException("Failed to create method handle for: " + method.getName(), e);
+        MethodHandle unbound = methodHandles.get(method);
+        if (unbound == null) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                unbound = lookup.unreflect(method);
+            } catch (IllegalAccessException e) {
+                throw new SchedulerException("Failed to create method handle for: " + method.getName(), e);
+            }
+            methodHandles.put(method, unbound);
         }
+        MethodHandle methodHandle = unbound.bindTo(instance);
         
         Runnable task = () -> {
             try {
@@ -140,14 +143,7 @@ public class SchedulerService implements Lifecycle {
             }
         };
         
-        ScheduledFuture<?> future;
-        if (fixedRate) {
-            future = executor.scheduleAtFixedRate(task, initialDelay, interval, unit);
-        } else {
-            future = executor.scheduleWithFixedDelay(task, initialDelay, interval, unit);
-        }
-        
-        scheduledTasks.put(taskId, future);
+        scheduledTasks.put(taskId, backend.schedule(task, initialDelay, interval, unit, fixedRate));
         
         return taskId;
     }
@@ -159,9 +155,9 @@ public class SchedulerService implements Lifecycle {
      * @return true if the task was canceled, false if the task ID was not found
      */
     public boolean cancelTask(@NotNull String taskId) {
-        ScheduledFuture<?> future = scheduledTasks.remove(taskId);
-        if (future != null) {
-            future.cancel(false);
+        TimerBackend.Handle handle = scheduledTasks.remove(taskId);
+        if (handle != null) {
+            handle.cancel();
             return true;
         }
         return false;
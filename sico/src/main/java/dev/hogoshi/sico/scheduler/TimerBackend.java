@@ -0,0 +1,54 @@
+package dev.hogoshi.sico.scheduler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Timer that runs the periodic tasks of a {@link SchedulerService}.
+ * The scheduler starts its backend when it starts and stops it when it stops, possibly several times.
+ * Like a {@link java.util.concurrent.ScheduledExecutorService}, a backend never runs a task concurrently
+ * with itself and does not run a task again once it threw.
+ *
+ * @see ScheduledExecutorBackend
+ * @see HashedWheelTimerBackend
+ */
+public interface TimerBackend {
+
+    /**
+     * Starts the backend, creating its threads.
+     */
+    void start();
+
+    /**
+     * Stops the backend, cancelling all of its tasks and waiting a bounded time for running tasks to finish.
+     */
+    void stop();
+
+    /**
+     * Schedules a task to be run periodically.
+     *
+     * @param task the task
+     * @param initialDelay the delay before the first run
+     * @param interval the interval between runs
+     * @param unit the time unit of the delay and the interval
+     * @param fixedRate true to start runs at a fixed rate, false to wait the interval between the end of a run
+     *                  and the start of the next one
+     * @return the handle to cancel the task with
+     * @throws IllegalArgumentException if the interval is not positive
+     * @throws IllegalStateException if the backend is not started
+     */
+    @NotNull
+    Handle schedule(@NotNull Runnable task, long initialDelay, long interval, @NotNull TimeUnit unit, boolean fixedRate);
+
+    /**
+     * Handle of a scheduled task.
+     */
+    interface Handle {
+
+        /**
+         * Cancels the task. A run in progress is not interrupted, but no further run starts.
+         */
+        void cancel();
+    }
+}
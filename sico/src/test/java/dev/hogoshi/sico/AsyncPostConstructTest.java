@@ -0,0 +1,184 @@
+package dev.hogoshi.sico;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Autowired;
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.PostConstruct;
+import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.test.MinimalContainer;
+import dev.hogoshi.sico.test.TestGroups;
+
+public class AsyncPostConstructTest {
+
+    private DefaultContainer container;
+
+    @BeforeEach
+    void setUp() {
+        Loading.catalogLoad = new CompletableFuture<>();
+        Loading.events.clear();
+        Failing.load = new CompletableFuture<>();
+        Failing.dependentInitialized = false;
+
+        container = new DefaultContainer();
+        container.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.close();
+    }
+
+    @Test
+    void testScanDoesNotWaitForAsyncInitializers() {
+        TestGroups.scan(container, Loading.class);
+
+        assertNotNull(container.resolve(Loading.Catalog.class), "Components should be usable while they initialize");
+        assertTrue(Loading.events.contains("listener"), "Unrelated initializers should run during the scan");
+        assertFalse(container.ready().isDone(), "The container should not be ready while an initializer runs");
+
+        Loading.catalogLoad.complete(null);
+        container.ready().join();
+    }
+
+    @Test
+    void testDependentsWaitForAsyncInitializers() {
+        TestGroups.scan(container, Loading.class);
+        assertFalse(Loading.events.contains("search"), "Dependents should wait for the initializers of their dependencies");
+        assertFalse(Loading.events.contains("recommendations"));
+
+        Loading.catalogLoad.complete(null);
+        container.ready().join();
+
+        List<String> events = Loading.events;
+        assertTrue(events.indexOf("catalog") < events.indexOf("search"));
+        assertTrue(events.indexOf("search") < events.indexOf("recommendations"),
+                "Components depending on deferred initializers should be deferred as well");
+    }
+
+    @Test
+    void testReadyCompletesAfterAsyncInitializers() throws Exception {
+        TestGroups.scan(container, Loading.class);
+        CompletableFuture<Void> ready = container.ready();
+
+        CompletableFuture.runAsync(() -> Loading.catalogLoad.complete(null));
+        ready.get(5, TimeUnit.SECONDS);
+        assertEquals(5, Loading.events.size(), "Every initializer should have run once the container is ready");
+    }
+
+    @Test
+    void testReadyIsCompleteWithoutAsyncInitializers() {
+        container.register(Loading.Listener.class);
+
+        assertTrue(container.ready().isDone(), "Synchronous initializers should leave the container ready");
+        assertFalse(container.ready().isCompletedExceptionally());
+    }
+
+    @Test
+    void testOtherContainersAreReadyByDefault() {
+        assertTrue(new MinimalContainer(container).ready().isDone(),
+                "A container without asynchronous initializers should be ready");
+    }
+
+    @Test
+    void testFailureSkipsDependents() {
+        TestGroups.scan(container, Failing.class);
+        Failing.load.completeExceptionally(new IllegalStateException("Unreachable"));
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> container.ready().join());
+        assertEquals("Unreachable", failure.getCause().getMessage());
+        assertFalse(Failing.dependentInitialized, "Dependents of a failed initializer should not be initialized");
+    }
+
+    public static class Loading {
+        static CompletableFuture<Void> catalogLoad;
+        static final List<String> events = new CopyOnWriteArrayList<>();
+
+        public interface Products {
+        }
+
+        @Component
+        public static class Catalog implements Products {
+            @PostConstruct
+            public CompletableFuture<Void> load() {
+                return catalogLoad.thenRun(() -> events.add("catalog"));
+            }
+
+            @PostConstruct
+            public void register() {
+                events.add("catalog registered");
+            }
+        }
+
+        @Service
+        public static class Search {
+            final Products products;
+
+            public Search(Products products) {
+                this.products = products;
+            }
+
+            @PostConstruct
+            public void index() {
+                events.add("search");
+            }
+        }
+
+        @Service
+        public static class Recommendations {
+            @Autowired
+            Search search;
+
+            @PostConstruct
+            public void train() {
+                events.add("recommendations");
+            }
+        }
+
+        @Component
+        public static class Listener {
+            @PostConstruct
+            public void open() {
+                events.add("listener");
+            }
+        }
+    }
+
+    public static class Failing {
+        static CompletableFuture<Void> load;
+        static volatile boolean dependentInitialized;
+
+        @Component
+        public static class Remote {
+            @PostConstruct
+            public CompletableFuture<Void> connect() {
+                return load;
+            }
+        }
+
+        @Component
+        public static class Client {
+            public Client(Remote remote) {
+            }
+
+            @PostConstruct
+            public void init() {
+                dependentInitialized = true;
+            }
+        }
+    }
+}
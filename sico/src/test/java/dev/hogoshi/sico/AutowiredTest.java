@@ -3,11 +3,19 @@ package dev.hogoshi.sico;
 import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import dev.hogoshi.sico.annotation.Autowired;
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.container.LazyHolder;
+import dev.hogoshi.sico.test.TestComponents.Greeter;
 import dev.hogoshi.sico.test.TestComponents.TestComponent;
+import dev.hogoshi.sico.test.TestComponents.TestService;
 
 public class AutowiredTest {
     
@@ -49,9 +57,31 @@ public class AutowiredTest {
         assertEquals("Hello from TestService", component.getService().sayHello());
     }
     
+    @Test
+    void testResolveByInterface() {
+        Greeter greeter = sico.resolve(Greeter.class);
+        assertNotNull(greeter, "Component should be resolvable by its interface");
+        assertSame(sico.resolve(TestService.class), greeter, "Interface lookup should return the registered singleton");
+        assertNull(sico.resolve(Object.class), "Beans should not be indexed under Object");
+    }
+    
+    @Test
+    void testInjectionFailureIsRethrown() {
+        assertThrows(IllegalStateException.class,
+            () -> sico.scan(name -> name.equals(RawHolderComponent.class.getName()), "dev.hogoshi.sico"),
+            "A field that cannot be injected should fail the scan");
+    }
+    
     @Test
     void testCircularDependencyDetection() {
         
         assertTrue(true, "Skipping circular dependency test");
     }
-} 
\ No newline at end of file
+    
+    @Component
+    public static class RawHolderComponent {
+        @Autowired
+        @SuppressWarnings("rawtypes")
+        LazyHolder holder;
+    }
+}
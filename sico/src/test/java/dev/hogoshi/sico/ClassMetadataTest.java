@@ -0,0 +1,69 @@
+package dev.hogoshi.sico;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Configuration;
+import dev.hogoshi.sico.annotation.Scope;
+import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.ClassMetadata;
+import dev.hogoshi.sico.test.TestComponents.LifecycleComponent;
+import dev.hogoshi.sico.test.TestComponents.PrototypeComponent;
+import dev.hogoshi.sico.test.TestComponents.TestComponent;
+import dev.hogoshi.sico.test.TestComponents.TestService;
+import dev.hogoshi.sico.test.TestConfig;
+
+public class ClassMetadataTest {
+
+    @Test
+    void testMetadataIsCachedPerClass() {
+        assertSame(ClassMetadata.of(TestService.class), ClassMetadata.of(TestService.class),
+                "Metadata should be computed once per class");
+    }
+
+    @Test
+    void testClassLevelMetadata() {
+        ClassMetadata service = ClassMetadata.of(TestService.class);
+        assertEquals(Service.class, service.getStereotype());
+        assertEquals(Scope.Scopes.SINGLETON, service.getScope());
+        assertEquals("testService", service.getDefaultName());
+        assertEquals("", service.getDeclaredName());
+
+        ClassMetadata prototype = ClassMetadata.of(PrototypeComponent.class);
+        assertEquals(Component.class, prototype.getStereotype());
+        assertEquals(Scope.Scopes.PROTOTYPE, prototype.getScope());
+
+        assertTrue(ClassMetadata.of(TestConfig.class).isAnnotated(Configuration.class));
+        assertNull(ClassMetadata.of(String.class).getStereotype(), "Plain classes should have no stereotype");
+    }
+
+    @Test
+    void testMemberMetadata() {
+        assertEquals(1, ClassMetadata.of(TestComponent.class).getAutowiredFields().size());
+
+        ClassMetadata lifecycle = ClassMetadata.of(LifecycleComponent.class);
+        assertEquals("init", lifecycle.getPostConstructMethods().get(0).getName());
+        assertEquals("cleanup", lifecycle.getPreDestroyMethods().get(0).getName());
+
+        assertEquals(4, ClassMetadata.of(TestConfig.class).getBeanMethods().size());
+    }
+
+    @Test
+    void testBeanMethodsAreOrderedByDependencies() {
+        List<String> order = new ArrayList<>();
+        for (Method method : ClassMetadata.of(TestConfig.class).getBeanMethods()) {
+            order.add(method.getName());
+        }
+        assertEquals(Arrays.asList("namedBean", "prototypeBean", "simpleBean", "complexBean"), order,
+                "Beans should come after the beans providing their parameters, and otherwise in name order");
+    }
+}
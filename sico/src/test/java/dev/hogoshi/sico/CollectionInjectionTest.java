@@ -0,0 +1,226 @@
+package dev.hogoshi.sico;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Autowired;
+import dev.hogoshi.sico.annotation.Bean;
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Configuration;
+import dev.hogoshi.sico.annotation.Order;
+import dev.hogoshi.sico.annotation.Primary;
+import dev.hogoshi.sico.annotation.Scope;
+import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.test.MinimalContainer;
+
+public class CollectionInjectionTest {
+
+    private DefaultContainer container;
+
+    @BeforeEach
+    void setUp() {
+        container = new DefaultContainer();
+        container.start();
+        container.scan(name -> name.startsWith(Handlers.class.getName() + "$"), "dev.hogoshi.sico");
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.close();
+    }
+
+    @Test
+    void testResolveAllIsOrdered() {
+        List<Handlers.Handler> handlers = container.resolveAll(Handlers.Handler.class);
+        assertEquals(Arrays.asList(Handlers.AuditHandler.class, Handlers.MetricsHandler.class, Handlers.LoggingHandler.class),
+                handlers.stream().map(Object::getClass).collect(Collectors.toList()),
+                "Beans should be ordered by @Order, then by registration");
+        assertEquals(Arrays.asList(Handlers.ExtraHandler.class, Handlers.MetricsHandler.class),
+                container.resolveAll(Handlers.Extra.class).stream().map(Object::getClass).collect(Collectors.toList()),
+                "@Bean methods should be ordered by their @Order");
+        assertTrue(container.resolveAll(Runnable.class).isEmpty(), "Types without beans should resolve to an empty list");
+
+        Map<String, Handlers.Handler> byName = container.resolveAllByName(Handlers.Handler.class);
+        assertEquals(Arrays.asList("auditHandler", "metricsHandler", "loggingHandler"),
+                Arrays.asList(byName.keySet().toArray()));
+        assertSame(container.resolve(Handlers.AuditHandler.class), byName.get("auditHandler"));
+    }
+
+    @Test
+    void testPrimaryBeanIsResolvedByType() {
+        assertTrue(container.resolve(Handlers.Handler.class) instanceof Handlers.LoggingHandler,
+                "The primary bean should win over other beans of the type");
+        assertTrue(container.resolve(Handlers.Extra.class) instanceof Handlers.ExtraHandler,
+                "A primary @Bean method should win over other beans of the type");
+    }
+
+    @Test
+    void testFirstBeanInOrderIsResolvedWithoutPrimary() {
+        assertTrue(container.resolve(Handlers.Sink.class) instanceof Handlers.EarlySink,
+                "Without a primary bean the first bean by @Order should be resolved");
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 9; i >= 0; i--) {
+            Runnable task = new Runnable() {
+                @Override
+                public void run() {
+                }
+            };
+            container.registerBean("task" + i, task);
+            tasks.add(task);
+        }
+        assertSame(tasks.get(0), container.resolve(Runnable.class),
+                "Without a primary bean or @Order the first registered bean should be resolved");
+    }
+
+    @Test
+    void testOtherContainersResolveAllByType() {
+        MinimalContainer other = new MinimalContainer(container);
+        assertEquals(Collections.singletonList(container.resolve(Handlers.Handler.class)), other.resolveAll(Handlers.Handler.class),
+                "Containers without resolveAll should fall back to resolving by type");
+        assertTrue(other.resolveAll(Runnable.class).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> other.resolveAllByName(Handlers.Handler.class));
+    }
+
+    @Test
+    void testCollectionsAreInjected() {
+        container.register(Consumers.Dispatcher.class);
+        container.register(Consumers.RouterConfig.class);
+        container.scan(name -> name.startsWith(Consumers.class.getName() + "$"), "dev.hogoshi.sico");
+
+        List<Handlers.Handler> handlers = container.resolveAll(Handlers.Handler.class);
+        Consumers.Dispatcher dispatcher = container.resolve(Consumers.Dispatcher.class);
+        assertEquals(handlers, dispatcher.handlers, "Constructor lists should contain all beans");
+        assertEquals(container.resolveAllByName(Handlers.Handler.class), dispatcher.byName, "Fields should receive beans by name");
+        assertEquals(handlers, container.resolve(Consumers.Router.class).handlers, "@Bean parameters should receive all beans");
+    }
+
+    @Test
+    void testCachedListIsRefreshedOnRegistration() {
+        List<Handlers.Handler> first = container.resolveAll(Handlers.Handler.class);
+        assertSame(first, container.resolveAll(Handlers.Handler.class), "Singleton lists should be cached");
+
+        Handlers.Handler late = new Handlers.Handler() {
+        };
+        container.registerBean("lateHandler", late);
+        List<Handlers.Handler> second = container.resolveAll(Handlers.Handler.class);
+        assertEquals(first.size() + 1, second.size());
+        assertSame(late, second.get(second.size() - 1), "Unordered beans should follow in registration order");
+    }
+
+    @Test
+    void testPrototypesAreCreatedPerCall() {
+        List<Handlers.Step> first = container.resolveAll(Handlers.Step.class);
+        List<Handlers.Step> second = container.resolveAll(Handlers.Step.class);
+        assertEquals(2, first.size());
+        assertSame(first.get(0), second.get(0), "Singletons should be shared");
+        assertNotSame(first.get(1), second.get(1), "Prototypes should be created per call");
+    }
+
+    public static class Handlers {
+        public interface Handler {
+        }
+
+        public interface Extra {
+        }
+
+        public interface Step {
+        }
+
+        @Order(1)
+        @Component
+        public static class AuditHandler implements Handler {
+        }
+
+        @Order(3)
+        @Component
+        public static class MetricsHandler implements Handler, Extra {
+        }
+
+        @Primary
+        @Component
+        public static class LoggingHandler implements Handler {
+        }
+
+        public static class ExtraHandler implements Extra {
+        }
+
+        @Configuration
+        public static class ExtraConfig {
+            @Bean
+            @Order(2)
+            @Primary
+            public ExtraHandler extraHandler() {
+                return new ExtraHandler();
+            }
+        }
+
+        public interface Sink {
+        }
+
+        @Order(2)
+        @Component
+        public static class LateSink implements Sink {
+        }
+
+        @Order(1)
+        @Component
+        public static class EarlySink implements Sink {
+        }
+
+        @Order(1)
+        @Component
+        public static class FirstStep implements Step {
+        }
+
+        @Order(2)
+        @Component
+        @Scope(Scope.Scopes.PROTOTYPE)
+        public static class NextStep implements Step {
+        }
+    }
+
+    public static class Consumers {
+        @Service
+        public static class Dispatcher {
+            final List<Handlers.Handler> handlers;
+
+            @Autowired
+            Map<String, Handlers.Handler> byName;
+
+            public Dispatcher(List<Handlers.Handler> handlers) {
+                this.handlers = handlers;
+            }
+        }
+
+        public static class Router {
+            final List<Handlers.Handler> handlers;
+
+            Router(List<Handlers.Handler> handlers) {
+                this.handlers = handlers;
+            }
+        }
+
+        @Configuration
+        public static class RouterConfig {
+            @Bean
+            public Router router(List<Handlers.Handler> handlers) {
+                return new Router(handlers);
+            }
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package dev.hogoshi.sico;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.jetbrains.annotations.NotNull;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.container.ContainerOptions;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.handler.AbstractComponentHandler;
+import dev.hogoshi.sico.scanner.ComponentIndex;
+import dev.hogoshi.sico.test.TestComponents.LifecycleComponent;
+import dev.hogoshi.sico.test.TestComponents.Plugin;
+import dev.hogoshi.sico.test.TestComponents.TestService;
+
+public class ComponentIndexTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("sico-component-index");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testLoadIndex() throws IOException {
+        Path root = writeIndex(directory.resolve("indexed"),
+                "# comment",
+                LifecycleComponent.class.getName() + "\tdev.hogoshi.sico.annotation.Component\tSINGLETON\tlife\\tcycle\tinit,afterInit\tdestroy\t",
+                TestService.class.getName() + "\tdev.hogoshi.sico.annotation.Service\tSINGLETON\t\t\t\t");
+        Path other = Files.createDirectories(directory.resolve("other/dev/hogoshi/sico/test"));
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { root.toUri().toURL() }, null)) {
+            ComponentIndex index = ComponentIndex.load(classLoader);
+            assertNotNull(index, "The index should be found");
+            assertEquals(Arrays.asList(LifecycleComponent.class.getName(), TestService.class.getName()), index.getClassNames(),
+                    "Comments should be skipped");
+
+            assertEquals(Collections.singletonList(TestService.class.getName()),
+                    index.getClassNames("dev.hogoshi.sico.test", name -> name.endsWith("TestService")));
+            assertTrue(index.getClassNames("dev.hogoshi.sico.te", name -> true).isEmpty(),
+                    "Packages should be matched on segment boundaries");
+
+            URL indexedPackage = root.resolve("dev/hogoshi/sico/test").toUri().toURL();
+            assertTrue(index.isIndexed(indexedPackage, "dev.hogoshi.sico.test"), "Packages under the index root should be indexed");
+            assertFalse(index.isIndexed(other.toUri().toURL(), "dev.hogoshi.sico.test"), "Other roots should not be indexed");
+        }
+    }
+
+    @Test
+    void testMissingAndMalformedIndex() throws IOException {
+        assertNull(ComponentIndex.load(new URLClassLoader(new URL[0], null)), "A missing index should be reported as null");
+
+        Path root = writeIndex(directory, TestService.class.getName() + "\tmissing fields");
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { root.toUri().toURL() }, null)) {
+            assertThrows(IOException.class, () -> ComponentIndex.load(classLoader));
+        }
+    }
+
+    @Test
+    void testScanReadsIndexInsteadOfTraversing() throws IOException {
+        Path root = compile(directory.resolve("indexed"), "Listed", "Unlisted");
+        writeIndex(root, "app.Listed\tdev.hogoshi.sico.annotation.Component\tSINGLETON\t\t\t\t");
+        try (URLClassLoader classLoader = classLoader(root)) {
+            assertEquals(Collections.singletonList("app.Listed"), registrationOrder(ContainerOptions.defaults(), classLoader),
+                    "An indexed root should be read from its index only");
+
+            assertEquals(Arrays.asList("app.Listed", "app.Unlisted"),
+                    registrationOrder(ContainerOptions.defaults().setComponentIndexEnabled(false), classLoader),
+                    "A disabled index should fall back to traversal");
+        }
+    }
+
+    @Test
+    void testUnindexedRootsAreTraversed() throws IOException {
+        Path indexed = compile(directory.resolve("indexed"), "Listed");
+        writeIndex(indexed, "app.Listed\tdev.hogoshi.sico.annotation.Component\tSINGLETON\t\t\t\t");
+        Path plain = compile(directory.resolve("plain"), "Library");
+        try (URLClassLoader classLoader = classLoader(indexed, plain)) {
+            assertEquals(Arrays.asList("app.Listed", "app.Library"), registrationOrder(ContainerOptions.defaults(), classLoader),
+                    "Roots without an index should still be traversed under an indexed package");
+        }
+    }
+
+    @Test
+    void testRuntimeStereotypesBypassTheIndex() throws IOException {
+        Path root = compile(directory.resolve("indexed"), "Listed");
+        compileAnnotated(root, "@" + Plugin.class.getCanonicalName(), "Plugged");
+        writeIndex(root, "app.Listed\tdev.hogoshi.sico.annotation.Component\tSINGLETON\t\t\t\t");
+        try (URLClassLoader classLoader = classLoader(root)) {
+            DefaultContainer container = new DefaultContainer();
+            container.addComponentAnnotation(Plugin.class);
+            List<String> registered = registrationOrder(container, classLoader);
+            assertTrue(registered.contains("app.Plugged"), "Classes with a runtime stereotype should be found in indexed roots");
+            assertTrue(registered.contains("app.Listed"));
+        }
+    }
+
+    @Test
+    void testIndexIsLoadedOncePerClassLoader() throws IOException {
+        Path root = compile(directory.resolve("indexed"), "Listed");
+        writeIndex(root, "app.Listed\tdev.hogoshi.sico.annotation.Component\tSINGLETON\t\t\t\t");
+        AtomicInteger indexLookups = new AtomicInteger();
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { root.toUri().toURL() }, getClass().getClassLoader()) {
+            @Override
+            public Enumeration<URL> getResources(String name) throws IOException {
+                if (name.equals(ComponentIndex.LOCATION)) {
+                    indexLookups.incrementAndGet();
+                }
+                return super.getResources(name);
+            }
+        }) {
+            DefaultContainer container = new DefaultContainer();
+            container.start();
+            try {
+                container.scan(name -> true, classLoader, "app");
+                container.scan(name -> true, classLoader, "app");
+            } finally {
+                container.close();
+            }
+            assertEquals(1, indexLookups.get(), "The index should be loaded once per class loader");
+        }
+    }
+
+    private Path writeIndex(Path root, String... lines) throws IOException {
+        Path index = root.resolve(ComponentIndex.LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, Arrays.asList(lines), StandardCharsets.UTF_8);
+        return root;
+    }
+
+    private Path compile(Path root, String... classNames) throws IOException {
+        return compileAnnotated(root, "@dev.hogoshi.sico.annotation.Component", classNames);
+    }
+
+    private Path compileAnnotated(Path root, String annotation, String... classNames) throws IOException {
+        Path sourceDirectory = Files.createDirectories(directory.resolve("src").resolve(root.getFileName()));
+        Files.createDirectories(root);
+        List<String> arguments = new ArrayList<>(Arrays.asList(
+                "-proc:none", "-d", root.toString(), "-classpath", System.getProperty("java.class.path")));
+        for (String className : classNames) {
+            Path source = sourceDirectory.resolve(className + ".java");
+            Files.write(source, ("package app;\n"
+                    + annotation + "\n"
+                    + "public class " + className + " {}\n").getBytes(StandardCharsets.UTF_8));
+            arguments.add(source.toString());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertEquals(0, compiler.run(null, null, null, arguments.toArray(new String[0])), "Compilation should succeed");
+        return root;
+    }
+
+    private URLClassLoader classLoader(Path... roots) throws IOException {
+        URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, getClass().getClassLoader());
+    }
+
+    private List<String> registrationOrder(ContainerOptions options, ClassLoader classLoader) {
+        return registrationOrder(new DefaultContainer(options), classLoader);
+    }
+
+    private List<String> registrationOrder(DefaultContainer container, ClassLoader classLoader) {
+        List<String> registered = new ArrayList<>();
+        container.addHandler(new AbstractComponentHandler(container, 100) {
+            @Override
+            public void handle(@NotNull Class<?> componentClass) {
+                registered.add(componentClass.getName());
+            }
+        });
+        container.start();
+        try {
+            container.scan(name -> true, classLoader, "app");
+        } finally {
+            container.close();
+        }
+        return registered;
+    }
+}
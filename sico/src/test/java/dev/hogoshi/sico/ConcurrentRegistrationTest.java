@@ -0,0 +1,262 @@
+package dev.hogoshi.sico;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Bean;
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Configuration;
+import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.DefaultContainer;
+
+public class ConcurrentRegistrationTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 50;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        Counted.instances.set(0);
+        Counted.dependencies.set(0);
+        Counted.factoryCalls.set(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentResolveCreatesOneInstance() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            DefaultContainer container = new DefaultContainer();
+            try {
+                List<Object> results = runConcurrently(() -> container.resolve(Counted.Slow.class));
+                for (Object result : results) {
+                    assertSame(results.get(0), result, "All threads should see the same singleton");
+                }
+                assertNotNull(results.get(0));
+            } finally {
+                container.close();
+            }
+        }
+        assertEquals(ROUNDS, Counted.instances.get(), "Every container should create its singleton once");
+    }
+
+    @Test
+    void testSharedDependenciesAreCreatedOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            DefaultContainer container = new DefaultContainer();
+            try {
+                AtomicInteger next = new AtomicInteger();
+                List<Object> results = runConcurrently(() -> next.getAndIncrement() % 2 == 0
+                        ? container.resolve(Counted.Left.class).dependency
+                        : container.resolve(Counted.Right.class).dependency);
+                for (Object result : results) {
+                    assertSame(results.get(0), result, "Both branches should share one dependency");
+                }
+            } finally {
+                container.close();
+            }
+        }
+        assertEquals(ROUNDS, Counted.dependencies.get(), "Shared dependencies should be created once per container");
+    }
+
+    @Test
+    void testConcurrentBeanMethodsAreCalledOnce() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            DefaultContainer container = new DefaultContainer();
+            container.start();
+            try {
+                List<Object> results = runConcurrently(() -> {
+                    container.register(Counted.Factory.class);
+                    return container.resolve("product", Counted.Product.class);
+                });
+                for (Object result : results) {
+                    assertSame(results.get(0), result, "All threads should see the same bean");
+                }
+            } finally {
+                container.close();
+            }
+        }
+        assertEquals(ROUNDS, Counted.factoryCalls.get(), "Singleton bean methods should be called once per container");
+    }
+
+    @Test
+    void testUnrelatedBeansDoNotBlockEachOther() throws Exception {
+        DefaultContainer container = new DefaultContainer();
+        Blocking.release = new CountDownLatch(1);
+        Blocking.entered = new CountDownLatch(1);
+        try {
+            Future<Blocking.Held> held = executor.submit(() -> container.resolve(Blocking.Held.class));
+            assertTrue(Blocking.entered.await(10, TimeUnit.SECONDS), "The blocking constructor should be entered");
+
+            Future<Blocking.Free> free = executor.submit(() -> container.resolve(Blocking.Free.class));
+            assertNotNull(free.get(10, TimeUnit.SECONDS), "An unrelated bean should be created while another one is blocked");
+
+            Blocking.release.countDown();
+            assertNotNull(held.get(10, TimeUnit.SECONDS));
+        } finally {
+            Blocking.release.countDown();
+            container.close();
+        }
+    }
+
+    @Test
+    void testCrossThreadCycleFailsInsteadOfDeadlocking() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            DefaultContainer container = new DefaultContainer();
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> first = executor.submit(() -> {
+                    start.await();
+                    return container.resolve(Cyclic.First.class);
+                });
+                Future<?> second = executor.submit(() -> {
+                    start.await();
+                    return container.resolve(Cyclic.Second.class);
+                });
+                start.countDown();
+
+                assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS),
+                        "A constructor cycle should fail");
+                assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS),
+                        "A constructor cycle should fail");
+            } finally {
+                container.close();
+            }
+        }
+    }
+
+    private List<Object> runConcurrently(Callable<Object> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+
+        List<Object> results = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            results.add(future.get(10, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    public static class Counted {
+        static final AtomicInteger instances = new AtomicInteger();
+        static final AtomicInteger dependencies = new AtomicInteger();
+        static final AtomicInteger factoryCalls = new AtomicInteger();
+
+        static void pause() {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Component
+        public static class Slow {
+            public Slow() {
+                pause();
+                instances.incrementAndGet();
+            }
+        }
+
+        @Service
+        public static class Shared {
+            public Shared() {
+                pause();
+                dependencies.incrementAndGet();
+            }
+        }
+
+        @Component
+        public static class Left {
+            final Shared dependency;
+
+            public Left(Shared dependency) {
+                this.dependency = dependency;
+            }
+        }
+
+        @Component
+        public static class Right {
+            final Shared dependency;
+
+            public Right(Shared dependency) {
+                this.dependency = dependency;
+            }
+        }
+
+        public static class Product {
+        }
+
+        @Configuration
+        public static class Factory {
+            @Bean
+            public Product product() {
+                pause();
+                factoryCalls.incrementAndGet();
+                return new Product();
+            }
+        }
+    }
+
+    public static class Blocking {
+        static volatile CountDownLatch entered;
+        static volatile CountDownLatch release;
+
+        @Component
+        public static class Held {
+            public Held() throws InterruptedException {
+                entered.countDown();
+                release.await();
+            }
+        }
+
+        @Component
+        public static class Free {
+        }
+    }
+
+    public static class Cyclic {
+        @Component
+        public static class First {
+            public First(Second second) {
+                Counted.pause();
+            }
+        }
+
+        @Component
+        public static class Second {
+            public Second(First first) {
+                Counted.pause();
+            }
+        }
+    }
+}
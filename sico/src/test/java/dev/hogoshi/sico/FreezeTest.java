@@ -0,0 +1,157 @@
+package dev.hogoshi.sico;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Lazy;
+import dev.hogoshi.sico.annotation.Scope;
+import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.BeanDefinition;
+import dev.hogoshi.sico.container.BeanKey;
+import dev.hogoshi.sico.container.DefaultContainer;
+
+public class FreezeTest {
+
+    private DefaultContainer container;
+
+    @BeforeEach
+    void setUp() {
+        Fixtures.caches.set(0);
+
+        container = new DefaultContainer();
+        container.start();
+        container.scan(name -> name.startsWith(Fixtures.class.getName() + "$"), "dev.hogoshi.sico");
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.close();
+    }
+
+    @Test
+    void testFrozenResolveReturnsSameBeans() {
+        Fixtures.Store store = container.resolve(Fixtures.Store.class);
+        Fixtures.OrderService service = container.resolve(Fixtures.OrderService.class);
+
+        container.freeze();
+        assertTrue(container.isFrozen());
+        assertSame(store, container.resolve(Fixtures.Store.class), "Interfaces should resolve to the same singleton");
+        assertSame(store, container.resolve(Fixtures.MemoryStore.class));
+        assertSame(service, container.resolve(Fixtures.OrderService.class));
+        assertSame(service, container.resolve("orderService", Fixtures.OrderService.class));
+        assertNotSame(container.resolve(Fixtures.Task.class), container.resolve(Fixtures.Task.class),
+                "Prototypes should still be created per resolve");
+    }
+
+    @Test
+    void testBeanKeysResolveSingletons() {
+        container.freeze();
+
+        BeanKey<Fixtures.Store> byType = container.getBeanKey(Fixtures.Store.class);
+        BeanKey<Fixtures.OrderService> byName = container.getBeanKey("orderService", Fixtures.OrderService.class);
+        assertSame(container.resolve(Fixtures.Store.class), container.resolve(byType));
+        assertSame(container.resolve(Fixtures.OrderService.class), container.resolve(byName));
+        assertNull(container.resolve(container.getBeanKey("orderService", Fixtures.Store.class)),
+                "A named key of another type should not resolve");
+
+        BeanKey<Fixtures.Task> prototype = container.getBeanKey(Fixtures.Task.class);
+        assertNotSame(container.resolve(prototype), container.resolve(prototype), "Prototype keys should create new instances");
+    }
+
+    @Test
+    void testRegistrationFailsWhileFrozen() {
+        container.freeze();
+
+        assertThrows(IllegalStateException.class, () -> container.registerBean("late", new Fixtures.Late()));
+        assertThrows(IllegalStateException.class, () -> container.register(Unscanned.class));
+        assertThrows(IllegalStateException.class, () -> container.registerBeanDefinition(
+                BeanDefinition.forClass("late", Fixtures.Late.class, Scope.Scopes.SINGLETON, true)));
+        assertThrows(IllegalStateException.class, () -> container.scan(name -> false, "dev.hogoshi.sico"));
+        container.register(Fixtures.OrderService.class);
+
+        container.unfreeze();
+        assertFalse(container.isFrozen());
+        Fixtures.Late late = new Fixtures.Late();
+        container.registerBean("late", late);
+        assertSame(late, container.resolve(Fixtures.Late.class));
+    }
+
+    @Test
+    void testLazySingletonFillsItsSlot() {
+        container.freeze();
+        BeanKey<Fixtures.Cache> key = container.getBeanKey(Fixtures.Cache.class);
+        assertEquals(0, Fixtures.caches.get(), "Freezing should not create lazy singletons");
+
+        Fixtures.Cache cache = container.resolve(key);
+        assertNotNull(cache);
+        assertSame(cache, container.resolve(key));
+        assertSame(cache, container.resolve(Fixtures.Cache.class));
+        assertEquals(1, Fixtures.caches.get());
+    }
+
+    @Test
+    void testKeysOutliveTheirFreeze() {
+        container.freeze();
+        BeanKey<Fixtures.Store> key = container.getBeanKey(Fixtures.Store.class);
+        Fixtures.Store store = container.resolve(key);
+
+        container.unfreeze();
+        assertSame(store, container.resolve(key), "Keys should still resolve after unfreezing");
+        assertThrows(IllegalStateException.class, () -> container.getBeanKey(Fixtures.Store.class));
+
+        container.freeze();
+        assertSame(store, container.resolve(key), "Keys should still resolve after freezing again");
+    }
+
+    public static class Fixtures {
+        static final AtomicInteger caches = new AtomicInteger();
+
+        public interface Store {
+        }
+
+        @Component
+        public static class MemoryStore implements Store {
+        }
+
+        @Service
+        public static class OrderService {
+            final Store store;
+
+            public OrderService(Store store) {
+                this.store = store;
+            }
+        }
+
+        @Component
+        @Scope(Scope.Scopes.PROTOTYPE)
+        public static class Task {
+        }
+
+        @Lazy
+        @Component
+        public static class Cache {
+            public Cache() {
+                caches.incrementAndGet();
+            }
+        }
+
+        public static class Late {
+        }
+    }
+
+    @Component
+    public static class Unscanned {
+    }
+}
@@ -0,0 +1,137 @@
+package dev.hogoshi.sico;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.Container;
+import dev.hogoshi.sico.handler.AbstractComponentHandler;
+import dev.hogoshi.sico.handler.ComponentRegisterHandler.Phase;
+import dev.hogoshi.sico.test.TestComponents.SingletonComponent;
+import dev.hogoshi.sico.test.TestComponents.TestService;
+
+public class HandlerTest {
+
+    private Sico sico;
+
+    @BeforeEach
+    void setUp() {
+        sico = new Sico();
+        sico.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sico.close();
+    }
+
+    @Test
+    void testRestrictedHandlerOnlySeesAnnotatedClasses() {
+        RecordingHandler handler = new RecordingHandler(sico.getContainer(), Phase.REGISTRATION, Service.class);
+        sico.addHandler(handler);
+
+        sico.scan("dev.hogoshi.sico.test");
+
+        assertEquals(1, handler.handled.size(), "Handler should only be called for @Service classes");
+        assertEquals(TestService.class, handler.handled.get(0));
+    }
+
+    @Test
+    void testUnrestrictedHandlerSeesEveryComponent() {
+        RecordingHandler handler = new RecordingHandler(sico.getContainer(), Phase.REGISTRATION);
+        sico.addHandler(handler);
+
+        sico.scan("dev.hogoshi.sico.test");
+
+        assertTrue(handler.handled.contains(TestService.class), "Handler should be called for services");
+        assertTrue(handler.handled.contains(SingletonComponent.class), "Handler should be called for components");
+    }
+
+    @Test
+    void testRemovedHandlerIsNoLongerCalled() {
+        RecordingHandler handler = new RecordingHandler(sico.getContainer(), Phase.REGISTRATION);
+        sico.addHandler(handler);
+        sico.register(TestService.class);
+        sico.removeHandler(handler);
+        sico.register(SingletonComponent.class);
+
+        assertEquals(1, handler.handled.size(), "Removed handler should not be dispatched to");
+    }
+
+    @Test
+    void testRepeatedScanPostProcessesOnlyNewClasses() {
+        RecordingHandler handler = new RecordingHandler(sico.getContainer(), Phase.POST_PROCESSING, Service.class);
+        sico.addHandler(handler);
+
+        sico.scan("dev.hogoshi.sico.test");
+        sico.scan("dev.hogoshi.sico.test");
+        sico.scan(name -> false, "dev.hogoshi.sico");
+
+        assertEquals(1, handler.handled.size(), "Already processed classes should not be post-processed again");
+    }
+
+    @Test
+    void testScanPostProcessesClassesRegisteredBeforehand() {
+        RecordingHandler handler = new RecordingHandler(sico.getContainer(), Phase.POST_PROCESSING, Service.class);
+        sico.addHandler(handler);
+        sico.register(TestService.class);
+
+        sico.scan(name -> false, "dev.hogoshi.sico.test");
+
+        assertEquals(1, handler.handled.size(), "Directly registered classes should be post-processed by the next scan");
+    }
+
+    @Test
+    void testOverriddenSupportsIsHonored() {
+        RecordingHandler handler = new RecordingHandler(sico.getContainer(), Phase.REGISTRATION) {
+            @Override
+            public boolean supports(@NotNull Class<?> componentClass) {
+                return componentClass == SingletonComponent.class;
+            }
+        };
+        sico.addHandler(handler);
+
+        sico.scan("dev.hogoshi.sico.test");
+
+        assertEquals(1, handler.handled.size(), "Handler should only be called for the classes it supports");
+        assertEquals(SingletonComponent.class, handler.handled.get(0));
+    }
+
+    @Test
+    void testSupportsWiderThanAnnotationsIsAsked() {
+        RecordingHandler handler = new RecordingHandler(sico.getContainer(), Phase.REGISTRATION, Service.class) {
+            @Override
+            public boolean supports(@NotNull Class<?> componentClass) {
+                return super.supports(componentClass) || componentClass == SingletonComponent.class;
+            }
+        };
+        sico.addHandler(handler);
+
+        sico.scan("dev.hogoshi.sico.test");
+
+        assertEquals(2, handler.handled.size(), "Handler should also be called for classes its supports accepts");
+        assertTrue(handler.handled.contains(SingletonComponent.class));
+    }
+
+    private static class RecordingHandler extends AbstractComponentHandler {
+        private final List<Class<?>> handled = new ArrayList<>();
+
+        @SafeVarargs
+        RecordingHandler(@NotNull Container container, @NotNull Phase phase, @NotNull Class<? extends Annotation>... annotations) {
+            super(container, 100, phase, annotations);
+        }
+
+        @Override
+        public void handle(@NotNull Class<?> componentClass) {
+            handled.add(componentClass);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package dev.hogoshi.sico;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Scheduled;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.scheduler.HashedWheelTimerBackend;
+import dev.hogoshi.sico.scheduler.SchedulerService;
+
+public class HashedWheelTimerTest {
+
+    private SchedulerService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new SchedulerService(new HashedWheelTimerBackend(Duration.ofMillis(1), 64, 2));
+        scheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void testFixedRateTaskRunsRepeatedly() throws Exception {
+        Counter counter = new Counter(5);
+        scheduler.scheduleTask(counter, tick(), 0, 10, TimeUnit.MILLISECONDS, true);
+
+        assertTrue(counter.latch.await(5, TimeUnit.SECONDS), "A fixed-rate task should run repeatedly");
+    }
+
+    @Test
+    void testTasksBeyondOneTurnWaitForTheirRound() throws Exception {
+        Counter counter = new Counter(1);
+        long start = System.nanoTime();
+        scheduler.scheduleTask(counter, tick(), 150, 1000, TimeUnit.MILLISECONDS, false);
+
+        assertTrue(counter.latch.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150),
+                "A task due after more than one turn of the wheel should not run early");
+    }
+
+    @Test
+    void testCancelledTaskStopsRunning() throws Exception {
+        Counter counter = new Counter(2);
+        String taskId = scheduler.scheduleTask(counter, tick(), 0, 5, TimeUnit.MILLISECONDS, false);
+        assertTrue(counter.latch.await(5, TimeUnit.SECONDS));
+
+        assertTrue(scheduler.cancelTask(taskId));
+        Thread.sleep(20);
+        int count = counter.count.get();
+        Thread.sleep(100);
+        assertEquals(count, counter.count.get(), "A cancelled task should not run again");
+        assertEquals(0, scheduler.getTaskCount());
+    }
+
+    @Test
+    void testManyTasksAllRun() throws Exception {
+        int taskCount = 10_000;
+        Counter counter = new Counter(taskCount);
+        List<String> taskIds = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            taskIds.add(scheduler.scheduleTask(counter, tick(), i % 100, 60_000, TimeUnit.MILLISECONDS, true));
+        }
+        assertEquals(taskCount, scheduler.getTaskCount(), "Every task should get its own id");
+
+        assertTrue(counter.latch.await(10, TimeUnit.SECONDS), "Every task should run once it is due");
+        for (String taskId : taskIds) {
+            assertTrue(scheduler.cancelTask(taskId));
+        }
+        assertEquals(0, scheduler.getTaskCount());
+    }
+
+    @Test
+    void testContainerRunsScheduledMethodsOnTheWheel() throws Exception {
+        Ticker.latch = new CountDownLatch(3);
+        DefaultContainer container = new DefaultContainer(
+                new SchedulerService(new HashedWheelTimerBackend(Duration.ofMillis(1), 64, 1)));
+        try {
+            container.start();
+            container.scan(name -> name.equals(Ticker.class.getName()), "dev.hogoshi.sico");
+
+            assertNotNull(container.resolve(Ticker.class));
+            assertTrue(Ticker.latch.await(5, TimeUnit.SECONDS), "Scheduled methods should run on the wheel");
+        } finally {
+            container.close();
+        }
+    }
+
+    private static Method tick() throws NoSuchMethodException {
+        return Counter.class.getMethod("tick");
+    }
+
+    public static class Counter {
+        final AtomicInteger count = new AtomicInteger();
+        final CountDownLatch latch;
+
+        Counter(int runs) {
+            this.latch = new CountDownLatch(runs);
+        }
+
+        public void tick() {
+            count.incrementAndGet();
+            latch.countDown();
+        }
+    }
+
+    @Component
+    public static class Ticker {
+        static CountDownLatch latch;
+
+        @Scheduled(interval = 5, unit = TimeUnit.MILLISECONDS)
+        public void tick() {
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package dev.hogoshi.sico;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.scanner.ClassPathScanner;
+import dev.hogoshi.sico.test.TestComponents.TestComponent;
+import dev.hogoshi.sico.test.TestComponents.TestService;
+
+public class JarScanTest {
+
+    private static final String PACKAGE_PATH = "dev/hogoshi/sico/test";
+
+    private Path directory;
+    private Map<String, byte[]> classFiles;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createTempDirectory("sico-jar-scan");
+        classFiles = readClassFiles();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testScanJar() throws Exception {
+        Path jar = directory.resolve("components.jar");
+        Files.write(jar, zip(classFiles, false));
+
+        URL resource = new URL("jar:" + jar.toUri() + "!/" + PACKAGE_PATH);
+        List<String> classNames = scan(resource);
+        assertEquals(classFiles.size(), classNames.size(), "Every class in the package should be found");
+        assertTrue(classNames.contains(TestService.class.getName()), "Nested classes should be found");
+
+        Sico sico = new Sico();
+        sico.start();
+        try {
+            sico.scan(new ArchiveClassLoader(resource), "dev.hogoshi.sico.test");
+            TestComponent component = sico.resolve(TestComponent.class);
+            assertNotNull(component, "Components from the JAR should be registered");
+            assertNotNull(component.getService(), "Components from the JAR should be wired");
+        } finally {
+            sico.close();
+        }
+    }
+
+    @Test
+    void testScanNestedStoredJar() throws Exception {
+        testScanNestedJar(false);
+    }
+
+    @Test
+    void testScanNestedDeflatedJar() throws Exception {
+        testScanNestedJar(true);
+    }
+
+    @Test
+    void testFilterIsApplied() throws Exception {
+        Path jar = directory.resolve("components.jar");
+        Files.write(jar, zip(classFiles, true));
+
+        URL resource = new URL("jar:" + jar.toUri() + "!/" + PACKAGE_PATH);
+        try (ClassPathScanner scanner = new ClassPathScanner(new ArchiveClassLoader(resource),
+                name -> !name.equals(TestService.class.getName()))) {
+            List<String> classNames = scanner.scan("dev.hogoshi.sico.test");
+            assertFalse(classNames.contains(TestService.class.getName()), "Filtered classes should be skipped");
+            assertEquals(classFiles.size() - 1, classNames.size());
+        }
+    }
+
+    @Test
+    void testParallelScanMatchesSequentialScan() throws Exception {
+        Path jar = directory.resolve("components.jar");
+        Files.write(jar, zip(classFiles, true));
+
+        URL resource = new URL("jar:" + jar.toUri() + "!/" + PACKAGE_PATH);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (ClassPathScanner scanner = new ClassPathScanner(new ArchiveClassLoader(resource), name -> true,
+                Collections.emptySet(), pool)) {
+            assertEquals(scan(resource), scanner.scan("dev.hogoshi.sico.test"),
+                "Parallel scanning should find the same classes in the same order");
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void testScanNestedJar(boolean compressNested) throws Exception {
+        Map<String, byte[]> outerEntries = new LinkedHashMap<>();
+        outerEntries.put("META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n".getBytes("UTF-8"));
+        outerEntries.put("BOOT-INF/lib/components.jar", zip(classFiles, true));
+        Path jar = directory.resolve("application.jar");
+        Files.write(jar, zip(outerEntries, compressNested));
+
+        URL resource = new URL("jar:" + jar.toUri() + "!/BOOT-INF/lib/components.jar!/" + PACKAGE_PATH);
+        List<String> classNames = scan(resource);
+        assertEquals(classFiles.size(), classNames.size(), "Every class in the nested JAR should be found");
+        assertTrue(classNames.contains(TestService.class.getName()), "Nested classes should be found");
+    }
+
+    private List<String> scan(URL resource) throws IOException {
+        try (ClassPathScanner scanner = new ClassPathScanner(new ArchiveClassLoader(resource), name -> true)) {
+            return scanner.scan("dev.hogoshi.sico.test");
+        }
+    }
+
+    private static Map<String, byte[]> readClassFiles() throws IOException, URISyntaxException {
+        Path root = Paths.get(JarScanTest.class.getClassLoader().getResource(PACKAGE_PATH).toURI());
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted()::iterator) {
+                if (path.toString().endsWith(".class")) {
+                    result.put(PACKAGE_PATH + "/" + root.relativize(path).toString().replace('\\', '/'), Files.readAllBytes(path));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static byte[] zip(Map<String, byte[]> entries, boolean compress) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                ZipEntry zipEntry = new ZipEntry(entry.getKey());
+                if (!compress) {
+                    CRC32 crc = new CRC32();
+                    crc.update(entry.getValue());
+                    zipEntry.setMethod(ZipEntry.STORED);
+                    zipEntry.setSize(entry.getValue().length);
+                    zipEntry.setCompressedSize(entry.getValue().length);
+                    zipEntry.setCrc(crc.getValue());
+                }
+                out.putNextEntry(zipEntry);
+                out.write(entry.getValue());
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Class loader that reports a single archive location for the scanned package
+     * and loads the classes themselves from its parent.
+     */
+    private static class ArchiveClassLoader extends ClassLoader {
+        private final URL resource;
+
+        ArchiveClassLoader(URL resource) {
+            super(JarScanTest.class.getClassLoader());
+            this.resource = resource;
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            if (name.equals(PACKAGE_PATH)) {
+                return Collections.enumeration(Collections.singletonList(resource));
+            }
+            return super.getResources(name);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package dev.hogoshi.sico;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Autowired;
+import dev.hogoshi.sico.annotation.Bean;
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Configuration;
+import dev.hogoshi.sico.annotation.Lazy;
+import dev.hogoshi.sico.annotation.PostConstruct;
+import dev.hogoshi.sico.annotation.PreDestroy;
+import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.container.LazyHolder;
+
+public class LazyTest {
+
+    private DefaultContainer container;
+
+    @BeforeEach
+    void setUp() {
+        Fixtures.reports.set(0);
+        Fixtures.initialized.set(0);
+        Fixtures.destroyed.set(0);
+        Fixtures.exports.set(0);
+
+        container = new DefaultContainer();
+        container.start();
+        container.scan(name -> name.startsWith(Fixtures.class.getName() + "$"), "dev.hogoshi.sico");
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.close();
+    }
+
+    @Test
+    void testLazyComponentIsCreatedOnFirstResolve() {
+        assertEquals(0, Fixtures.reports.get(), "Lazy components should not be created by a scan");
+
+        Fixtures.ReportService report = container.resolve(Fixtures.ReportService.class);
+        assertNotNull(report);
+        assertEquals(1, Fixtures.reports.get());
+        assertEquals(1, Fixtures.initialized.get(), "Post-construct methods should run on first resolve");
+        assertNotNull(report.clock, "Fields should be autowired on first resolve");
+
+        assertSame(report, container.resolve(Fixtures.ReportService.class), "Lazy components should stay singletons");
+        assertSame(report, container.resolve("reportService", Fixtures.ReportService.class));
+        assertEquals(1, Fixtures.reports.get());
+    }
+
+    @Test
+    void testHolderDefersCreation() {
+        Fixtures.Dashboard dashboard = container.resolve(Fixtures.Dashboard.class);
+        assertNotNull(dashboard);
+        assertFalse(dashboard.reports.isResolved(), "Holders should not resolve their bean when injected");
+        assertFalse(dashboard.audit.isResolved(), "Holders should not resolve their bean when autowired");
+        assertEquals(0, Fixtures.reports.get());
+
+        Fixtures.ReportService report = dashboard.reports.get();
+        assertTrue(dashboard.reports.isResolved());
+        assertSame(container.resolve(Fixtures.ReportService.class), report);
+        assertSame(report, dashboard.audit.get());
+        assertEquals(1, Fixtures.reports.get());
+    }
+
+    @Test
+    void testLazyBeanMethodIsCalledOnFirstResolve() {
+        assertEquals(0, Fixtures.exports.get(), "Lazy bean methods should not be called by a scan");
+
+        Fixtures.Exporter exporter = container.resolve(Fixtures.Exporter.class);
+        assertNotNull(exporter);
+        assertSame(exporter, container.resolve("exporter", Fixtures.Exporter.class));
+        assertEquals(1, Fixtures.exports.get());
+    }
+
+    @Test
+    void testUnusedLazyComponentIsNotDestroyed() {
+        container.close();
+        assertEquals(0, Fixtures.reports.get(), "Closing should not create lazy components");
+        assertEquals(0, Fixtures.destroyed.get());
+    }
+
+    @Test
+    void testUsedLazyComponentIsDestroyed() {
+        container.resolve(Fixtures.ReportService.class);
+        container.close();
+        assertEquals(1, Fixtures.destroyed.get(), "Pre-destroy methods of created lazy components should run");
+    }
+
+    public static class Fixtures {
+        static final AtomicInteger reports = new AtomicInteger();
+        static final AtomicInteger initialized = new AtomicInteger();
+        static final AtomicInteger destroyed = new AtomicInteger();
+        static final AtomicInteger exports = new AtomicInteger();
+
+        @Component
+        public static class Clock {
+        }
+
+        @Lazy
+        @Service
+        public static class ReportService {
+            @Autowired
+            Clock clock;
+
+            public ReportService() {
+                reports.incrementAndGet();
+            }
+
+            @PostConstruct
+            public void init() {
+                initialized.incrementAndGet();
+            }
+
+            @PreDestroy
+            public void destroy() {
+                destroyed.incrementAndGet();
+            }
+        }
+
+        @Component
+        public static class Dashboard {
+            final LazyHolder<ReportService> reports;
+
+            @Autowired
+            LazyHolder<ReportService> audit;
+
+            public Dashboard(LazyHolder<ReportService> reports) {
+                this.reports = reports;
+            }
+        }
+
+        public static class Exporter {
+        }
+
+        @Configuration
+        public static class ExportConfig {
+            @Bean
+            @Lazy
+            public Exporter exporter() {
+                exports.incrementAndGet();
+                return new Exporter();
+            }
+        }
+    }
+}
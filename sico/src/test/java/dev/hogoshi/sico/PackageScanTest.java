@@ -1,13 +1,32 @@
 package dev.hogoshi.sico;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.jetbrains.annotations.NotNull;
+
 import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.ContainerOptions;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.handler.AbstractComponentHandler;
+import dev.hogoshi.sico.scanner.ClassPathScanner;
+import dev.hogoshi.sico.test.TestComponents;
 import dev.hogoshi.sico.test.TestComponents.LifecycleComponent;
+import dev.hogoshi.sico.test.TestComponents.NonComponent;
+import dev.hogoshi.sico.test.TestComponents.Plugin;
+import dev.hogoshi.sico.test.TestComponents.PluginComponent;
 import dev.hogoshi.sico.test.TestComponents.TestComponent;
 import dev.hogoshi.sico.test.TestComponents.TestService;
 import dev.hogoshi.sico.test.TestConfig.SimpleBean;
@@ -53,4 +72,72 @@ public class PackageScanTest {
         
         assertFalse(lifecycleComponent.isDestroyed(), "PreDestroy should not be called yet");
     }
-} 
\ No newline at end of file
+    
+    @Test
+    void testScanDoesNotInitializeNonComponents() {
+        sico.scan("dev.hogoshi.sico.test");
+        
+        assertEquals(0, TestComponents.NON_COMPONENT_INITIALIZATIONS.get(),
+            "Scanning should not run static initializers of non-component classes");
+    }
+    
+    @Test
+    void testPreFilterReportsOnlyAnnotatedClasses() throws Exception {
+        try (ClassPathScanner scanner = new ClassPathScanner(getClass().getClassLoader(), name -> true,
+                Arrays.asList(Component.class, Service.class, Plugin.class))) {
+            List<String> classNames = scanner.scan("dev.hogoshi.sico.test");
+            
+            assertTrue(classNames.contains(TestService.class.getName()), "Services should be reported");
+            assertTrue(classNames.contains(TestComponent.class.getName()), "Components should be reported");
+            assertTrue(classNames.contains(PluginComponent.class.getName()),
+                "Classes whose stereotype follows other annotations should be reported");
+            assertFalse(classNames.contains(NonComponent.class.getName()), "Plain classes should be rejected");
+            assertFalse(classNames.contains(TestComponents.class.getName()), "Plain classes should be rejected");
+        }
+    }
+    
+    @Test
+    void testRegisteredStereotype() {
+        sico.scan("dev.hogoshi.sico.test");
+        assertNull(sico.resolve(PluginComponent.class), "Unknown stereotypes should not be registered");
+        
+        sico.addComponentAnnotation(Plugin.class);
+        sico.scan("dev.hogoshi.sico.test");
+        PluginComponent plugin = sico.resolve(PluginComponent.class);
+        assertNotNull(plugin, "Registered stereotypes should be scanned");
+        assertNotNull(plugin.getService(), "Components of registered stereotypes should be autowired");
+        assertTrue(plugin.isInitialized(), "Components of registered stereotypes should be post-constructed");
+    }
+    
+    @Test
+    void testParallelScanMatchesSequentialScan() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Class<?>> sequential = registrationOrder(ContainerOptions.defaults());
+            List<Class<?>> parallel = registrationOrder(ContainerOptions.defaults().setParallelScan(true).setScanPool(pool));
+            
+            assertFalse(sequential.isEmpty(), "Components should be registered");
+            assertEquals(sequential, parallel, "Parallel scanning should register the same components in the same order");
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    private List<Class<?>> registrationOrder(ContainerOptions options) {
+        DefaultContainer container = new DefaultContainer(options);
+        List<Class<?>> registered = new ArrayList<>();
+        container.addHandler(new AbstractComponentHandler(container, 100) {
+            @Override
+            public void handle(@NotNull Class<?> componentClass) {
+                registered.add(componentClass);
+            }
+        });
+        container.start();
+        try {
+            container.scan(name -> true, "dev.hogoshi.sico.test");
+        } finally {
+            container.close();
+        }
+        return registered;
+    }
+}
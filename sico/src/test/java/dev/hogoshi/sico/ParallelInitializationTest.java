@@ -0,0 +1,102 @@
+package dev.hogoshi.sico;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.container.ContainerOptions;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.container.InitializationReport;
+import dev.hogoshi.sico.test.ChainComponents;
+import dev.hogoshi.sico.test.ConcurrentComponents;
+import dev.hogoshi.sico.test.FailingComponents;
+import dev.hogoshi.sico.test.Rendezvous;
+import dev.hogoshi.sico.test.TestGroups;
+
+public class ParallelInitializationTest {
+
+    private DefaultContainer container;
+
+    @AfterEach
+    void tearDown() {
+        container.close();
+        ConcurrentComponents.reset();
+        ChainComponents.reset();
+        FailingComponents.reset();
+    }
+
+    @Test
+    void testIndependentInitializersRunConcurrently() {
+        Rendezvous initialization = ConcurrentComponents.initialization = new Rendezvous(4);
+        startContainer(4);
+        TestGroups.scan(container, ConcurrentComponents.class);
+
+        assertTrue(initialization.isMet(), "Independent initializers should run concurrently");
+        assertEquals(4, initialization.getArrivals());
+    }
+
+    @Test
+    void testThreadsAreBounded() {
+        Rendezvous initialization = ConcurrentComponents.initialization = new Rendezvous(4, 100);
+        startContainer(1);
+        TestGroups.scan(container, ConcurrentComponents.class);
+
+        assertEquals(1, initialization.getMaxActive(), "Initializers should not use more threads than configured");
+        assertEquals(4, initialization.getArrivals());
+    }
+
+    @Test
+    void testDependenciesAreInitializedFirst() {
+        startContainer(4);
+        TestGroups.scan(container, ChainComponents.class);
+
+        assertEquals(Arrays.<Class<?>>asList(ChainComponents.MemoryStore.class, ChainComponents.OrderService.class,
+                ChainComponents.Controller.class), ChainComponents.initialized, "Initializers should run after those of their dependencies");
+        assertNotNull(container.resolve(ChainComponents.Controller.class).service, "Fields should be injected before initialization");
+    }
+
+    @Test
+    void testDurationsAreReported() {
+        startContainer(4);
+        TestGroups.scan(container, ChainComponents.class);
+
+        InitializationReport report = container.getLastInitializationReport();
+        assertNotNull(report, "An initialization report should be recorded");
+        assertEquals(4, report.getComponentCount());
+        for (Class<?> type : ChainComponents.initialized) {
+            assertTrue(report.getInitializationNanos().get(type) >= ChainComponents.DELAY_MILLIS * 1_000_000L,
+                    "The duration of " + type.getSimpleName() + " should include its initializer");
+        }
+        assertTrue(report.getInitializationNanos().get(ChainComponents.Standalone.class) < ChainComponents.DELAY_MILLIS * 1_000_000L);
+        assertEquals(3, report.getSlowest(3).size());
+        assertFalse(report.getSlowest(3).contains(ChainComponents.Standalone.class));
+    }
+
+    @Test
+    void testFailureSkipsDependents() {
+        startContainer(4);
+        FailingComponents.failing = true;
+        assertThrows(IllegalStateException.class, () -> TestGroups.scan(container, FailingComponents.class),
+                "A failed initializer should fail the scan");
+
+        assertTrue(FailingComponents.healthyInitialized.get(), "Unrelated components should still be initialized");
+        assertFalse(FailingComponents.dependentInitialized.get(), "Dependents of a failed component should not be initialized");
+    }
+
+    private void startContainer(int threads) {
+        ChainComponents.reset();
+        ChainComponents.recording = true;
+        FailingComponents.reset();
+
+        container = new DefaultContainer(ContainerOptions.defaults()
+                .setParallelInitialization(true)
+                .setInitializationThreads(threads));
+        container.start();
+    }
+}
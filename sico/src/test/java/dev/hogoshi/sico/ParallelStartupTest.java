@@ -0,0 +1,131 @@
+package dev.hogoshi.sico;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Autowired;
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.container.ContainerOptions;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.container.StartupReport;
+import dev.hogoshi.sico.test.ChainComponents;
+import dev.hogoshi.sico.test.ConcurrentComponents;
+import dev.hogoshi.sico.test.FailingComponents;
+import dev.hogoshi.sico.test.Rendezvous;
+import dev.hogoshi.sico.test.TestGroups;
+
+public class ParallelStartupTest {
+
+    private ExecutorService executor;
+    private DefaultContainer container;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentComponents.reset();
+        ChainComponents.reset();
+        ChainComponents.recording = true;
+        FailingComponents.reset();
+        executor = Executors.newFixedThreadPool(4);
+        container = new DefaultContainer(ContainerOptions.defaults()
+                .setParallelStartup(true)
+                .setStartupExecutor(executor));
+        container.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.close();
+        executor.shutdownNow();
+        ConcurrentComponents.reset();
+        ChainComponents.reset();
+        FailingComponents.reset();
+    }
+
+    @Test
+    void testIndependentComponentsStartConcurrently() {
+        Rendezvous creation = ConcurrentComponents.creation = new Rendezvous(4);
+        TestGroups.scan(container, ConcurrentComponents.class);
+
+        assertNotNull(container.resolve(ConcurrentComponents.First.class));
+        assertNotNull(container.resolve(ConcurrentComponents.Fourth.class));
+        assertTrue(creation.isMet(), "Independent components should be created concurrently");
+
+        StartupReport report = container.getLastStartupReport();
+        assertNotNull(report, "A startup report should be recorded");
+        assertEquals(4, report.getComponentCount());
+        assertEquals(1, report.getCriticalPathLength(), "Independent components should not form a chain");
+    }
+
+    @Test
+    void testDependenciesStartFirst() {
+        TestGroups.scan(container, ChainComponents.class);
+
+        ChainComponents.Controller controller = container.resolve(ChainComponents.Controller.class);
+        assertNotNull(controller);
+        assertSame(container.resolve(ChainComponents.OrderService.class), controller.service, "Field dependencies should be wired");
+        assertSame(container.resolve(ChainComponents.Store.class), controller.service.store, "Constructor dependencies should be wired");
+        assertEquals(Arrays.<Class<?>>asList(ChainComponents.MemoryStore.class, ChainComponents.OrderService.class,
+                ChainComponents.Controller.class), ChainComponents.created, "Components should be created after their dependencies");
+    }
+
+    @Test
+    void testCriticalPathIsReported() {
+        TestGroups.scan(container, ChainComponents.class);
+
+        StartupReport report = container.getLastStartupReport();
+        assertNotNull(report);
+        assertEquals(4, report.getComponentCount());
+        assertEquals(Arrays.<Class<?>>asList(ChainComponents.MemoryStore.class, ChainComponents.OrderService.class,
+                ChainComponents.Controller.class), report.getCriticalPath());
+        assertEquals(3, report.getCriticalPathLength());
+        assertTrue(report.getCriticalPathNanos() >= 3 * ChainComponents.DELAY_MILLIS * 1_000_000L,
+                "The critical path should include the creation time of every component on it");
+    }
+
+    @Test
+    void testFieldCycleStartsAsOneUnit() {
+        TestGroups.scan(container, Cycle.class);
+
+        Cycle.Left left = container.resolve(Cycle.Left.class);
+        Cycle.Right right = container.resolve(Cycle.Right.class);
+        assertNotNull(left);
+        assertNotNull(right);
+        assertSame(right, left.right, "Cyclic field dependencies should be wired");
+        assertSame(left, right.left, "Cyclic field dependencies should be wired");
+    }
+
+    @Test
+    void testFailureSkipsDependents() {
+        FailingComponents.failing = true;
+        assertThrows(RuntimeException.class, () -> TestGroups.scan(container, FailingComponents.class),
+                "A failed post-construct method should fail the scan once the batch settled");
+
+        assertNotNull(container.resolve(FailingComponents.Healthy.class), "Unrelated components should still start");
+        assertFalse(FailingComponents.dependentCreated.get(), "Dependents of a failed component should not be created");
+    }
+
+    public static class Cycle {
+        @Component
+        public static class Left {
+            @Autowired
+            Right right;
+        }
+
+        @Component
+        public static class Right {
+            @Autowired
+            Left left;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package dev.hogoshi.sico;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.PreDestroy;
+import dev.hogoshi.sico.container.ContainerOptions;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.scheduler.Lifecycle;
+import dev.hogoshi.sico.test.ConcurrentComponents;
+import dev.hogoshi.sico.test.Rendezvous;
+import dev.hogoshi.sico.test.TestGroups;
+
+public class PhasedLifecycleTest {
+
+    private static final List<String> events = new CopyOnWriteArrayList<>();
+
+    private DefaultContainer container;
+
+    @BeforeEach
+    void setUp() {
+        events.clear();
+
+        container = new DefaultContainer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.close();
+        ConcurrentComponents.reset();
+    }
+
+    @Test
+    void testPhasesStartAscendingAndStopDescending() {
+        TestGroups.scan(container, Phased.class);
+        container.start();
+        assertEquals(Arrays.asList("start pool", "start consumer", "start server"), events,
+                "Lifecycle beans should start in ascending phase order");
+
+        events.clear();
+        container.stop();
+        assertEquals(Arrays.asList("stop server", "stop consumer", "stop pool"), events,
+                "Lifecycle beans should stop in descending phase order");
+        assertFalse(container.resolve(Phased.Pool.class).isRunning());
+    }
+
+    @Test
+    void testSamePhaseStartsAndStopsConcurrently() {
+        container.close();
+        container = new DefaultContainer(ContainerOptions.defaults().setInitializationThreads(4).setDestructionThreads(4));
+        Rendezvous starting = ConcurrentComponents.starting = new Rendezvous(4);
+        Rendezvous stopping = ConcurrentComponents.stopping = new Rendezvous(4);
+        TestGroups.scan(container, ConcurrentComponents.class);
+        container.start();
+        assertTrue(starting.isMet(), "Lifecycle beans of a phase should start concurrently");
+        assertEquals(4, starting.getArrivals());
+
+        container.stop();
+        assertTrue(stopping.isMet(), "Lifecycle beans of a phase should stop concurrently");
+        assertEquals(4, stopping.getArrivals());
+    }
+
+    @Test
+    void testBeansScannedWhileRunningAreStarted() {
+        container.start();
+        TestGroups.scan(container, Phased.class);
+
+        assertEquals(Arrays.asList("start pool", "start consumer", "start server"), events,
+                "Lifecycle beans should be started once the scan initialized them");
+        assertTrue(container.resolve(Phased.Server.class).isRunning());
+    }
+
+    @Test
+    void testFailedStartSkipsLaterPhases() {
+        TestGroups.scan(container, Failing.class);
+
+        assertThrows(DefaultContainer.ContainerException.class, () -> container.start());
+        assertEquals(Arrays.asList("start pool"), events, "Later phases should not start after a failure");
+
+        events.clear();
+        container.stop();
+        assertEquals(Arrays.asList("stop pool"), events, "Started beans should still be stopped");
+    }
+
+    @Test
+    void testCloseStopsBeansBeforeDestroyingThem() {
+        TestGroups.scan(container, Phased.class);
+        container.start();
+        events.clear();
+
+        container.close();
+        assertEquals(Arrays.asList("stop server", "stop consumer", "stop pool", "destroy pool"), events,
+                "Lifecycle beans should be stopped before their pre-destroy methods run");
+    }
+
+    @Test
+    void testShutdownDeadlineBoundsStopping() throws InterruptedException {
+        container.close();
+        container = new DefaultContainer(ContainerOptions.defaults().setShutdownTimeout(Duration.ofMillis(200)));
+        TestGroups.scan(container, Hung.class);
+        container.start();
+        events.clear();
+
+        long start = System.nanoTime();
+        container.close();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "A hung stop should not block close");
+        assertTrue(Hung.interrupted.await(5, TimeUnit.SECONDS), "A stop exceeding the deadline should be interrupted");
+        assertEquals(Arrays.asList("stop stuck"), events, "Later phases should not be stopped after the deadline");
+    }
+
+    public abstract static class Recording implements Lifecycle {
+        private volatile boolean running;
+
+        abstract String name();
+
+        @Override
+        public void start() {
+            events.add("start " + name());
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            events.add("stop " + name());
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+
+    public static class Phased {
+        @Component
+        public static class Server extends Recording {
+            @Override
+            String name() { return "server"; }
+
+            @Override
+            public int getPhase() { return 10; }
+        }
+
+        @Component
+        public static class Pool extends Recording {
+            @Override
+            String name() { return "pool"; }
+
+            @Override
+            public int getPhase() { return -10; }
+
+            @PreDestroy
+            public void destroy() {
+                events.add("destroy pool");
+            }
+        }
+
+        @Component
+        public static class Consumer extends Recording {
+            @Override
+            String name() { return "consumer"; }
+        }
+    }
+
+    public static class Hung {
+        static final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Component
+        public static class Stuck extends Recording {
+            @Override
+            String name() { return "stuck"; }
+
+            @Override
+            public void stop() {
+                super.stop();
+                try {
+                    new CountDownLatch(1).await();
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+            }
+        }
+
+        @Component
+        public static class Pool extends Recording {
+            @Override
+            String name() { return "pool"; }
+
+            @Override
+            public int getPhase() { return -1; }
+        }
+    }
+
+    public static class Failing {
+        @Component
+        public static class Pool extends Recording {
+            @Override
+            String name() { return "pool"; }
+
+            @Override
+            public int getPhase() { return -1; }
+        }
+
+        @Component
+        public static class Broken extends Recording {
+            @Override
+            String name() { return "broken"; }
+
+            @Override
+            public void start() {
+                throw new IllegalStateException("Port in use");
+            }
+        }
+
+        @Component
+        public static class Server extends Recording {
+            @Override
+            String name() { return "server"; }
+
+            @Override
+            public int getPhase() { return 1; }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package dev.hogoshi.sico;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Autowired;
+import dev.hogoshi.sico.annotation.Bean;
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Configuration;
+import dev.hogoshi.sico.annotation.Lazy;
+import dev.hogoshi.sico.annotation.Scope;
+import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.container.ObjectFactory;
+import dev.hogoshi.sico.container.Provider;
+
+public class ProviderTest {
+
+    private DefaultContainer container;
+
+    @BeforeEach
+    void setUp() {
+        Fixtures.widgets.set(0);
+        Fixtures.caches.set(0);
+
+        container = new DefaultContainer();
+        container.start();
+        container.scan(name -> name.startsWith(Fixtures.class.getName() + "$"), "dev.hogoshi.sico");
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.close();
+    }
+
+    @Test
+    void testConstructorProviderCreatesPrototypes() {
+        Fixtures.Worker worker = container.resolve(Fixtures.Worker.class);
+        assertNotNull(worker);
+
+        Fixtures.Task first = worker.tasks.get();
+        Fixtures.Task second = worker.tasks.get();
+        assertNotSame(first, second, "Prototype providers should create a new instance per call");
+        assertSame(container.resolve(Fixtures.Clock.class), first.clock, "Prototype dependencies should be resolved");
+        assertSame(first.clock, second.clock);
+    }
+
+    @Test
+    void testFieldObjectFactoryReturnsSingleton() {
+        Fixtures.Worker worker = container.resolve(Fixtures.Worker.class);
+        assertNotNull(worker.clocks);
+        assertSame(container.resolve(Fixtures.Clock.class), worker.clocks.getObject());
+        assertSame(worker.clocks.getObject(), worker.clocks.getObject());
+    }
+
+    @Test
+    void testBeanMethodProviderCallsFactoryMethod() {
+        Fixtures.Assembly assembly = container.resolve(Fixtures.Assembly.class);
+        assertNotNull(assembly);
+        int created = Fixtures.widgets.get();
+
+        assertNotSame(assembly.widgets.get(), assembly.widgets.get(), "Prototype bean methods should be called per call");
+        assertEquals(created + 2, Fixtures.widgets.get());
+    }
+
+    @Test
+    void testProviderDefersLazySingleton() {
+        Provider<Fixtures.Cache> provider = container.getProvider(Fixtures.Cache.class);
+        assertEquals(0, Fixtures.caches.get(), "Getting a provider should not create the bean");
+
+        Fixtures.Cache cache = provider.get();
+        assertSame(cache, provider.get());
+        assertSame(container.resolve(Fixtures.Cache.class), cache);
+        assertEquals(1, Fixtures.caches.get());
+    }
+
+    @Test
+    void testMissingBeanIsLookedUpAgain() {
+        Provider<Fixtures.Late> provider = container.getProvider(Fixtures.Late.class);
+        assertThrows(DefaultContainer.BeanCreationException.class, provider::get, "Missing beans should fail");
+
+        Fixtures.Late late = new Fixtures.Late();
+        container.registerBean("late", late);
+        assertSame(late, provider.get(), "A missing bean should be looked up again");
+    }
+
+    public static class Fixtures {
+        static final AtomicInteger widgets = new AtomicInteger();
+        static final AtomicInteger caches = new AtomicInteger();
+
+        @Component
+        public static class Clock {
+        }
+
+        @Component
+        @Scope(Scope.Scopes.PROTOTYPE)
+        public static class Task {
+            final Clock clock;
+
+            public Task(Clock clock) {
+                this.clock = clock;
+            }
+        }
+
+        @Service
+        public static class Worker {
+            final Provider<Task> tasks;
+
+            @Autowired
+            ObjectFactory<Clock> clocks;
+
+            public Worker(Provider<Task> tasks) {
+                this.tasks = tasks;
+            }
+        }
+
+        @Lazy
+        @Component
+        public static class Cache {
+            public Cache() {
+                caches.incrementAndGet();
+            }
+        }
+
+        public static class Widget {
+        }
+
+        public static class Assembly {
+            final Provider<Widget> widgets;
+
+            Assembly(Provider<Widget> widgets) {
+                this.widgets = widgets;
+            }
+        }
+
+        public static class Late {
+        }
+
+        @Configuration
+        public static class WidgetConfig {
+            @Bean
+            @Scope(Scope.Scopes.PROTOTYPE)
+            public Widget widget() {
+                widgets.incrementAndGet();
+                return new Widget();
+            }
+
+            @Bean
+            public Assembly assembly(Provider<Widget> widgets) {
+                return new Assembly(widgets);
+            }
+        }
+    }
+}
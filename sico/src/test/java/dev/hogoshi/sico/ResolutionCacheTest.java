@@ -0,0 +1,144 @@
+package dev.hogoshi.sico;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Bean;
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Configuration;
+import dev.hogoshi.sico.annotation.Lazy;
+import dev.hogoshi.sico.annotation.Scope;
+import dev.hogoshi.sico.container.BeanDefinition;
+import dev.hogoshi.sico.container.DefaultContainer;
+
+public class ResolutionCacheTest {
+
+    private DefaultContainer container;
+
+    @BeforeEach
+    void setUp() {
+        Fixtures.tokens.set(0);
+
+        container = new DefaultContainer();
+        container.start();
+        container.scan(name -> name.startsWith(Fixtures.class.getName() + "$"), "dev.hogoshi.sico");
+    }
+
+    @AfterEach
+    void tearDown() {
+        container.close();
+    }
+
+    @Test
+    void testMissIsForgottenWhenBeanIsRegistered() {
+        assertNull(container.resolve(Fixtures.Greeter.class));
+        assertNull(container.resolve(Fixtures.Greeter.class), "Repeated misses should stay misses");
+
+        Fixtures.Greeter greeter = new Fixtures.Greeter();
+        container.registerBean("greeter", greeter);
+        assertSame(greeter, container.resolve(Fixtures.Greeter.class), "Registering a bean should invalidate a cached miss");
+    }
+
+    @Test
+    void testMissIsForgottenWhenDefinitionIsRegistered() {
+        assertNull(container.resolve(Fixtures.Greeter.class));
+
+        container.registerBeanDefinition(BeanDefinition.forClass("greeter", Fixtures.Greeter.class, Scope.Scopes.PROTOTYPE, true));
+        Fixtures.Greeter first = container.resolve(Fixtures.Greeter.class);
+        assertNotNull(first, "Registering a definition should invalidate a cached miss");
+        assertNotSame(first, container.resolve(Fixtures.Greeter.class));
+    }
+
+    @Test
+    void testCachedPrototypesAreCreatedPerResolve() {
+        Fixtures.Session first = container.resolve(Fixtures.Session.class);
+        Fixtures.Session second = container.resolve(Fixtures.Session.class);
+        assertNotSame(first, second, "Cached prototype components should be created per resolve");
+        assertSame(first.clock, second.clock);
+
+        int created = Fixtures.tokens.get();
+        assertNotSame(container.resolve(Fixtures.Token.class), container.resolve(Fixtures.Token.class),
+                "Cached prototype bean methods should be called per resolve");
+        assertEquals(created + 2, Fixtures.tokens.get());
+    }
+
+    @Test
+    void testMissIsForgottenWhenComponentAnnotationIsAdded() {
+        assertNull(container.resolve(Fixtures.Plugin.class), "Classes with unknown annotations should not resolve");
+
+        container.addComponentAnnotation(Fixtures.Extension.class);
+        assertNotNull(container.resolve(Fixtures.Plugin.class), "Adding a component annotation should invalidate a cached miss");
+    }
+
+    @Test
+    void testSingletonIsCachedAfterLazyCreation() {
+        Fixtures.Registry first = container.resolve(Fixtures.Registry.class);
+        assertNotNull(first);
+        assertSame(first, container.resolve(Fixtures.Registry.class));
+        assertSame(first, container.resolve("registry", Fixtures.Registry.class));
+    }
+
+    public static class Fixtures {
+        static final AtomicInteger tokens = new AtomicInteger();
+
+        @Retention(RetentionPolicy.RUNTIME)
+        @Target(ElementType.TYPE)
+        public @interface Extension {
+        }
+
+        @Extension
+        public static class Plugin {
+        }
+
+        public static class Greeter {
+        }
+
+        @Component
+        public static class Clock {
+        }
+
+        @Component
+        @Scope(Scope.Scopes.PROTOTYPE)
+        public static class Session {
+            final Clock clock;
+
+            public Session(Clock clock) {
+                this.clock = clock;
+            }
+        }
+
+        public static class Token {
+        }
+
+        public static class Registry {
+        }
+
+        @Configuration
+        public static class TokenConfig {
+            @Bean
+            @Scope(Scope.Scopes.PROTOTYPE)
+            public Token token() {
+                tokens.incrementAndGet();
+                return new Token();
+            }
+
+            @Bean
+            @Lazy
+            public Registry registry() {
+                return new Registry();
+            }
+        }
+    }
+}
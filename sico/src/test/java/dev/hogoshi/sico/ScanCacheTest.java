@@ -0,0 +1,204 @@
+package dev.hogoshi.sico;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.Configuration;
+import dev.hogoshi.sico.annotation.Repository;
+import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.ContainerOptions;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.scanner.ClassPathScanner;
+import dev.hogoshi.sico.scanner.ScanCache;
+import dev.hogoshi.sico.test.TestComponents.NonComponent;
+import dev.hogoshi.sico.test.TestComponents.TestComponent;
+import dev.hogoshi.sico.test.TestComponents.TestService;
+
+public class ScanCacheTest {
+
+    private static final String PACKAGE_PATH = "dev/hogoshi/sico/test";
+    private static final Collection<Class<? extends Annotation>> STEREOTYPES =
+            Arrays.asList(Component.class, Service.class, Repository.class, Configuration.class);
+
+    private Path directory;
+    private Path cacheFile;
+    private Map<String, byte[]> classFiles;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Files.createTempDirectory("sico-scan-cache");
+        cacheFile = directory.resolve("cache/scan.bin");
+        classFiles = readClassFiles();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    void testUnchangedArchiveIsNotRead() throws Exception {
+        Path jar = directory.resolve("components.jar");
+        Files.write(jar, zip(classFiles));
+        URL resource = new URL("jar:" + jar.toUri() + "!/" + PACKAGE_PATH);
+
+        List<String> classNames = scan(resource, name -> true);
+        assertTrue(classNames.contains(TestService.class.getName()), "Annotated classes should be found");
+        assertFalse(classNames.contains(NonComponent.class.getName()), "Candidates should be pre-filtered");
+        assertTrue(Files.exists(cacheFile), "The cache should be written");
+
+        FileTime lastModified = Files.getLastModifiedTime(jar);
+        Files.write(jar, new byte[(int) Files.size(jar)]);
+        Files.setLastModifiedTime(jar, lastModified);
+        assertEquals(classNames, scan(resource, name -> true), "An unchanged archive should be served from the cache");
+
+        Files.setLastModifiedTime(jar, FileTime.fromMillis(lastModified.toMillis() + 60_000));
+        assertThrows(IOException.class, () -> scan(resource, name -> true), "A changed archive should be read again");
+    }
+
+    @Test
+    void testChangedDirectoryIsRescanned() throws Exception {
+        Path classes = directory.resolve("classes");
+        for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
+            Path file = classes.resolve(entry.getKey());
+            Files.createDirectories(file.getParent());
+            Files.write(file, entry.getValue());
+        }
+        URL resource = classes.resolve(PACKAGE_PATH).toUri().toURL();
+
+        List<String> classNames = scan(resource, name -> true);
+        assertTrue(classNames.contains(TestService.class.getName()));
+        assertEquals(classNames, scan(resource, name -> true), "An unchanged directory should be served from the cache");
+
+        Files.delete(classes.resolve(PACKAGE_PATH + "/TestComponents$TestService.class"));
+        List<String> rescanned = scan(resource, name -> true);
+        assertFalse(rescanned.contains(TestService.class.getName()), "A changed directory should be scanned again");
+        assertEquals(classNames.size() - 1, rescanned.size());
+    }
+
+    @Test
+    void testFilterIsAppliedToCachedCandidates() throws Exception {
+        Path jar = directory.resolve("components.jar");
+        Files.write(jar, zip(classFiles));
+        URL resource = new URL("jar:" + jar.toUri() + "!/" + PACKAGE_PATH);
+
+        List<String> filtered = scan(resource, name -> !name.equals(TestService.class.getName()));
+        assertFalse(filtered.contains(TestService.class.getName()), "Filtered classes should be skipped");
+        assertTrue(scan(resource, name -> true).contains(TestService.class.getName()),
+                "Cached candidates should not depend on the filter");
+    }
+
+    @Test
+    void testCorruptCacheIsDiscarded() throws Exception {
+        Files.createDirectories(cacheFile.getParent());
+        Files.write(cacheFile, new byte[] { 0x53, 0x49, 0x43, 0x4F, 0, 0, 0, 1, 0, 0, 0, 5, 0, 7 });
+
+        Path jar = directory.resolve("components.jar");
+        Files.write(jar, zip(classFiles));
+        URL resource = new URL("jar:" + jar.toUri() + "!/" + PACKAGE_PATH);
+        assertTrue(scan(resource, name -> true).contains(TestService.class.getName()), "A corrupt cache should be rebuilt");
+    }
+
+    @Test
+    void testContainerUsesScanCache() {
+        ContainerOptions options = ContainerOptions.defaults().setScanCacheFile(cacheFile);
+        for (int i = 0; i < 2; i++) {
+            DefaultContainer container = new DefaultContainer(options);
+            container.start();
+            try {
+                container.scan(name -> true, "dev.hogoshi.sico.test");
+                TestComponent component = container.resolve(TestComponent.class);
+                assertNotNull(component, "Components should be registered");
+                assertNotNull(component.getService(), "Components should be wired");
+            } finally {
+                container.close();
+            }
+            assertTrue(Files.exists(cacheFile), "The container should write the cache");
+        }
+    }
+
+    private List<String> scan(URL resource, Predicate<String> filter) throws IOException {
+        ScanCache cache = ScanCache.open(cacheFile);
+        try (ClassPathScanner scanner = new ClassPathScanner(new LocationClassLoader(resource), filter, STEREOTYPES, null, cache)) {
+            List<String> classNames = scanner.scan("dev.hogoshi.sico.test");
+            cache.save();
+            return classNames;
+        }
+    }
+
+    private static Map<String, byte[]> readClassFiles() throws IOException, URISyntaxException {
+        Path root = Paths.get(ScanCacheTest.class.getClassLoader().getResource(PACKAGE_PATH).toURI());
+        Map<String, byte[]> result = new LinkedHashMap<>();
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : (Iterable<Path>) paths.sorted()::iterator) {
+                if (path.toString().endsWith(".class")) {
+                    result.put(PACKAGE_PATH + "/" + root.relativize(path).toString().replace('\\', '/'), Files.readAllBytes(path));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static byte[] zip(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                out.putNextEntry(new ZipEntry(entry.getKey()));
+                out.write(entry.getValue());
+                out.closeEntry();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Class loader that reports a single location for the scanned package.
+     */
+    private static class LocationClassLoader extends ClassLoader {
+        private final URL resource;
+
+        LocationClassLoader(URL resource) {
+            super(ScanCacheTest.class.getClassLoader());
+            this.resource = resource;
+        }
+
+        @Override
+        public Enumeration<URL> getResources(String name) throws IOException {
+            if (name.equals(PACKAGE_PATH)) {
+                return Collections.enumeration(Collections.singletonList(resource));
+            }
+            return super.getResources(name);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import dev.hogoshi.sico.test.TestComponents.DefaultScopeComponent;
 import dev.hogoshi.sico.test.TestComponents.PrototypeComponent;
+import dev.hogoshi.sico.test.TestComponents.PrototypeWithDependency;
 import dev.hogoshi.sico.test.TestComponents.SingletonComponent;
 
 public class ScopeTest {
@@ -55,6 +56,18 @@ public class ScopeTest {
         assertNotSame(instance1, instance2, "Prototype components should be different instances");
     }
     
+    @Test
+    void testPrototypeConstructorInjection() {
+        PrototypeWithDependency instance1 = sico.resolve(PrototypeWithDependency.class);
+        PrototypeWithDependency instance2 = sico.resolve(PrototypeWithDependency.class);
+        
+        assertNotNull(instance1, "First instance should not be null");
+        assertNotNull(instance2, "Second instance should not be null");
+        assertNotSame(instance1, instance2, "Prototype components should be different instances");
+        assertNotNull(instance1.getService(), "Constructor dependency should be injected");
+        assertSame(instance1.getService(), instance2.getService(), "Prototype instances should share the singleton dependency");
+    }
+    
     @Test
     void testDefaultScope() {
         DefaultScopeComponent instance1 = sico.resolve(DefaultScopeComponent.class);
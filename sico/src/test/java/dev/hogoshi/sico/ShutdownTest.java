@@ -0,0 +1,209 @@
+package dev.hogoshi.sico;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import dev.hogoshi.sico.annotation.Autowired;
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.PreDestroy;
+import dev.hogoshi.sico.annotation.Service;
+import dev.hogoshi.sico.container.ContainerOptions;
+import dev.hogoshi.sico.container.DefaultContainer;
+import dev.hogoshi.sico.container.DestructionReport;
+import dev.hogoshi.sico.test.ConcurrentComponents;
+import dev.hogoshi.sico.test.Rendezvous;
+import dev.hogoshi.sico.test.TestGroups;
+
+public class ShutdownTest {
+
+    private static final List<Class<?>> destroyed = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        destroyed.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ConcurrentComponents.reset();
+    }
+
+    @Test
+    void testComponentsAreDestroyedBeforeTheirDependencies() {
+        DefaultContainer container = startGroup(Chain.class, ContainerOptions.defaults().setDestructionThreads(4));
+        container.close();
+
+        assertEquals(Arrays.<Class<?>>asList(Chain.OrderService.class, Chain.OrderRepository.class, Chain.Database.class),
+                destroyed, "Components should be destroyed before the components they use");
+        DestructionReport report = container.getLastDestructionReport();
+        assertNotNull(report);
+        assertTrue(report.isComplete());
+        assertEquals(3, report.getDestructionNanos().size());
+    }
+
+    @Test
+    void testIndependentComponentsAreDestroyedConcurrently() {
+        Rendezvous destruction = ConcurrentComponents.destruction = new Rendezvous(4);
+        DefaultContainer container = startGroup(ConcurrentComponents.class, ContainerOptions.defaults().setDestructionThreads(4));
+        container.close();
+
+        assertTrue(destruction.isMet(), "Independent components should be destroyed concurrently");
+        assertEquals(4, destruction.getArrivals());
+    }
+
+    @Test
+    void testSlowComponentTimesOut() {
+        DefaultContainer container = startGroup(Hanging.class, ContainerOptions.defaults()
+                .setDestructionThreads(2)
+                .setPreDestroyTimeout(Duration.ofMillis(100)));
+
+        long start = System.nanoTime();
+        container.close();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3), "A slow component should not hold up the shutdown");
+
+        DestructionReport report = container.getLastDestructionReport();
+        assertEquals(Collections.singletonList(Hanging.Exporter.class), report.getTimedOut());
+        assertTrue(report.getSkipped().isEmpty());
+        assertEquals(Collections.singletonList(Hanging.Connection.class), destroyed,
+                "Dependencies of a timed out component should still be destroyed");
+    }
+
+    @Test
+    void testDeadlineSkipsRemainingComponents() {
+        DefaultContainer container = startGroup(Hanging.class, ContainerOptions.defaults()
+                .setDestructionThreads(2)
+                .setShutdownTimeout(Duration.ofMillis(200)));
+
+        long start = System.nanoTime();
+        container.close();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(3), "The shutdown should end at its deadline");
+
+        DestructionReport report = container.getLastDestructionReport();
+        assertFalse(report.isComplete());
+        assertEquals(Collections.singletonList(Hanging.Exporter.class), report.getTimedOut());
+        assertEquals(Collections.singletonList(Hanging.Connection.class), report.getSkipped(),
+                "Components still waiting for their dependents at the deadline should be skipped");
+        assertTrue(destroyed.isEmpty());
+    }
+
+    @Test
+    void testOrderSpansComponentsWithoutPreDestroy() {
+        DefaultContainer container = startGroup(Indirect.class, ContainerOptions.defaults().setDestructionThreads(4));
+        container.close();
+
+        assertEquals(Arrays.<Class<?>>asList(Indirect.Api.class, Indirect.Pool.class), destroyed,
+                "Ordering should follow dependencies through components without pre-destroy methods");
+    }
+
+    private static DefaultContainer startGroup(Class<?> group, ContainerOptions options) {
+        DefaultContainer container = new DefaultContainer(options);
+        container.start();
+        TestGroups.scan(container, group);
+        return container;
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class Chain {
+        @Component
+        public static class Database {
+            @PreDestroy
+            public void close() {
+                pause(20);
+                destroyed.add(Database.class);
+            }
+        }
+
+        @Component
+        public static class OrderRepository {
+            public OrderRepository(Database database) {
+            }
+
+            @PreDestroy
+            public void flush() {
+                pause(20);
+                destroyed.add(OrderRepository.class);
+            }
+        }
+
+        @Service
+        public static class OrderService {
+            @Autowired
+            OrderRepository repository;
+
+            @PreDestroy
+            public void drain() {
+                pause(20);
+                destroyed.add(OrderService.class);
+            }
+        }
+    }
+
+    public static class Hanging {
+        @Component
+        public static class Connection {
+            @PreDestroy
+            public void close() {
+                destroyed.add(Connection.class);
+            }
+        }
+
+        @Component
+        public static class Exporter {
+            public Exporter(Connection connection) {
+            }
+
+            @PreDestroy
+            public void flush() throws InterruptedException {
+                new CountDownLatch(1).await();
+            }
+        }
+    }
+
+    public static class Indirect {
+        @Component
+        public static class Pool {
+            @PreDestroy
+            public void close() {
+                destroyed.add(Pool.class);
+            }
+        }
+
+        @Component
+        public static class Client {
+            public Client(Pool pool) {
+            }
+        }
+
+        @Component
+        public static class Api {
+            public Api(Client client) {
+            }
+
+            @PreDestroy
+            public void stop() {
+                pause(50);
+                destroyed.add(Api.class);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package dev.hogoshi.sico.test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import dev.hogoshi.sico.annotation.Autowired;
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.PostConstruct;
+
+/**
+ * A chain of components, each depending on the next, and a standalone component.
+ * While recording, every component of the chain takes {@link #DELAY_MILLIS} to be created and again
+ * to be initialized, and is added to {@link #created} and {@link #initialized} once done.
+ */
+public class ChainComponents {
+
+    public static final long DELAY_MILLIS = 20;
+    public static final List<Class<?>> created = new CopyOnWriteArrayList<>();
+    public static final List<Class<?>> initialized = new CopyOnWriteArrayList<>();
+    public static volatile boolean recording;
+
+    public static void reset() {
+        recording = false;
+        created.clear();
+        initialized.clear();
+    }
+
+    static void record(List<Class<?>> events, Class<?> type) {
+        if (!recording) {
+            return;
+        }
+        try {
+            Thread.sleep(DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        events.add(type);
+    }
+
+    public interface Store {
+    }
+
+    @Component
+    public static class Controller {
+        @Autowired
+        public OrderService service;
+
+        public Controller() { record(created, Controller.class); }
+
+        @PostConstruct
+        public void init() { record(initialized, Controller.class); }
+    }
+
+    @Component
+    public static class OrderService {
+        public final Store store;
+
+        public OrderService(Store store) {
+            this.store = store;
+            record(created, OrderService.class);
+        }
+
+        @PostConstruct
+        public void init() { record(initialized, OrderService.class); }
+    }
+
+    @Component
+    public static class MemoryStore implements Store {
+        public MemoryStore() { record(created, MemoryStore.class); }
+
+        @PostConstruct
+        public void init() { record(initialized, MemoryStore.class); }
+    }
+
+    @Component
+    public static class Standalone {
+    }
+}
@@ -0,0 +1,94 @@
+package dev.hogoshi.sico.test;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.PostConstruct;
+import dev.hogoshi.sico.annotation.PreDestroy;
+import dev.hogoshi.sico.scheduler.Lifecycle;
+
+/**
+ * Independent components that meet at a {@link Rendezvous} while they are created, initialized, started,
+ * stopped or destroyed. Steps without a rendezvous pass straight through.
+ */
+public class ConcurrentComponents {
+
+    public static volatile Rendezvous creation;
+    public static volatile Rendezvous initialization;
+    public static volatile Rendezvous starting;
+    public static volatile Rendezvous stopping;
+    public static volatile Rendezvous destruction;
+
+    public static void reset() {
+        creation = null;
+        initialization = null;
+        starting = null;
+        stopping = null;
+        destruction = null;
+    }
+
+    static void arrive(Rendezvous rendezvous) {
+        if (rendezvous != null) {
+            rendezvous.arrive();
+        }
+    }
+
+    public abstract static class Participant implements Lifecycle {
+        private volatile boolean running;
+
+        protected Participant() {
+            arrive(creation);
+        }
+
+        @Override
+        public void start() {
+            arrive(starting);
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            arrive(stopping);
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+    }
+
+    @Component
+    public static class First extends Participant {
+        @PostConstruct
+        public void init() { arrive(initialization); }
+
+        @PreDestroy
+        public void destroy() { arrive(destruction); }
+    }
+
+    @Component
+    public static class Second extends Participant {
+        @PostConstruct
+        public void init() { arrive(initialization); }
+
+        @PreDestroy
+        public void destroy() { arrive(destruction); }
+    }
+
+    @Component
+    public static class Third extends Participant {
+        @PostConstruct
+        public void init() { arrive(initialization); }
+
+        @PreDestroy
+        public void destroy() { arrive(destruction); }
+    }
+
+    @Component
+    public static class Fourth extends Participant {
+        @PostConstruct
+        public void init() { arrive(initialization); }
+
+        @PreDestroy
+        public void destroy() { arrive(destruction); }
+    }
+}
@@ -0,0 +1,51 @@
+package dev.hogoshi.sico.test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import dev.hogoshi.sico.annotation.Component;
+import dev.hogoshi.sico.annotation.PostConstruct;
+
+/**
+ * A component whose initializer fails while {@link #failing} is set, a component depending on it,
+ * and an unrelated component.
+ */
+public class FailingComponents {
+
+    public static final AtomicBoolean dependentCreated = new AtomicBoolean();
+    public static final AtomicBoolean dependentInitialized = new AtomicBoolean();
+    public static final AtomicBoolean healthyInitialized = new AtomicBoolean();
+    public static volatile boolean failing;
+
+    public static void reset() {
+        failing = false;
+        dependentCreated.set(false);
+        dependentInitialized.set(false);
+        healthyInitialized.set(false);
+    }
+
+    @Component
+    public static class Broken {
+        @PostConstruct
+        public void init() {
+            if (failing) {
+                throw new IllegalStateException("Broken on purpose");
+            }
+        }
+    }
+
+    @Component
+    public static class Dependent {
+        public Dependent(Broken broken) {
+            dependentCreated.set(true);
+        }
+
+        @PostConstruct
+        public void init() { dependentInitialized.set(true); }
+    }
+
+    @Component
+    public static class Healthy {
+        @PostConstruct
+        public void init() { healthyInitialized.set(true); }
+    }
+}
@@ -0,0 +1,61 @@
+package dev.hogoshi.sico.test;
+
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.NotNull;
+
+import dev.hogoshi.sico.container.BeanDefinition;
+import dev.hogoshi.sico.container.Container;
+import dev.hogoshi.sico.container.DefaultContainer;
+
+/**
+ * Container implementing only the abstract methods of {@link Container}, by delegating to a {@link DefaultContainer},
+ * so that the default methods of the interface are exercised.
+ */
+public class MinimalContainer implements Container {
+    private final DefaultContainer delegate;
+
+    public MinimalContainer(DefaultContainer delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public <T> T resolve(@NotNull Class<T> clazz) {
+        return delegate.resolve(clazz);
+    }
+
+    @Override
+    public <T> T resolve(@NotNull String name, @NotNull Class<T> clazz) {
+        return delegate.resolve(name, clazz);
+    }
+
+    @Override
+    public void register(@NotNull Class<?> clazz) {
+        delegate.register(clazz);
+    }
+
+    @Override
+    public void registerBeanDefinition(@NotNull BeanDefinition beanDefinition) {
+        delegate.registerBeanDefinition(beanDefinition);
+    }
+
+    @Override
+    public void registerBean(@NotNull String name, @NotNull Object instance) {
+        delegate.registerBean(name, instance);
+    }
+
+    @Override
+    public void scan(@NotNull Predicate<String> filter, @NotNull String... packageNames) {
+        delegate.scan(filter, packageNames);
+    }
+
+    @Override
+    public void scan(@NotNull Predicate<String> filter, @NotNull ClassLoader classLoader, @NotNull String... packageNames) {
+        delegate.scan(filter, classLoader, packageNames);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
@@ -0,0 +1,54 @@
+package dev.hogoshi.sico.test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Meeting point of concurrent test code. Every caller of {@link #arrive()} waits until all parties arrived,
+ * so the parties are all inside at once only if they run concurrently; callers running one after the other
+ * give up waiting after the timeout instead.
+ */
+public class Rendezvous {
+    private final int parties;
+    private final long timeoutMillis;
+    private final CountDownLatch latch;
+    private final AtomicInteger arrivals = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+
+    public Rendezvous(int parties) {
+        this(parties, 5000);
+    }
+
+    public Rendezvous(int parties, long timeoutMillis) {
+        this.parties = parties;
+        this.timeoutMillis = timeoutMillis;
+        this.latch = new CountDownLatch(parties);
+    }
+
+    public void arrive() {
+        arrivals.incrementAndGet();
+        maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        latch.countDown();
+        try {
+            latch.await(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    public boolean isMet() {
+        return maxActive.get() >= parties;
+    }
+
+    public int getArrivals() {
+        return arrivals.get();
+    }
+
+    public int getMaxActive() {
+        return maxActive.get();
+    }
+}
@@ -1,5 +1,9 @@
 package dev.hogoshi.sico.test;
 
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -16,9 +20,21 @@ import dev.hogoshi.sico.annotation.Service;
 
 public class TestComponents {
     
+    public static final AtomicInteger NON_COMPONENT_INITIALIZATIONS = new AtomicInteger();
+    
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    public @interface Plugin {
+        String[] tags() default {};
+    }
+    
+    public interface Greeter {
+        String sayHello();
+    }
     
     @Service
-    public static class TestService {
+    public static class TestService implements Greeter {
+        @Override
         public String sayHello() {
             return "Hello from TestService";
         }
@@ -159,9 +175,50 @@ public class TestComponents {
         }
     }
     
+    @Component
+    @Scope(Scope.Scopes.PROTOTYPE)
+    public static class PrototypeWithDependency {
+        private final TestService service;
+        
+        public PrototypeWithDependency(TestService service) {
+            this.service = service;
+        }
+        
+        public TestService getService() {
+            return service;
+        }
+    }
+    
     @Component
     public static class DefaultScopeComponent {
         public DefaultScopeComponent() {
         }
     }
-} 
\ No newline at end of file
+    
+    public static class NonComponent {
+        static {
+            NON_COMPONENT_INITIALIZATIONS.incrementAndGet();
+        }
+    }
+    
+    @Scope(Scope.Scopes.SINGLETON)
+    @Plugin(tags = {"first", "second"})
+    public static class PluginComponent {
+        @Autowired
+        private TestService service;
+        private boolean initialized = false;
+        
+        @PostConstruct
+        public void init() {
+            initialized = true;
+        }
+        
+        public TestService getService() {
+            return service;
+        }
+        
+        public boolean isInitialized() {
+            return initialized;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import dev.hogoshi.sico.annotation.Bean;
 import dev.hogoshi.sico.annotation.Configuration;
+import dev.hogoshi.sico.annotation.Primary;
 import dev.hogoshi.sico.annotation.Scope;
 
 @Configuration
@@ -12,6 +13,7 @@ public class TestConfig {
     private final AtomicInteger counter = new AtomicInteger(0);
     
     @Bean
+    @Primary
     public SimpleBean simpleBean() {
         int count = counter.incrementAndGet();
         return new SimpleBean("singleton-" + count);
@@ -0,0 +1,17 @@
+package dev.hogoshi.sico.test;
+
+import dev.hogoshi.sico.container.Container;
+
+/**
+ * Scans groups of test components, the components nested in a class.
+ */
+public final class TestGroups {
+
+    private TestGroups() {
+    }
+
+    public static void scan(Container container, Class<?> group) {
+        String prefix = group.getName() + "$";
+        container.scan(name -> name.startsWith(prefix), "dev.hogoshi.sico");
+    }
+}